@@ -0,0 +1,77 @@
+package frc.robot;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.hal.sim.DriverStationSim;
+import edu.wpi.first.hal.sim.SimHooks;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.sim.RobotSimulation;
+import frc.robot.subsystems.Odometry;
+import frc.robot.subsystems.Subsystems;
+
+/**
+ * Runs the selected autonomous in simulation as fast as the computer can, with no GUI, then prints how it went.
+ * Start it with <code>HEADLESS_SIM=15 ./gradlew simulateJava</code>, where the number is the seconds of autonomous
+ * to run. <code>HEADLESS_SIM_CELLS</code> sets how many power cells are waiting to be intaken (0 by default).
+ *
+ * <p>The FPGA clock is paused and stepped one loop period at a time, so timeouts and waits behave exactly as they
+ * would in real time, however long each loop actually takes.</p>
+ */
+final class HeadlessSimulation {
+
+    private HeadlessSimulation() {}
+
+    /**
+     * Runs the simulation and exits.
+     * @param autonomousSeconds How long to run autonomous for.
+     * @param waitingCells How many power cells are waiting to be intaken.
+     */
+    static void run(double autonomousSeconds, int waitingCells) {
+        HAL.initialize(500, 0);
+        SimHooks.pauseTiming();
+
+        Robot robot = new Robot();
+        robot.robotInit();
+        RobotSimulation.cells.addWaitingCells(waitingCells);
+
+        DriverStationSim driverStation = new DriverStationSim();
+        driverStation.setDsAttached(true);
+        driverStation.setAutonomous(true);
+        driverStation.setEnabled(false);
+        driverStation.notifyNewData();
+        DriverStation.getInstance().waitForData(0.1);
+        runLoops(robot, 0.5); //let everything settle while disabled
+
+        driverStation.setEnabled(true);
+        driverStation.notifyNewData();
+        DriverStation.getInstance().waitForData(0.1);
+        long start = System.nanoTime();
+        runLoops(robot, autonomousSeconds);
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Simulated %.1f s of autonomous in %.2f s (%.0fx real time)%n",
+            autonomousSeconds, wallSeconds, autonomousSeconds / wallSeconds);
+        System.out.printf("Pose: x %.1f in, y %.1f in, heading %.1f deg%n", RobotSimulation.drivetrain.getX(),
+            RobotSimulation.drivetrain.getY(), RobotSimulation.drivetrain.getGyroAngle());
+        System.out.printf("Odometry (field): x %.1f in, y %.1f in, heading %.1f deg%n", Odometry.getPose().getX() / 0.0254,
+            Odometry.getPose().getY() / 0.0254, Odometry.getPose().getRotation().getDegrees());
+        System.out.printf("Cells: %d shot, %d stored, %d left waiting; robot counted %d%n",
+            RobotSimulation.cells.getCellsShot(), RobotSimulation.cells.getStoredCells(),
+            RobotSimulation.cells.getWaitingCells(), Subsystems.helix.getCellCount());
+        System.out.printf("Loops: %d overran%n", LoopTiming.getOverrunCount());
+        System.exit(0);
+    }
+
+    /**
+     * Steps the clock and runs the robot's loop for a while.
+     * @param robot The robot.
+     * @param seconds Simulated seconds to run for.
+     */
+    private static void runLoops(Robot robot, double seconds) {
+        long period = Math.round(RobotMap.loopRate.period * 1e6);
+        int loops = (int) Math.round(seconds / RobotMap.loopRate.period);
+        for (int i = 0; i < loops; i++) {
+            SimHooks.stepTiming(period);
+            robot.loopFunc();
+        }
+    }
+}
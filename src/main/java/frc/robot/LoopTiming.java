@@ -0,0 +1,79 @@
+package frc.robot;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Measures how long each main loop takes and keeps track of loops that overran their period.
+ */
+public class LoopTiming {
+
+    private static final double reportInterval = 1.0; //seconds between overrun warnings
+
+    private static double period = RobotMap.loopRate.period;
+    private static double loopStart = 0;
+    private static double lastLoopTime = 0;
+    private static double maxLoopTime = 0;
+    private static int overrunCount = 0;
+    private static int unreportedOverruns = 0;
+    private static double lastReportTime = 0;
+
+    /**
+     * Sets the period loops are compared against.
+     * @param Period The main loop period in seconds.
+     */
+    public static void setPeriod(double Period) {
+        period = Period;
+    }
+
+    /**
+     * Marks the start of a loop. Call this first thing in the loop.
+     */
+    public static void startLoop() {
+        loopStart = Timer.getFPGATimestamp();
+    }
+
+    /**
+     * Marks the end of a loop, counting it as an overrun if it took longer than the period.
+     * Overruns are reported to the driver station at most once per second.
+     */
+    public static void endLoop() {
+        double now = Timer.getFPGATimestamp();
+        lastLoopTime = now - loopStart;
+        if (lastLoopTime > maxLoopTime) {
+            maxLoopTime = lastLoopTime;
+        }
+
+        if (lastLoopTime > period) {
+            overrunCount++;
+            unreportedOverruns++;
+        }
+        if (unreportedOverruns > 0 && now - lastReportTime >= reportInterval) {
+            DriverStation.reportWarning(unreportedOverruns + " loop overrun(s) in the last second, worst loop took "
+                + Math.round(maxLoopTime * 1000.0) + " ms", false);
+            unreportedOverruns = 0;
+            lastReportTime = now;
+        }
+    }
+
+    /**
+     * @return How long the last loop took, in seconds.
+     */
+    public static double getLastLoopTime() {
+        return lastLoopTime;
+    }
+
+    /**
+     * @return The longest loop seen since boot, in seconds.
+     */
+    public static double getMaxLoopTime() {
+        return maxLoopTime;
+    }
+
+    /**
+     * @return The number of loops that took longer than the period since boot.
+     */
+    public static int getOverrunCount() {
+        return overrunCount;
+    }
+}
@@ -24,6 +24,12 @@ public final class Main {
      * <p>If you change your main robot class, change the parameter type.
      */
     public static void main(String... args) {
+        String headlessSeconds = System.getenv("HEADLESS_SIM");
+        if (headlessSeconds != null) {
+            String cells = System.getenv("HEADLESS_SIM_CELLS");
+            HeadlessSimulation.run(Double.parseDouble(headlessSeconds), (cells != null) ? Integer.parseInt(cells) : 0);
+            return;
+        }
         RobotBase.startRobot(Robot::new);
     }
 }
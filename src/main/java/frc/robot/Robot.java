@@ -1,12 +1,25 @@
 package frc.robot;
 
 import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.command.Scheduler;
 import edu.wpi.cscore.UsbCamera;
 import edu.wpi.first.cameraserver.CameraServer;
+import frc.robot.userinterface.RumbleXboxController;
 import frc.robot.userinterface.UserInterface;
+import frc.robot.subsystems.DriveLoop;
+import frc.robot.subsystems.Odometry;
+import frc.robot.subsystems.Sensors;
+import frc.robot.subsystems.ShotDetector;
 import frc.robot.subsystems.Subsystems;
+import frc.robot.subsystems.TelemetryStream;
 import frc.robot.commands.*;
+import frc.robot.commands.autonomous.TrajectoryCache;
+import frc.robot.control.CellCounter;
+import frc.robot.sim.RobotSimulation;
+import frc.robot.telemetry.LoopProfiler;
+import frc.robot.telemetry.Logger;
+import frc.robot.telemetry.MatchRecorder;
 import edu.wpi.cscore.VideoSink;
 import edu.wpi.cscore.VideoSource;
 
@@ -15,13 +28,19 @@ import edu.wpi.cscore.VideoSource;
  */
 public class Robot extends TimedRobot {
 
-    //TELEOP
+    //LOG MESSAGES
+
+    private static final int disabledMessage = Logger.register(Logger.Level.INFO, "Disabled Initialized");
+    private static final int autonomousMessage = Logger.register(Logger.Level.INFO, "Autonomous Initialized");
+    private static final int teleopMessage = Logger.register(Logger.Level.INFO, "TeleOp Initialized");
+    private static final int intakenMessage = Logger.register(Logger.Level.INFO, "BALL INTAKEN, {} BALLS CONTAINED");
+    private static final int outtakenMessage = Logger.register(Logger.Level.INFO, "BALL OUTTAKEN, {} BALLS REMAINING");
+    private static final int dwellMessage = Logger.register(Logger.Level.DEBUG, "Ball was in the intake beam for {} s");
+    private static final int jamMessage = Logger.register(Logger.Level.WARNING, "Ball stuck in the intake beam, possible jam", 1.0);
 
-    private boolean oldBroken = false;
-    private boolean in = false;
-    private int counter = 0;
+    //TELEOP
 
-    private boolean oldTriggerOn = false;
+    private final CellCounter cellCounter = new CellCounter();
 
     //SENSORS/CAMERAS
 
@@ -29,14 +48,45 @@ public class Robot extends TimedRobot {
     private UsbCamera camera1;
     private UsbCamera camera2;
 
+    //PROFILING
+
+    private final int loopSection = LoopProfiler.register("Loop");
+    private final int sensorSection = LoopProfiler.register("Sensors");
+    private final int schedulerSection = LoopProfiler.register("Scheduler");
+    private final int dashboardSection = LoopProfiler.register("Dashboard");
+    private final int autonomousSection = LoopProfiler.register("AutonomousPeriodic");
+    private final int teleopSection = LoopProfiler.register("TeleopPeriodic");
+
     public Robot() {
-        super(0.08);
+        super(RobotMap.loopRate.period);
+        LoopTiming.setPeriod(RobotMap.loopRate.period);
+    }
+
+    @Override
+    protected void loopFunc() {
+        LoopTiming.startLoop();
+        long start = System.nanoTime();
+        if (Subsystems.backend == Subsystems.Backend.SIM) {
+            RobotSimulation.step(Timer.getFPGATimestamp());
+        }
+        Sensors.update();
+        UserInterface.update();
+        LoopProfiler.record(sensorSection, System.nanoTime() - start);
+        super.loopFunc();
+        Subsystems.applyOutputs();
+        LoopProfiler.record(loopSection, System.nanoTime() - start);
+        if (isEnabled()) {
+            MatchRecorder.record();
+        }
+        LoopProfiler.publish();
+        LoopTiming.endLoop();
     }
 
     public void robotInit() {
         //set which bot - either COMPETITION, PRACTICE, or TOASTER
         RobotMap.setBot(RobotMap.BotNames.COMPETITION);
-        System.out.println("Initializing " + RobotMap.botName + "\n");
+        //registered here rather than as a field, since the bot name is only known once it's set
+        Logger.log(Logger.register(Logger.Level.INFO, "Initializing " + RobotMap.botName));
 
         //camera setup
         camera1 = CameraServer.getInstance().startAutomaticCapture(0);
@@ -47,9 +97,6 @@ public class Robot extends TimedRobot {
         switchedCamera = CameraServer.getInstance().addSwitchedCamera("Camera feeds");
         switchedCamera.setSource(camera1);
 
-        //drive settings
-        Subsystems.driveBase.cheesyDrive.setSafetyEnabled(false);
-        
         //driver controls (buttons)
         UserInterface.driverController.LB.whenPressed(new SwitchCameras(switchedCamera, camera1, camera2)); //LBump: Toggle cameras
         UserInterface.driverController.RB.whenPressed(new SwitchGears()); //RBump: Toggle slow/fast mode
@@ -60,6 +107,23 @@ public class Robot extends TimedRobot {
         UserInterface.operatorController.RS.whenPressed(new ClearCellCount()); //Right small: set cell count to 0
         UserInterface.operatorController.RB.whenPressed(new StartFlywheel(0.7)); //start flywheel early
         UserInterface.operatorController.RB.whenPressed(new HelixTurn(0.3)); //start flywheel early
+        UserInterface.shootTrigger.whenActive(new Shoot()); //right trigger: shoot while held
+        UserInterface.shootTrigger.whenInactive(new ShootStop());
+
+        //map the prebuilt autonomous trajectories, so a stale cache shows up at startup rather than in autonomous
+        TrajectoryCache.load();
+
+        //watch for shots, track the pose between loops and drive off the main thread, unless replaying a match
+        if (Subsystems.backend != Subsystems.Backend.REPLAY) {
+            ShotDetector.start();
+            Odometry.start();
+            DriveLoop.start();
+        }
+
+        //stream the flywheel and drive base at a high rate for tuning, if asked to
+        if (RobotMap.telemetryStreamTarget != null && Subsystems.backend != Subsystems.Backend.REPLAY) {
+            TelemetryStream.start(TelemetryStream.parseTarget(RobotMap.telemetryStreamTarget));
+        }
 
         //setup Shuffleboard interface & default auto
         ShuffleboardControl.layoutShuffleboard();
@@ -67,83 +131,86 @@ public class Robot extends TimedRobot {
     }
 
     public void robotPeriodic() {
+        long start = System.nanoTime();
         Scheduler.getInstance().run();
+        long schedulerEnd = System.nanoTime();
+        LoopProfiler.record(schedulerSection, schedulerEnd - start);
+
         ShuffleboardControl.printDataToShuffleboard();
+        LoopProfiler.record(dashboardSection, System.nanoTime() - schedulerEnd);
     }
 
     public void disabledInit() {
-        System.out.println("Disabled Initialized");
+        Logger.log(disabledMessage);
         Scheduler.getInstance().removeAll();
     }
 
     public void disabledPeriodic() {
-        ShuffleboardControl.updateAutonomous();
+        //the autonomous choices arrive through NetworkTables listeners, so there's nothing to poll here
     }
 
     public void autonomousInit() {
-        System.out.println("Autonomous Initalized");
+        Logger.log(autonomousMessage);
         Scheduler.getInstance().removeAll();
+        MatchRecorder.startMatch(true);
 
-        ShuffleboardControl.updateAutonomous();
         ShuffleboardControl.getAutonomous().start();
     }
 
     public void autonomousPeriodic() {
-        countingAuto();
+        long start = System.nanoTime();
+        countCells(true);
+        LoopProfiler.record(autonomousSection, System.nanoTime() - start);
     }
 
     public void teleopInit() {
-        System.out.println("TeleOp Initalized");
+        Logger.log(teleopMessage);
         Scheduler.getInstance().removeAll();
+        MatchRecorder.startMatch(false);
 
         Scheduler.getInstance().add(new ShootStop()); //in case was disabled while spinning
 
         switchedCamera.setSource(camera1);
-        RobotMap.isFirstCamera = true;
+        RobotState.setFirstCamera(true);
     }
 
     public void teleopPeriodic() {
-        countingTeleop();
-
-        //wait for intake->helix sequence
-        if (in && counter < 9) {
-            counter++;
-        } else if (in) {
-            in = false;
-            counter = 0;
-        }
+        long start = System.nanoTime();
+        teleopControls();
+        LoopProfiler.record(teleopSection, System.nanoTime() - start);
+    }
 
-        if (UserInterface.operatorController.LS.get()) {
+    /**
+     * Operator controls that aren't bound to commands, since what they do depends on each other and on the cell
+     * counter.
+     */
+    private void teleopControls() {
+        countCells(false);
+
+        if (UserInterface.operatorController.getButton(RumbleXboxController.LS_BUTTON)) {
             return; //remove functionality of spinning while vomiting
         }
 
         //intake cells in/out
-        if (UserInterface.operatorController.getRightJoystickY() >= 0.4) {
+        if (UserInterface.intakeInTrigger.get()) {
             Subsystems.intake.setIntakeMotors(0.85);
-        } else if (UserInterface.operatorController.getRightJoystickY() <= -0.4) {
+        } else if (UserInterface.intakeOutTrigger.get()) {
             Subsystems.intake.setIntakeMotors(-0.85);
         } else {
             Subsystems.intake.stopIntakeMotors();
         }
 
-        //flyboi control
-        boolean isTriggerOn = UserInterface.operatorController.getRightTrigger() >= 0.4;
-        if (isTriggerOn && !oldTriggerOn) { //if trigger was just pressed
-            Scheduler.getInstance().add(new Shoot());
-            System.out.println("Shooter speed is " + Subsystems.flyboi.getPower());
-        } else if (!isTriggerOn && oldTriggerOn) { //if trigger was just released
-            Scheduler.getInstance().add(new ShootStop());
-        }
-        oldTriggerOn = isTriggerOn;
+        //the shoot trigger starts and stops the flywheel through its bindings, this just leaves the helix to it
+        boolean isTriggerOn = UserInterface.shootTrigger.get();
 
         //moves helix in/out
-        if (UserInterface.operatorController.getPOVAngle() == 0) {
+        if (UserInterface.helixForwardTrigger.get()) {
             Subsystems.helix.setHelixMotors(0.9);
-        } else if (UserInterface.operatorController.getPOVAngle() == 180) {
+        } else if (UserInterface.helixBackwardTrigger.get()) {
             Subsystems.helix.setHelixMotors(-0.9);
-        } else if (UserInterface.operatorController.Y.get()) {
+        } else if (UserInterface.operatorController.getButton(RumbleXboxController.Y_BUTTON)) {
             Subsystems.helix.setHelixMotors(-0.5);
-        } else if (in) {
+        } else if (cellCounter.isFeeding()) {
             Subsystems.helix.setHelixMotors(0.75);
         } else if (!isTriggerOn) {
             Subsystems.helix.setHelixMotors(0);
@@ -151,39 +218,32 @@ public class Robot extends TimedRobot {
     }
 
     /**
-     * Counts cells intaken in auto.
-     */
-    private void countingAuto() {
-        boolean isBroken = Subsystems.intake.getCellEntered();
-
-        if (isBroken && !oldBroken) {
-            Subsystems.helix.cellCount++;
-        }
-        oldBroken = isBroken;
-    }
-
-    /**
-     * Counts cells intaken or expelled in teleop.
+     * Counts cells intaken (or expelled in teleop) from every edge of the beam break since the last loop.
+     * @param autonomous Whether the robot is in autonomous.
      */
-    private void countingTeleop() {
-        boolean isBroken = Subsystems.intake.getCellEntered();
-
-        if (UserInterface.operatorController.getRightJoystickY() >= 0.4) { //if is intaking
-            if (isBroken && !oldBroken) {
-                Subsystems.helix.cellCount++;
-                System.out.println("BALL INTAKEN, " + Subsystems.helix.cellCount + " BALLS CONTAINED");
-            } else if (oldBroken) {
-                in = true;
-                counter = 0;
+    private void countCells(boolean autonomous) {
+        //the same triggers as run the intake motors, so the count agrees with them
+        CellCounter.IntakeDirection direction = autonomous ? CellCounter.IntakeDirection.OFF
+            : UserInterface.intakeInTrigger.get() ? CellCounter.IntakeDirection.IN
+            : UserInterface.intakeOutTrigger.get() ? CellCounter.IntakeDirection.OUT : CellCounter.IntakeDirection.OFF;
+        for (int i = 0; i < Subsystems.intake.getEdgeCount(); i++) {
+            boolean broken = Subsystems.intake.isEdgeBroken(i);
+            int change = cellCounter.countEdge(broken, Subsystems.intake.getEdgeTime(i), autonomous, direction);
+            if (!broken) {
+                Logger.log(dwellMessage, cellCounter.getLastDwellTime());
             }
-        }
-        if (UserInterface.operatorController.getRightJoystickY() <= -0.4) { //if is outtaking
-            if (!isBroken && oldBroken) {
-                Subsystems.helix.cellCount--;
-                System.out.println("BALL OUTTAKEN, " + Subsystems.helix.cellCount + " BALLS REMAINING");
+            if (change != 0) {
+                int count = Subsystems.helix.addCells(change);
+                if (!autonomous) {
+                    Logger.log((change > 0) ? intakenMessage : outtakenMessage, count);
+                }
             }
         }
 
-        oldBroken = isBroken;
+        double now = Sensors.get().timestamp;
+        cellCounter.update(now);
+        if (cellCounter.isJammed(now)) {
+            Logger.log(jamMessage);
+        }
     }
-}
\ No newline at end of file
+}
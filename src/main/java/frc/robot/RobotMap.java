@@ -1,18 +1,26 @@
 package frc.robot;
 
 /**
- * Ports for motor controllers, caps for speed and rotation, booleans for toggles, and turn direction.
+ * Ports for motor controllers and other robot settings. The toggles that change during a match are in
+ * <code>RobotState</code>.
  */
 public class RobotMap {
 
-    // Robot settings & toggles (mutable)
+    // Main loop
 
-    private static double speedCap = 0.8;
-    private static double rotationCap = 0.7;
+    public enum LoopRates {
+        NORMAL(0.02), FAST(0.01);
 
-    public static boolean isSpeedMode = true;
-    public static boolean isFirstCamera = true;
-    public static boolean isIntakeDown = false;
+        /** The main loop period in seconds. */
+        public final double period;
+
+        LoopRates(double period) {
+            this.period = period;
+        }
+    }
+
+    /** Main loop rate - NORMAL is 50 Hz, FAST is 100 Hz. */
+    public static final LoopRates loopRate = LoopRates.NORMAL;
 
     // Drive base ports
 
@@ -24,6 +32,11 @@ public class RobotMap {
     public static int rightRearFollower;
 
     public static int wheelDiameter;
+    //whether each side's encoder counts the opposite way to its master's output; the Talons' closed loops run away
+    //if this is wrong, so check that a positive output gives a positive sensor velocity (Phoenix Tuner self-test).
+    //UNVERIFIED: the false values below are a placeholder for all three bots, none has been checked on the robot yet
+    public static boolean leftSensorPhase;
+    public static boolean rightSensorPhase;
 
     // Subsystem motor ports
 
@@ -45,6 +58,14 @@ public class RobotMap {
 
     public static final int driverXboxController = 1;
     public static final int operatorXboxController = 2;
+    //how far the operator's right stick goes to run the intake, and comes back to stop it; replay uses these too
+    public static final double intakePressAt = 0.4;
+    public static final double intakeReleaseAt = 0.3;
+
+    // Telemetry stream
+
+    /** Where to stream telemetry, as host:port or just a port on this computer, or null not to stream. Set with the TELEMETRY_STREAM environment variable. */
+    public static final String telemetryStreamTarget = System.getenv("TELEMETRY_STREAM");
 
 
     public enum BotNames {
@@ -67,6 +88,8 @@ public class RobotMap {
             rightMiddleMaster = 14;
             rightRearFollower = 57;
             wheelDiameter = 8;
+            leftSensorPhase = false;
+            rightSensorPhase = false;
 
             //doesn't physically exist; unused values
             leftFlywheel = 422;
@@ -83,6 +106,8 @@ public class RobotMap {
             rightMiddleMaster = 31;
             rightRearFollower = 4;
             wheelDiameter = 6;
+            leftSensorPhase = false;
+            rightSensorPhase = false;
 
             leftFlywheel = 1;
             rightFlywheel = 2;
@@ -98,6 +123,8 @@ public class RobotMap {
             rightMiddleMaster = 58;
             rightRearFollower = 45;
             wheelDiameter = 6;
+            leftSensorPhase = false;
+            rightSensorPhase = false;
 
             leftFlywheel = 1;
             rightFlywheel = 2;
@@ -108,29 +135,4 @@ public class RobotMap {
         }
     }
 
-
-    /**
-     * @return The speed cap for the drive base in teleop.
-     */
-    public static double getSpeedCap() {
-        return speedCap;
-    }
-
-    /**
-     * @return The rotation speed cap for the drive base in teleop.
-     */
-    public static double getRotationCap() {
-        return rotationCap;
-    }
-
-    /**
-     * Sets the caps on speed & rotation for the drive base in teleop.
-     * @param newSpeedCap The speed cap to set (0 to 1).
-     * @param newRotationCap The rotation speed cap to set (0 to 1).
-     */
-    public static void setSpeedAndRotationCaps(double newSpeedCap, double newRotationCap) {
-        speedCap = (newSpeedCap > 1) ? 1 : newSpeedCap;
-        rotationCap = (newRotationCap > 1) ? 1 : newRotationCap;
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package frc.robot;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * The robot's toggles and counts that change during a match: the gear and its caps, which camera is shown, whether
+ * the intake is down and how many cells are in the robot.
+ *
+ * <p>Each state is immutable, and the current one is swapped for a new one with a compare-and-set, so any thread can
+ * read the whole state at once without locking and never sees half of a change. Every change makes a new version,
+ * so readers can also tell cheaply whether anything changed since they last looked.</p>
+ */
+public final class RobotState {
+
+    private static final AtomicReference<RobotState> current =
+        new AtomicReference<>(new RobotState(0, true, 0.8, 0.7, true, false, 3));
+
+    /** Goes up by one with every change. */
+    public final long version;
+    /** Whether the drive base is in fast mode. */
+    public final boolean isSpeedMode;
+    /** The speed cap for the drive base in teleop (0 to 1). */
+    public final double speedCap;
+    /** The rotation speed cap for the drive base in teleop (0 to 1). */
+    public final double rotationCap;
+    /** Whether the first camera is the one shown. */
+    public final boolean isFirstCamera;
+    /** Whether the intake is extended. */
+    public final boolean isIntakeDown;
+    /** The number of power cells thought to be in the robot. */
+    public final int cellCount;
+
+    private RobotState(long Version, boolean IsSpeedMode, double SpeedCap, double RotationCap, boolean IsFirstCamera,
+                       boolean IsIntakeDown, int CellCount) {
+        version = Version;
+        isSpeedMode = IsSpeedMode;
+        speedCap = SpeedCap;
+        rotationCap = RotationCap;
+        isFirstCamera = IsFirstCamera;
+        isIntakeDown = IsIntakeDown;
+        cellCount = CellCount;
+    }
+
+    /**
+     * @return The current state. Safe from any thread.
+     */
+    public static RobotState get() {
+        return current.get();
+    }
+
+    /**
+     * Changes gear, with the caps that go with it.
+     * @param speedMode Whether the drive base is now in fast mode.
+     * @param speedCap The speed cap (0 to 1).
+     * @param rotationCap The rotation speed cap (0 to 1).
+     */
+    public static void setGear(boolean speedMode, double speedCap, double rotationCap) {
+        update(state -> new RobotState(state.version + 1, speedMode, Math.min(speedCap, 1), Math.min(rotationCap, 1),
+            state.isFirstCamera, state.isIntakeDown, state.cellCount));
+    }
+
+    /**
+     * @param firstCamera Whether the first camera is now the one shown.
+     */
+    public static void setFirstCamera(boolean firstCamera) {
+        update(state -> new RobotState(state.version + 1, state.isSpeedMode, state.speedCap, state.rotationCap,
+            firstCamera, state.isIntakeDown, state.cellCount));
+    }
+
+    /**
+     * @param intakeDown Whether the intake is now extended.
+     */
+    public static void setIntakeDown(boolean intakeDown) {
+        update(state -> new RobotState(state.version + 1, state.isSpeedMode, state.speedCap, state.rotationCap,
+            state.isFirstCamera, intakeDown, state.cellCount));
+    }
+
+    /**
+     * @param count The number of power cells now in the robot.
+     */
+    public static void setCellCount(int count) {
+        update(state -> new RobotState(state.version + 1, state.isSpeedMode, state.speedCap, state.rotationCap,
+            state.isFirstCamera, state.isIntakeDown, count));
+    }
+
+    /**
+     * @param cells Power cells that just came in, or went out if negative.
+     * @return The new cell count.
+     */
+    public static int addCells(int cells) {
+        return update(state -> new RobotState(state.version + 1, state.isSpeedMode, state.speedCap, state.rotationCap,
+            state.isFirstCamera, state.isIntakeDown, state.cellCount + cells)).cellCount;
+    }
+
+    /**
+     * Replaces the current state, retrying if another thread changed it in the meantime.
+     * @return The new state.
+     */
+    private static RobotState update(UnaryOperator<RobotState> change) {
+        RobotState before;
+        RobotState after;
+        do {
+            before = current.get();
+            after = change.apply(before);
+        } while (!current.compareAndSet(before, after));
+        return after;
+    }
+}
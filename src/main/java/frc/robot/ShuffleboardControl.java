@@ -1,51 +1,63 @@
 package frc.robot;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.EntryNotification;
+import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.shuffleboard.*;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import frc.robot.commands.HelixShoot;
 import frc.robot.commands.autonomous.AutonomousSwitch;
+import frc.robot.subsystems.DriveLoop;
 import frc.robot.subsystems.Subsystems;
+import frc.robot.telemetry.TelemetryPublisher;
+import frc.robot.userinterface.RumbleXboxController;
 import frc.robot.userinterface.UserInterface;
 
 public class ShuffleboardControl {
 
-    private static AutonomousSwitch autonomous;
+    private static final String preMatchTabName = "Pre-Match";
+    private static final String autonomousLayoutName = "Choose an autonomous...";
+    private static final String positionChooserName = "Starting position";
+    private static final String intakeChooserName = "Intake source";
+
+    //chooser options, in the order they're shown; the first is the default
+    private static final String[] positionNames = {"Center", "Left", "Right"};
+    private static final AutonomousSwitch.StartingPosition[] positions = {AutonomousSwitch.StartingPosition.CENTER,
+        AutonomousSwitch.StartingPosition.LEFT, AutonomousSwitch.StartingPosition.RIGHT};
+    private static final String[] intakeNames = {"Trench", "Rendevous", "3 from trench and 2 from rendevous"};
+    private static final AutonomousSwitch.IntakeSource[] intakeSources = {AutonomousSwitch.IntakeSource.TRENCH,
+        AutonomousSwitch.IntakeSource.RENDEZVOUS, AutonomousSwitch.IntakeSource.MIXED};
+
+    private static final List<AutonomousSwitch> autonomousRoutines = new ArrayList<>(); //guarded by ShuffleboardControl.class
+    private static volatile AutonomousSwitch autonomous;
+    private static volatile AutonomousSwitch.StartingPosition selectedPosition = positions[0];
+    private static volatile AutonomousSwitch.IntakeSource selectedIntakeSource = intakeSources[0];
+    private static volatile boolean selectedPushRobot = false;
+    private static volatile double selectedDelay = 0;
+
     private static SendableChooser<AutonomousSwitch.StartingPosition> positionChooser;
     private static NetworkTableEntry delayChooser;
     private static NetworkTableEntry pushRobotChooser;
     private static SendableChooser<AutonomousSwitch.IntakeSource> intakeChooser;
     private static NetworkTableEntry autoLabel;
 
-    private static NetworkTableEntry driverControllerWidget;
-    private static NetworkTableEntry operatorControllerWidget;
-
-    private static NetworkTableEntry cellCountWidget;
-    private static NetworkTableEntry overflowWidget;
-
-    private static NetworkTableEntry leftEncoders;
-    private static NetworkTableEntry rightEncoders;
-    private static NetworkTableEntry gyroWidget;
-    private static NetworkTableEntry intakeBeamBreakWidget;
-    private static NetworkTableEntry isSpeedModeWidget;
-    private static NetworkTableEntry isCamera1Widget;
-    private static NetworkTableEntry isIntakeUpWidget;
-
-    private static NetworkTableEntry currentFlywheelWidget;
-    private static NetworkTableEntry actualFlywheelWidget;
-
 
     // SHUFFLEBOARD
 
     /**
-     * Arranges the Shuffleboard layout.
+     * Arranges the Shuffleboard layout and says how often each widget is updated.
      */
     public static void layoutShuffleboard() {
         //Get references to tabs & layouts
-        ShuffleboardTab preMatchTab = Shuffleboard.getTab("Pre-Match");
+        ShuffleboardTab preMatchTab = Shuffleboard.getTab(preMatchTabName);
         ShuffleboardTab matchPlayTab = Shuffleboard.getTab("Match Play");
 
-        ShuffleboardLayout autonomousChooserLayout = preMatchTab.getLayout("Choose an autonomous...", BuiltInLayouts.kList)
+        ShuffleboardLayout autonomousChooserLayout = preMatchTab.getLayout(autonomousLayoutName, BuiltInLayouts.kList)
             .withPosition(0, 0)
             .withSize(5, 3);
         ShuffleboardLayout controllerIDLayout = preMatchTab.getLayout("Identify controllers before switching to next tab", BuiltInLayouts.kList)
@@ -61,31 +73,33 @@ public class ShuffleboardControl {
 
         //Setup autonomous options and layouts
         positionChooser = new SendableChooser<AutonomousSwitch.StartingPosition>();
-        positionChooser.setDefaultOption("Center", AutonomousSwitch.StartingPosition.CENTER);
-        positionChooser.addOption("Left", AutonomousSwitch.StartingPosition.LEFT);
-        positionChooser.addOption("Right", AutonomousSwitch.StartingPosition.RIGHT);
+        positionChooser.setDefaultOption(positionNames[0], positions[0]);
+        for (int i = 1; i < positions.length; i++) {
+            positionChooser.addOption(positionNames[i], positions[i]);
+        }
 
         intakeChooser = new SendableChooser<AutonomousSwitch.IntakeSource>();
-        intakeChooser.setDefaultOption("Trench", AutonomousSwitch.IntakeSource.TRENCH);
-        intakeChooser.addOption("Rendevous", AutonomousSwitch.IntakeSource.RENDEZVOUS);
-        intakeChooser.addOption("3 from trench and 2 from rendevous", AutonomousSwitch.IntakeSource.MIXED);
+        intakeChooser.setDefaultOption(intakeNames[0], intakeSources[0]);
+        for (int i = 1; i < intakeSources.length; i++) {
+            intakeChooser.addOption(intakeNames[i], intakeSources[i]);
+        }
 
-        autonomousChooserLayout.add("Starting position", positionChooser)
+        autonomousChooserLayout.add(positionChooserName, positionChooser)
             .withWidget(BuiltInWidgets.kComboBoxChooser);
         delayChooser = autonomousChooserLayout.add("Delay", 0)
             .withWidget(BuiltInWidgets.kNumberSlider)
             .withProperties(Map.of("min", 0, "max", 10)).getEntry();
         pushRobotChooser = autonomousChooserLayout.add("Push other robot?", false)
             .withWidget(BuiltInWidgets.kToggleButton).getEntry();
-        autonomousChooserLayout.add("Intake source", intakeChooser)
+        autonomousChooserLayout.add(intakeChooserName, intakeChooser)
             .withWidget(BuiltInWidgets.kComboBoxChooser);
         autoLabel = autonomousChooserLayout.add("Current autonomous", "Starts in center, shoots after a delay of 0, doesn't push robot, intakes from trench").getEntry();
 
         //Setup controller ID in pre-match
-        driverControllerWidget = controllerIDLayout.add("Driver Controller", false)
+        NetworkTableEntry driverControllerWidget = controllerIDLayout.add("Driver Controller", false)
             .withWidget(BuiltInWidgets.kBooleanBox)
             .withProperties(Map.of("color when false", "#7E8083", "color when true", "#00B259")).getEntry();
-        operatorControllerWidget = controllerIDLayout.add("Operator Controller", false)
+        NetworkTableEntry operatorControllerWidget = controllerIDLayout.add("Operator Controller", false)
             .withWidget(BuiltInWidgets.kBooleanBox)
             .withProperties(Map.of("color when false", "#7E8083", "color when true", "#00B259")).getEntry();
 
@@ -93,91 +107,189 @@ public class ShuffleboardControl {
         // ***** ADD FMS INFO WIDGET MANUALLY *****
 
         //cell count
-        cellCountWidget = matchPlayTab.add("Power cell count", 3)
+        NetworkTableEntry cellCountWidget = matchPlayTab.add("Power cell count", 3)
             .withWidget(BuiltInWidgets.kDial)
             .withProperties(Map.of("min", 0, "max", 5))
             .withPosition(1, 0)
             .withSize(2, 2).getEntry();
-        overflowWidget = matchPlayTab.add("Ball overflow", false)
+        NetworkTableEntry overflowWidget = matchPlayTab.add("Ball overflow", false)
             .withWidget(BuiltInWidgets.kBooleanBox)
             .withProperties(Map.of("color when false", "#7E8083", "color when true", "#8b0000"))
             .withPosition(1, 2)
             .withSize(2, 1).getEntry();
 
         //sensor values
-        leftEncoders = sensorValueLayout.add("Left encoders", 404).getEntry();
-        rightEncoders = sensorValueLayout.add("Right encoders", 404).getEntry();
-        gyroWidget = sensorValueLayout.add("Gyro", 404).getEntry();
-        intakeBeamBreakWidget = sensorValueLayout.add("Intake beam break", false)
+        NetworkTableEntry leftEncoders = sensorValueLayout.add("Left encoders", 404).getEntry();
+        NetworkTableEntry rightEncoders = sensorValueLayout.add("Right encoders", 404).getEntry();
+        NetworkTableEntry gyroWidget = sensorValueLayout.add("Gyro", 404).getEntry();
+        NetworkTableEntry intakeBeamBreakWidget = sensorValueLayout.add("Intake beam break", false)
             .withWidget(BuiltInWidgets.kBooleanBox)
             .withProperties(Map.of("color when false", "#7E8083", "color when true", "#ffe815")).getEntry();
-        isSpeedModeWidget = sensorValueLayout.add("Speed mode?", false)
+        NetworkTableEntry isSpeedModeWidget = sensorValueLayout.add("Speed mode?", false)
             .withWidget(BuiltInWidgets.kBooleanBox).getEntry();
-        isCamera1Widget = sensorValueLayout.add("Main camera?", true)
+        NetworkTableEntry isCamera1Widget = sensorValueLayout.add("Main camera?", true)
             .withWidget(BuiltInWidgets.kBooleanBox).getEntry();
-        isIntakeUpWidget = sensorValueLayout.add("Is intake up?", true)
+        NetworkTableEntry isIntakeUpWidget = sensorValueLayout.add("Is intake up?", true)
             .withWidget(BuiltInWidgets.kBooleanBox).getEntry();
+        NetworkTableEntry driveJitterWidget = sensorValueLayout.add("Drive jitter max (ms)", 0).getEntry();
+        NetworkTableEntry driveLateWidget = sensorValueLayout.add("Drive samples late", 0).getEntry();
 
         //controls
-        currentFlywheelWidget = controlsLayout.add("Current speed:", Subsystems.flyboi.wheelSpeed).getEntry();
-        actualFlywheelWidget = controlsLayout.add("Actual speed:", 0).getEntry();
+        NetworkTableEntry currentFlywheelWidget = controlsLayout.add("Current speed:", Subsystems.flyboi.wheelSpeed).getEntry();
+        NetworkTableEntry actualFlywheelWidget = controlsLayout.add("Actual speed:", 0).getEntry();
+        NetworkTableEntry spinUpWidget = controlsLayout.add("Spin-up time (s):", 0).getEntry();
+        NetworkTableEntry recoveryWidget = controlsLayout.add("Shot recovery (s):", 0).getEntry();
+        NetworkTableEntry shotRateWidget = controlsLayout.add("Auto shots/s:", 0).getEntry();
+
+        //how often each is worth updating, in Hz; unchanged values aren't sent
+        TelemetryPublisher.addBoolean(driverControllerWidget, () -> isMoved(UserInterface.driverController), 5);
+        TelemetryPublisher.addBoolean(operatorControllerWidget, () -> isMoved(UserInterface.operatorController), 5);
+        TelemetryPublisher.addNumber(cellCountWidget, Subsystems.helix::getCellCount, 10);
+        TelemetryPublisher.addBoolean(overflowWidget, () -> Subsystems.helix.getCellCount() > 5, 10);
+        TelemetryPublisher.addNumber(currentFlywheelWidget, () -> Subsystems.flyboi.wheelSpeed, 10);
+        TelemetryPublisher.addNumber(actualFlywheelWidget, Subsystems.flyboi::getPower, 50);
+        TelemetryPublisher.addNumber(spinUpWidget, Subsystems.flyboi::getSpinUpTime, 2);
+        TelemetryPublisher.addNumber(recoveryWidget, Subsystems.flyboi::getLastRecoveryTime, 2);
+        TelemetryPublisher.addNumber(shotRateWidget, HelixShoot::getLastShotsPerSecond, 2);
+        TelemetryPublisher.addNumber(leftEncoders, Subsystems.driveBase::getLeftPosition, 10);
+        TelemetryPublisher.addNumber(rightEncoders, Subsystems.driveBase::getRightPosition, 10);
+        TelemetryPublisher.addNumber(gyroWidget, Subsystems.driveBase::getGyroAngle, 10);
+        TelemetryPublisher.addBoolean(intakeBeamBreakWidget, Subsystems.intake::getCellEntered, 25);
+        TelemetryPublisher.addBoolean(isSpeedModeWidget, () -> RobotState.get().isSpeedMode, 2);
+        TelemetryPublisher.addBoolean(isCamera1Widget, () -> RobotState.get().isFirstCamera, 2);
+        TelemetryPublisher.addBoolean(isIntakeUpWidget, () -> !RobotState.get().isIntakeDown, 2);
+        TelemetryPublisher.addNumber(driveJitterWidget, () -> DriveLoop.getMaxJitter() * 1000, 1);
+        TelemetryPublisher.addNumber(driveLateWidget, DriveLoop::getLateCount, 1);
     }
 
     /**
-     * Updates data used in Shuffleboard. This will be updated even if the robot is disabled.
+     * Updates data used in Shuffleboard, each widget at its own rate. This will be updated even if the robot is
+     * disabled.
      */
     public static void printDataToShuffleboard() {
-        //controller id's
-        driverControllerWidget.setBoolean(Math.abs(UserInterface.driverController.getLeftJoystickX()) > 0.1 || Math.abs(UserInterface.driverController.getLeftJoystickY()) > 0.1 ||
-        Math.abs(UserInterface.driverController.getRightJoystickX()) > 0.1 || Math.abs(UserInterface.driverController.getRightJoystickY()) > 0.1);
-        operatorControllerWidget.setBoolean(Math.abs(UserInterface.operatorController.getLeftJoystickX()) > 0.1 || Math.abs(UserInterface.operatorController.getLeftJoystickY()) > 0.1 ||
-        Math.abs(UserInterface.operatorController.getRightJoystickX()) > 0.1 || Math.abs(UserInterface.operatorController.getRightJoystickY()) > 0.1);
-
-        //cell count
-        cellCountWidget.setDouble(Subsystems.helix.cellCount);
-        overflowWidget.setBoolean(Subsystems.helix.cellCount > 5);
-
-        //control panel
-        currentFlywheelWidget.setDouble(Subsystems.flyboi.wheelSpeed);
-        actualFlywheelWidget.setDouble(Subsystems.flyboi.getPower());
+        TelemetryPublisher.publish();
+    }
 
-        //sensor values
-        leftEncoders.setDouble(Subsystems.driveBase.getLeftPosition());
-        rightEncoders.setDouble(Subsystems.driveBase.getRightPosition());
-        gyroWidget.setDouble(Subsystems.driveBase.getGyroAngle());
-        intakeBeamBreakWidget.setBoolean(Subsystems.intake.getCellEntered());
-        isSpeedModeWidget.setBoolean(RobotMap.isSpeedMode);
-        isCamera1Widget.setBoolean(RobotMap.isFirstCamera);
-        isIntakeUpWidget.setBoolean(!RobotMap.isIntakeDown);
+    /**
+     * @return Whether any of a controller's joysticks is off centre, to tell which controller is which.
+     */
+    private static boolean isMoved(RumbleXboxController controller) {
+        return Math.abs(controller.getLeftJoystickX()) > 0.1 || Math.abs(controller.getLeftJoystickY()) > 0.1
+            || Math.abs(controller.getRightJoystickX()) > 0.1 || Math.abs(controller.getRightJoystickY()) > 0.1;
     }
 
 
     // AUTONOMOUS
 
     /**
-     * Sets the default autonomous in case one is not chosen.
+     * Builds the default autonomous, so there's always one to run, then builds every other valid choice in the
+     * background and listens for the choices changing on Shuffleboard. Call after <code>layoutShuffleboard</code>.
      */
     public static void setupAutonomous() {
-        autonomous = new AutonomousSwitch(AutonomousSwitch.StartingPosition.CENTER, 0, false, AutonomousSwitch.IntakeSource.TRENCH); //default
+        addAutonomous(new AutonomousSwitch(positions[0], 0, false, intakeSources[0])); //default
+
+        Thread builder = new Thread(ShuffleboardControl::buildAutonomousRoutines, "AutonomousBuilder");
+        builder.setDaemon(true);
+        builder.setPriority(Thread.MIN_PRIORITY);
+        builder.start();
+
+        //the dashboard writes the name of the chosen option into the chooser's "selected" entry
+        NetworkTable autonomousTable = NetworkTableInstance.getDefault().getTable("Shuffleboard")
+            .getSubTable(preMatchTabName).getSubTable(autonomousLayoutName);
+        int flags = EntryListenerFlags.kImmediate | EntryListenerFlags.kNew | EntryListenerFlags.kUpdate;
+        autonomousTable.getSubTable(positionChooserName).getEntry("selected").addListener(notification -> {
+            int i = optionIndex(positionNames, notification);
+            if (i >= 0) {
+                selectedPosition = positions[i];
+                selectAutonomous();
+            }
+        }, flags);
+        autonomousTable.getSubTable(intakeChooserName).getEntry("selected").addListener(notification -> {
+            int i = optionIndex(intakeNames, notification);
+            if (i >= 0) {
+                selectedIntakeSource = intakeSources[i];
+                selectAutonomous();
+            }
+        }, flags);
+        pushRobotChooser.addListener(notification -> {
+            selectedPushRobot = notification.value.getBoolean();
+            selectAutonomous();
+        }, flags);
+        delayChooser.addListener(notification -> {
+            selectedDelay = notification.value.getDouble();
+            selectAutonomous();
+        }, flags);
     }
 
     /**
-     * Updates the current autonomous according to the choices on Shuffleboard.
+     * @return The autonomous to run. Always ready to start, nothing is built here.
      */
-    public static void updateAutonomous() {
-        if (AutonomousSwitch.doChoicesWork(positionChooser.getSelected(), intakeChooser.getSelected())) {
-            //update auto if changed
-            if (!autonomous.matchesSettings(positionChooser.getSelected(), delayChooser.getDouble(0), pushRobotChooser.getBoolean(false), intakeChooser.getSelected())) {
-                autonomous = new AutonomousSwitch(positionChooser.getSelected(), delayChooser.getDouble(0), pushRobotChooser.getBoolean(false), intakeChooser.getSelected());
-                autoLabel.setString(autonomous.description);
+    public static AutonomousSwitch getAutonomous() {
+        return autonomous;
+    }
+
+    /**
+     * Builds every valid autonomous that isn't the default, which takes a while.
+     */
+    private static void buildAutonomousRoutines() {
+        for (AutonomousSwitch.StartingPosition position : positions) {
+            for (AutonomousSwitch.IntakeSource intakeSource : intakeSources) {
+                if (!AutonomousSwitch.doChoicesWork(position, intakeSource)) {
+                    continue;
+                }
+                for (boolean pushRobot : new boolean[] {false, true}) {
+                    if (findAutonomous(position, pushRobot, intakeSource) == null) {
+                        addAutonomous(new AutonomousSwitch(position, 0, pushRobot, intakeSource));
+                    }
+                }
             }
-        } else {
-            autoLabel.setString("Options don't work. Defaulting to last chosen autonomous (SP=" + autonomous.startingPosition + ", D=" + Math.round(autonomous.delay*100.0)/100.0 +
+        }
+    }
+
+    private static synchronized void addAutonomous(AutonomousSwitch routine) {
+        autonomousRoutines.add(routine);
+        selectAutonomous();
+    }
+
+    private static synchronized AutonomousSwitch findAutonomous(AutonomousSwitch.StartingPosition position,
+                                                                boolean pushRobot, AutonomousSwitch.IntakeSource intakeSource) {
+        for (AutonomousSwitch routine : autonomousRoutines) {
+            if (routine.matchesSettings(position, pushRobot, intakeSource)) {
+                return routine;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Switches to the autonomous for the current choices, if it's valid and built yet, and shows it on Shuffleboard.
+     */
+    private static synchronized void selectAutonomous() {
+        if (!AutonomousSwitch.doChoicesWork(selectedPosition, selectedIntakeSource)) {
+            autoLabel.setString("Options don't work. Defaulting to last chosen autonomous (SP=" + autonomous.startingPosition + ", D=" + Math.round(autonomous.getDelay()*100.0)/100.0 +
             ", PR=" + autonomous.pushRobot + ", IS=" + autonomous.intakeSource + ").");
+            return;
+        }
+        AutonomousSwitch routine = findAutonomous(selectedPosition, selectedPushRobot, selectedIntakeSource);
+        if (routine == null) {
+            autoLabel.setString("Still building that autonomous...");
+            return;
         }
+        routine.setDelay(selectedDelay);
+        autonomous = routine;
+        autoLabel.setString(autonomous.getDescription());
     }
 
-    public static AutonomousSwitch getAutonomous() {
-        return autonomous;
+    /**
+     * @return Which option a chooser's "selected" entry names, or -1 if none.
+     */
+    private static int optionIndex(String[] names, EntryNotification notification) {
+        String selected = notification.value.getString();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(selected)) {
+                return i;
+            }
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
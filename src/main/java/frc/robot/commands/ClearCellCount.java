@@ -1,21 +1,20 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.subsystems.Subsystems;
 
-public class ClearCellCount extends Command {
+public class ClearCellCount extends ProfiledCommand {
 
     public ClearCellCount() {
         super("ClearCellCount");
     }
 
     @Override
-    protected void execute() {
-        Subsystems.helix.cellCount = 0;
+    protected void profiledExecute() {
+        Subsystems.helix.setCellCount(0);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
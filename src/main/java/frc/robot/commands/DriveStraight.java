@@ -1,17 +1,18 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.RobotMap;
+import frc.robot.control.DriveStraightController;
 import frc.robot.subsystems.Subsystems;
+import frc.robot.telemetry.Logger;
 
 /**
  * Drives the robot in a straight line.
  */
-public class DriveStraight extends Command {
+public class DriveStraight extends ProfiledCommand {
 
-    private double ticks;
-    private boolean forward;
-    private double speed;
+    private static final int startMessage = Logger.register(Logger.Level.INFO, "Starting driveStraight!");
+
+    private DriveStraightController controller;
 
     /**
      * Drives the robot in a straight line.
@@ -22,36 +23,27 @@ public class DriveStraight extends Command {
     public DriveStraight(double Inches, double Speed, double Timeout) {
         super("DriveStraight");
         requires(Subsystems.driveBase);
-        ticks = convertToTicks(Math.abs(Inches));
-        forward = Inches > 0;
-        speed = Speed;
+        controller = new DriveStraightController(convertToTicks(Math.abs(Inches)), Inches > 0, Speed);
         setTimeout(Timeout);
     }
 
     @Override
     protected void initialize() {
-        System.out.println("Starting driveStraight!");
+        Logger.log(startMessage);
         Subsystems.driveBase.zeroEncoderPosition();
         Subsystems.driveBase.zeroGyroAngle();
+        Subsystems.driveBase.setCommandSetpoint(controller.isForward() ? controller.getTicks() : -controller.getTicks(), controller.getSpeed());
     }
 
     @Override
-    protected void execute() {
-        double correction = Subsystems.driveBase.getGyroAngle();
-        correction *= 0.05;
-        correction += 1.0;
-        if (forward) {
-            Subsystems.driveBase.setMotors(-speed, -speed * correction);
-        } else {
-            Subsystems.driveBase.setMotors(speed * correction, speed);
-        }
+    protected void profiledExecute() {
+        controller.calculate(Subsystems.driveBase.getGyroAngle());
+        Subsystems.driveBase.setMotors(controller.getLeftOutput(), controller.getRightOutput());
     }
 
     @Override
-    protected boolean isFinished() {
-        int leftPosition = Math.abs(Subsystems.driveBase.getLeftPosition());
-        int rightPosition = Math.abs(Subsystems.driveBase.getRightPosition());
-        return (leftPosition > ticks) || (rightPosition > ticks) || isTimedOut();
+    protected boolean profiledIsFinished() {
+        return controller.isFinished(Subsystems.driveBase.getLeftPosition(), Subsystems.driveBase.getRightPosition()) || isTimedOut();
     }
 
     @Override
@@ -0,0 +1,98 @@
+package frc.robot.commands;
+
+import edu.wpi.first.wpilibj.controller.RamseteController;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import frc.robot.subsystems.DriveBase;
+import frc.robot.subsystems.Odometry;
+import frc.robot.subsystems.Sensors;
+import frc.robot.subsystems.Subsystems;
+import frc.robot.telemetry.Logger;
+
+/**
+ * Follows a trajectory with a RAMSETE controller on the odometry's pose, holding the wheel speeds it asks for with
+ * the Talons' velocity loops. If the trajectory doesn't end at rest the motors are left running, so the next one
+ * carries straight on.
+ */
+public class FollowTrajectory extends ProfiledCommand {
+
+    private static final int startMessage = Logger.register(Logger.Level.INFO, "Starting trajectory of {} s");
+    private static final int endMessage = Logger.register(Logger.Level.INFO, "Trajectory ended {} m off");
+
+    private final Trajectory trajectory;
+    private final boolean resetPose;
+    private final RamseteController controller = new RamseteController();
+
+    private double startTime;
+    private double lastTime;
+    private DifferentialDriveWheelSpeeds lastSpeeds;
+
+    /**
+     * Follows a trajectory from wherever the odometry thinks the robot is.
+     * @param Trajectory The trajectory to follow.
+     */
+    public FollowTrajectory(Trajectory Trajectory) {
+        this(Trajectory, false);
+    }
+
+    /**
+     * Follows a trajectory.
+     * @param Trajectory The trajectory to follow.
+     * @param ResetPose Whether to tell the odometry the robot is at the trajectory's start first, for the first
+     *                  trajectory of an autonomous.
+     */
+    public FollowTrajectory(Trajectory Trajectory, boolean ResetPose) {
+        super("FollowTrajectory");
+        requires(Subsystems.driveBase);
+        trajectory = Trajectory;
+        resetPose = ResetPose;
+    }
+
+    @Override
+    protected void initialize() {
+        Logger.log(startMessage, trajectory.getTotalTimeSeconds());
+        if (resetPose) {
+            Odometry.reset(trajectory.getInitialPose());
+        }
+        startTime = Sensors.get().timestamp;
+        lastTime = startTime;
+        lastSpeeds = new DifferentialDriveWheelSpeeds();
+    }
+
+    @Override
+    protected void profiledExecute() {
+        double now = Sensors.get().timestamp;
+        ChassisSpeeds chassisSpeeds = controller.calculate(Odometry.getPose(), trajectory.sample(now - startTime));
+        DifferentialDriveWheelSpeeds speeds = DriveBase.kinematics.toWheelSpeeds(chassisSpeeds);
+
+        double dt = now - lastTime;
+        double leftAcceleration = (dt > 0) ? (speeds.leftMetersPerSecond - lastSpeeds.leftMetersPerSecond) / dt : 0;
+        double rightAcceleration = (dt > 0) ? (speeds.rightMetersPerSecond - lastSpeeds.rightMetersPerSecond) / dt : 0;
+        Subsystems.driveBase.setWheelSpeeds(speeds.leftMetersPerSecond, speeds.rightMetersPerSecond,
+            DriveBase.feedforward.calculate(speeds.leftMetersPerSecond, leftAcceleration),
+            DriveBase.feedforward.calculate(speeds.rightMetersPerSecond, rightAcceleration));
+        lastSpeeds = speeds;
+        lastTime = now;
+    }
+
+    @Override
+    protected boolean profiledIsFinished() {
+        return Sensors.get().timestamp - startTime >= trajectory.getTotalTimeSeconds();
+    }
+
+    @Override
+    protected void interrupted() {
+        Subsystems.driveBase.setMotors(0,0);
+    }
+
+    @Override
+    protected void end() {
+        Logger.log(endMessage, Odometry.getPose().getTranslation()
+            .getDistance(trajectory.sample(trajectory.getTotalTimeSeconds()).poseMeters.getTranslation()));
+        double endVelocity = trajectory.sample(trajectory.getTotalTimeSeconds()).velocityMetersPerSecond;
+        if (endVelocity == 0) {
+            Subsystems.driveBase.setMotors(0,0);
+        }
+    }
+}
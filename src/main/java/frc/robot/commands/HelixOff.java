@@ -1,12 +1,11 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.subsystems.Subsystems;
 
 /**
  * Turns the helix off.
  */
-public class HelixOff extends Command {
+public class HelixOff extends ProfiledCommand {
 
     public HelixOff() {
         super("HelixOff");
@@ -14,12 +13,12 @@ public class HelixOff extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void profiledExecute() {
         Subsystems.helix.stopHelixMotors();
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
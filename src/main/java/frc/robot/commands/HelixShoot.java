@@ -1,63 +1,101 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
+import frc.robot.control.ShotLogic;
+import frc.robot.control.VolleyMonitor;
+import frc.robot.subsystems.Sensors;
+import frc.robot.subsystems.ShotDetector;
 import frc.robot.subsystems.Subsystems;
+import frc.robot.telemetry.Logger;
 import frc.robot.userinterface.UserInterface;
 import edu.wpi.first.wpilibj.DriverStation;
 
 /**
- * Turns the helix when the flywheel is running & up to speed. If this is executed in auto, it must have a timeout.
+ * Turns the helix when the flywheel is running & up to speed. Shots are counted by the <code>ShotDetector</code>.
+ * In auto this finishes once the last cell has been shot; give it a timeout in case a shot is missed.
  */
-public class HelixShoot extends Command {
+public class HelixShoot extends ProfiledCommand {
 
-    private boolean warmedUp = false;
-    private int counter = 0;
+    private static final int speedMessage = Logger.register(Logger.Level.DEBUG, "Flywheel speed {}", 0.25);
+    private static final int volleyMessage = Logger.register(Logger.Level.INFO,
+        "Auto volley done: {} shots in {} s, {} shots per second");
+    private static final int timeoutMessage = Logger.register(Logger.Level.WARNING,
+        "Auto volley timed out after {} shots with {} cells thought left");
 
-    private final double helixSpeed = 0.60;
+    private static volatile double lastShotsPerSecond = 0;
+
+    private final ShotLogic shotLogic = new ShotLogic();
+    private final VolleyMonitor volleyMonitor = new VolleyMonitor();
 
     public HelixShoot() {
         super("HelixShoot");
         requires(Subsystems.helix);
     }
 
+    /**
+     * @param Timeout The most seconds the volley can take before giving up on the cells it thinks are left.
+     */
+    public HelixShoot(double Timeout) {
+        this();
+        setTimeout(Timeout);
+    }
+
     @Override
     protected void initialize() {
-        warmedUp = false;
+        shotLogic.reset();
+        volleyMonitor.reset(Sensors.get().timestamp, ShotDetector.getShotCount());
+        ShotDetector.setFeeding(true);
     }
 
     @Override
-    protected void execute() {
-        System.out.println(Subsystems.flyboi.getPower());
-        if(Subsystems.flyboi.getPower() >= Subsystems.flyboi.wheelSpeed-0.010) {
-            if (counter < 6) {
-                counter++;
-            } else {
-                Subsystems.helix.setHelixMotors(helixSpeed);
-                warmedUp = true;
-            }
-        } else {
-            Subsystems.helix.stopHelixMotors();
-            if (warmedUp && Subsystems.flyboi.getPower() < Subsystems.flyboi.wheelSpeed-0.020) {
-                warmedUp = false;
-                Subsystems.helix.cellCount--;
-                System.out.println("BALL SHOT, " + Subsystems.helix.cellCount + " BALLS REMAINING");
-            }
+    protected void profiledExecute() {
+        double power = Subsystems.flyboi.getPower();
+        Logger.log(speedMessage, power);
+        shotLogic.update(power, Subsystems.flyboi.wheelSpeed, Sensors.get().timestamp);
+        if (!Double.isNaN(shotLogic.getHelixOutput())) {
+            Subsystems.helix.setHelixMotors(shotLogic.getHelixOutput());
         }
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         if (DriverStation.getInstance().isAutonomous()) {
-            return false;
+            volleyMonitor.update(ShotDetector.getShotCount(), ShotDetector.getLastShotTime());
+            return volleyMonitor.isFinished(Subsystems.helix.getCellCount(), Sensors.get().timestamp) || isTimedOut();
         } else {
-            return UserInterface.operatorController.getRightTrigger() < 0.4;
+            return !UserInterface.shootTrigger.get();
         }
     }
 
     @Override
-    protected void interrupted() {}
+    protected void interrupted() {
+        ShotDetector.setFeeding(false);
+        if (DriverStation.getInstance().isAutonomous()) {
+            recordVolley(); //cancelled, e.g. by auto ending, which isn't a timeout
+        }
+    }
 
     @Override
-    protected void end() {}
+    protected void end() {
+        ShotDetector.setFeeding(false);
+        if (DriverStation.getInstance().isAutonomous()) {
+            if (isTimedOut()) {
+                Logger.log(timeoutMessage, volleyMonitor.getShots(), Subsystems.helix.getCellCount());
+            }
+            recordVolley();
+        }
+    }
+
+    /**
+     * @return Shots per second in the last auto volley, 0 if fewer than two shots were seen.
+     */
+    public static double getLastShotsPerSecond() {
+        return lastShotsPerSecond;
+    }
+
+    private void recordVolley() {
+        lastShotsPerSecond = volleyMonitor.getShotsPerSecond();
+        Logger.log(volleyMessage, volleyMonitor.getShots(), volleyMonitor.getDuration(Sensors.get().timestamp),
+            lastShotsPerSecond);
+    }
 
 }
\ No newline at end of file
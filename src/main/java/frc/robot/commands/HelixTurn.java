@@ -1,12 +1,11 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.subsystems.Subsystems;
 
 /**
  * Turns the helix on.
  */
-public class HelixTurn extends Command {
+public class HelixTurn extends ProfiledCommand {
 
     public HelixTurn() {
         super("HelixTurn");
@@ -26,11 +25,11 @@ public class HelixTurn extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void profiledExecute() {
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return isTimedOut();
     }
 
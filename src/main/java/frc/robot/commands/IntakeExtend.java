@@ -1,13 +1,12 @@
 package frc.robot.commands;
 
 import frc.robot.subsystems.Subsystems;
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.RobotMap;
+import frc.robot.RobotState;
 
 /**
  * Extends the intake.
  */
-public class IntakeExtend extends Command {
+public class IntakeExtend extends ProfiledCommand {
 
     public IntakeExtend() {
         super("IntakeExtend");
@@ -15,13 +14,13 @@ public class IntakeExtend extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void profiledExecute() {
         Subsystems.intake.intakeExtend();
-        RobotMap.isIntakeDown = true;
+        RobotState.setIntakeDown(true);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
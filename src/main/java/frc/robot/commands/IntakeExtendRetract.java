@@ -1,13 +1,12 @@
 package frc.robot.commands;
 
 import frc.robot.subsystems.Subsystems;
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.RobotMap;
+import frc.robot.RobotState;
 
 /**
  * Toggles between the intake extended and the intake retracted.
  */
-public class IntakeExtendRetract extends Command {
+public class IntakeExtendRetract extends ProfiledCommand {
 
     public IntakeExtendRetract() {
         super("IntakeExtendRetract");
@@ -15,18 +14,18 @@ public class IntakeExtendRetract extends Command {
     }
 
     @Override
-    protected void execute() {
-        if (RobotMap.isIntakeDown) {
+    protected void profiledExecute() {
+        if (RobotState.get().isIntakeDown) {
             Subsystems.intake.intakeRetract();
-			RobotMap.isIntakeDown = false;
+			RobotState.setIntakeDown(false);
         } else {
             Subsystems.intake.intakeExtend();
-            RobotMap.isIntakeDown = true;
+            RobotState.setIntakeDown(true);
         }
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
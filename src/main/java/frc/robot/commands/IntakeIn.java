@@ -1,12 +1,11 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.subsystems.Subsystems;
 
 /**
  * Spins the intake wheels in to absorb lemonade cargo.
  */
-public class IntakeIn extends Command {
+public class IntakeIn extends ProfiledCommand {
 
     public IntakeIn() {
         super("IntakeIn");
@@ -14,12 +13,12 @@ public class IntakeIn extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void profiledExecute() {
         Subsystems.intake.setIntakeMotors(0.85);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
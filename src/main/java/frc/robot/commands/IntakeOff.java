@@ -1,12 +1,11 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.subsystems.Subsystems;
 
 /**
  * Stops the intake wheels.
  */
-public class IntakeOff extends Command {
+public class IntakeOff extends ProfiledCommand {
 
     public IntakeOff() {
         super("IntakeOff");
@@ -14,12 +13,12 @@ public class IntakeOff extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void profiledExecute() {
         Subsystems.intake.stopIntakeMotors();
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
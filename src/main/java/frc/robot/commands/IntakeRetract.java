@@ -1,13 +1,12 @@
 package frc.robot.commands;
 
 import frc.robot.subsystems.Subsystems;
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.RobotMap;
+import frc.robot.RobotState;
 
 /**
  * Retracts the intake.
  */
-public class IntakeRetract extends Command {
+public class IntakeRetract extends ProfiledCommand {
 
     public IntakeRetract() {
         super("IntakeRetract");
@@ -15,13 +14,13 @@ public class IntakeRetract extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void profiledExecute() {
         Subsystems.intake.intakeRetract();
-        RobotMap.isIntakeDown = false;
+        RobotState.setIntakeDown(false);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
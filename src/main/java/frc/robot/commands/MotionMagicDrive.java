@@ -0,0 +1,90 @@
+package frc.robot.commands;
+
+import frc.robot.RobotMap;
+import frc.robot.control.MotionMagicDriveController;
+import frc.robot.subsystems.Sensors;
+import frc.robot.subsystems.Subsystems;
+import frc.robot.subsystems.io.DriveIO;
+import frc.robot.telemetry.Logger;
+
+/**
+ * Drives the robot in a straight line on a trapezoidal motion profile, run by the Talons' Motion Magic, while
+ * holding its heading with the gyro. Accurate enough to run at full speed, unlike <code>DriveStraight</code>.
+ */
+public class MotionMagicDrive extends ProfiledCommand {
+
+    private static final int startMessage = Logger.register(Logger.Level.INFO, "Starting motion magic drive!");
+    private static final double maxCruiseVelocity = 0.85 * DriveIO.maxVelocity; //leaves the loops room to correct
+    private static final double defaultAcceleration = 100; //inches per second squared
+
+    private final MotionMagicDriveController controller;
+    private final double speed;
+    private final double cruiseVelocity;
+    private final double acceleration;
+
+    /**
+     * Drives the robot in a straight line.
+     * @param Inches Distance forwards or backwards in inches.
+     * @param Speed Top speed of the profile (0 to 1).
+     * @param Timeout The timeout, in seconds.
+     */
+    public MotionMagicDrive(double Inches, double Speed, double Timeout) {
+        this(Inches, Speed, defaultAcceleration, Timeout);
+    }
+
+    /**
+     * Drives the robot in a straight line.
+     * @param Inches Distance forwards or backwards in inches.
+     * @param Speed Top speed of the profile (0 to 1).
+     * @param Acceleration How fast to speed up and slow down, in inches per second squared.
+     * @param Timeout The timeout, in seconds.
+     */
+    public MotionMagicDrive(double Inches, double Speed, double Acceleration, double Timeout) {
+        super("MotionMagicDrive");
+        requires(Subsystems.driveBase);
+        speed = Math.min(Math.abs(Speed), 1);
+        controller = new MotionMagicDriveController(convertToTicks(Math.abs(Inches)), Inches > 0);
+        cruiseVelocity = speed * maxCruiseVelocity;
+        acceleration = convertToTicks(Acceleration) / 10; //per 100 ms, per second
+        setTimeout(Timeout);
+    }
+
+    @Override
+    protected void initialize() {
+        Logger.log(startMessage);
+        Subsystems.driveBase.zeroEncoderPosition();
+        Subsystems.driveBase.zeroGyroAngle();
+        Subsystems.driveBase.setCommandSetpoint(-controller.getTarget(), speed);
+    }
+
+    @Override
+    protected void profiledExecute() {
+        controller.calculate(Subsystems.driveBase.getGyroAngle(), Sensors.get().timestamp);
+        Subsystems.driveBase.motionMagic(controller.getTarget(), controller.getTarget(), controller.getLeftFeedforward(),
+            controller.getRightFeedforward(), cruiseVelocity, acceleration);
+    }
+
+    @Override
+    protected boolean profiledIsFinished() {
+        return controller.isFinished(Subsystems.driveBase.getLeftPosition(), Subsystems.driveBase.getRightPosition(),
+            Sensors.get().timestamp) || isTimedOut();
+    }
+
+    @Override
+    protected void interrupted() {
+        Subsystems.driveBase.setMotors(0,0);
+    }
+
+    @Override
+    protected void end() {
+        Subsystems.driveBase.setMotors(0,0);
+    }
+
+    /**
+     * @param inches Inches to convert.
+     * @return The equivalent distance in ticks.
+     */
+    private static double convertToTicks(double inches) {
+        return (4096 / (RobotMap.wheelDiameter * 3.1415926) * inches);
+    }
+}
@@ -0,0 +1,54 @@
+package frc.robot.commands;
+
+import edu.wpi.first.wpilibj.command.Command;
+import frc.robot.telemetry.LoopProfiler;
+import frc.robot.telemetry.MatchRecorder;
+
+/**
+ * A command whose <code>execute</code> and <code>isFinished</code> calls are timed by the <code>LoopProfiler</code>,
+ * and whose running is marked in the <code>MatchRecorder</code>.
+ * Subclasses implement <code>profiledExecute</code> and <code>profiledIsFinished</code> instead.
+ */
+public abstract class ProfiledCommand extends Command {
+
+    private final int executeSection;
+    private final int isFinishedSection;
+    private final int recorderId;
+
+    /**
+     * @param name The name of the command, also used for its profiler sections.
+     */
+    public ProfiledCommand(String name) {
+        super(name);
+        executeSection = LoopProfiler.register(name + ".execute");
+        isFinishedSection = LoopProfiler.register(name + ".isFinished");
+        recorderId = MatchRecorder.registerCommand(name);
+    }
+
+    @Override
+    protected final void execute() {
+        MatchRecorder.markActive(recorderId);
+        long start = System.nanoTime();
+        profiledExecute();
+        LoopProfiler.record(executeSection, System.nanoTime() - start);
+    }
+
+    @Override
+    protected final boolean isFinished() {
+        long start = System.nanoTime();
+        boolean finished = profiledIsFinished();
+        LoopProfiler.record(isFinishedSection, System.nanoTime() - start);
+        return finished;
+    }
+
+    /**
+     * Called repeatedly while the command is running, in place of <code>execute</code>.
+     */
+    protected void profiledExecute() {}
+
+    /**
+     * Called after every <code>profiledExecute</code>, in place of <code>isFinished</code>.
+     * @return Whether the command is done.
+     */
+    protected abstract boolean profiledIsFinished();
+}
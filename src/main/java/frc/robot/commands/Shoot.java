@@ -1,14 +1,24 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.command.CommandGroup;
+import frc.robot.subsystems.Subsystems;
+import frc.robot.telemetry.Logger;
 
 /**
  * Warms up the flywheel, then starts shooting out power cells.
  */
 public class Shoot extends CommandGroup {
+
+    private static final int shooterSpeedMessage = Logger.register(Logger.Level.INFO, "Shooter speed is {}");
+
     public Shoot() {
         addSequential(new HelixTurn(), 0.3);
         addSequential(new StartFlywheel());
         addSequential(new HelixShoot());
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void initialize() {
+        Logger.log(shooterSpeedMessage, Subsystems.flyboi.getPower());
+    }
+}
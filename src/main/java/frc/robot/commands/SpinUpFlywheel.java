@@ -0,0 +1,46 @@
+package frc.robot.commands;
+
+import frc.robot.subsystems.Flyboi;
+import frc.robot.subsystems.Subsystems;
+
+/**
+ * Turns the flywheel on and finishes once it's up to speed, so it can spin up alongside something else.
+ */
+public class SpinUpFlywheel extends ProfiledCommand {
+
+    private final double speed;
+    private int loops;
+
+    public SpinUpFlywheel() {
+        this(Subsystems.flyboi.wheelSpeed);
+    }
+
+    /**
+     * @param Speed The flywheel speed (0 to 1).
+     */
+    public SpinUpFlywheel(double Speed) {
+        super("SpinUpFlywheel");
+        requires(Subsystems.flyboi);
+        speed = Speed;
+    }
+
+    @Override
+    protected void initialize() {
+        loops = 0;
+    }
+
+    @Override
+    protected void profiledExecute() {
+        Subsystems.flyboi.setVelocity(speed * Flyboi.maxVelocity);
+        loops++;
+    }
+
+    @Override
+    protected boolean profiledIsFinished() {
+        //the flywheel only sees the new setpoint the loop after it's set
+        return loops > 1 && Subsystems.flyboi.isAtSpeed();
+    }
+
+    @Override
+    protected void interrupted() {}
+}
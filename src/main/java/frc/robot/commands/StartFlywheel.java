@@ -1,12 +1,15 @@
 package frc.robot.commands;
 
+import frc.robot.subsystems.Flyboi;
 import frc.robot.subsystems.Subsystems;
-import edu.wpi.first.wpilibj.command.Command;
+import frc.robot.telemetry.Logger;
 
 /**
  * Runs the flywheel.
  */
-public class StartFlywheel extends Command {
+public class StartFlywheel extends ProfiledCommand {
+
+    private static final int onMessage = Logger.register(Logger.Level.INFO, "Flywheel on at {}");
 
     private double speed;
 
@@ -23,13 +26,13 @@ public class StartFlywheel extends Command {
     }
 
     @Override
-    protected void execute() {
-        Subsystems.flyboi.setShootVoltage(speed);
-        System.out.println("Flywheel on");
+    protected void profiledExecute() {
+        Subsystems.flyboi.setVelocity(speed * Flyboi.maxVelocity);
+        Logger.log(onMessage, speed);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
@@ -1,12 +1,14 @@
 package frc.robot.commands;
 
 import frc.robot.subsystems.Subsystems;
-import edu.wpi.first.wpilibj.command.Command;
+import frc.robot.telemetry.Logger;
 
 /**
  * Stops the flywheel.
  */
-public class StopFlywheel extends Command {
+public class StopFlywheel extends ProfiledCommand {
+
+    private static final int offMessage = Logger.register(Logger.Level.INFO, "Flywheel off");
 
     public StopFlywheel() {
         super("StopFlywheel");
@@ -14,13 +16,13 @@ public class StopFlywheel extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void profiledExecute() {
         Subsystems.flyboi.stopWheel();
-        System.out.println("Flywheel off");
+        Logger.log(offMessage);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
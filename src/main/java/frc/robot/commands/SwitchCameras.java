@@ -1,14 +1,13 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import edu.wpi.cscore.VideoSink;
 import edu.wpi.cscore.UsbCamera;
-import frc.robot.RobotMap;
+import frc.robot.RobotState;
 
 /**
  * Toggles between driver cameras seen in Shuffleboard.
  */
-public class SwitchCameras extends Command {
+public class SwitchCameras extends ProfiledCommand {
 
     private VideoSink switchedCamera;
     private UsbCamera camera1;
@@ -22,18 +21,18 @@ public class SwitchCameras extends Command {
     }
 
     @Override
-    protected void execute() {
-        if (RobotMap.isFirstCamera) {
+    protected void profiledExecute() {
+        if (RobotState.get().isFirstCamera) {
 			switchedCamera.setSource(camera2);
-			RobotMap.isFirstCamera = false;
+			RobotState.setFirstCamera(false);
         } else {
 			switchedCamera.setSource(camera1);
-			RobotMap.isFirstCamera = true;
+			RobotState.setFirstCamera(true);
         }
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
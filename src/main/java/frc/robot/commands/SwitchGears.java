@@ -1,30 +1,27 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.RobotMap;
+import frc.robot.RobotState;
 
 /**
  * Toggles between slow and fast mode.
  */
-public class SwitchGears extends Command {
+public class SwitchGears extends ProfiledCommand {
 
     public SwitchGears() {
         super("SwitchGears");
     }
 
     @Override
-    protected void execute() {
-        if (RobotMap.isSpeedMode) {
-            RobotMap.setSpeedAndRotationCaps(0.3, 0.5);
-            RobotMap.isSpeedMode = false;
+    protected void profiledExecute() {
+        if (RobotState.get().isSpeedMode) {
+            RobotState.setGear(false, 0.3, 0.5);
         } else {
-            RobotMap.setSpeedAndRotationCaps(0.8, 0.7);
-            RobotMap.isSpeedMode = true;
+            RobotState.setGear(true, 0.8, 0.7);
         }
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return true;
     }
 
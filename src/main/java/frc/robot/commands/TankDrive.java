@@ -1,18 +1,13 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.RobotMap;
+import frc.robot.RobotState;
 import frc.robot.subsystems.Subsystems;
-import frc.robot.userinterface.UserInterface;
 
 /**
- * Uses joystick values to drive the bot in teleop.
+ * Uses joystick values to drive the bot in teleop. The joysticks are read and shaped on the drive thread, see
+ * <code>DriveLoop</code>; this just keeps the driver in control with the current speed caps.
  */
-public class TankDrive extends Command {
-
-    private double updatedSpeed = 0;
-    private double updatedRotation = 0;
-    private final double maxChange = 0.5; //maxChange is acceleration
+public class TankDrive extends ProfiledCommand {
 
     public TankDrive() {
         super("TankDrive");
@@ -21,48 +16,14 @@ public class TankDrive extends Command {
 
     protected void initialize() {}
 
-    protected void execute() {
-        double speed;
-        double rotation;
-
-        /* Sets throttle for driveBase to the left stick Y-axis and sets the rotation
-        * for driveBase to the right stick X-axis on on the driverXboxController */
-        if (UserInterface.driverController.getRightJoystickY() < -0.1) {
-            speed = (Math.pow(UserInterface.driverController.getRightJoystickY(), 2));
-        } else if (UserInterface.driverController.getRightJoystickY() > 0.1) {
-            speed = -(Math.pow(UserInterface.driverController.getRightJoystickY(), 2));
-        } else {
-            speed = 0;
-        }
-        updatedSpeed = speed;
-        if (UserInterface.driverController.getLeftJoystickX() < -0.05) {
-            rotation = (Math.pow(UserInterface.driverController.getLeftJoystickX(), 5));
-        } else if (UserInterface.driverController.getLeftJoystickX() > 0.05) {
-            rotation = (Math.pow(UserInterface.driverController.getLeftJoystickX(), 5));
-        } else {
-            rotation = 0;
-        }
-        updatedRotation = -rotation;
-        double speedDifference = speed - updatedSpeed;
-        if (speedDifference > maxChange) {
-            speed = updatedSpeed + maxChange;
-        } else if (speedDifference < -maxChange) {
-            speed = updatedSpeed - maxChange;
-        }
-        double rotationDifference = rotation - updatedRotation;
-        if (rotationDifference > maxChange) {
-            rotation = updatedRotation + maxChange;
-            } else if (rotationDifference < -maxChange) {
-            rotation = updatedRotation - maxChange;
-        }
-
-        /*  Because of a weird glitch with how curvatureDrive is set up,
-         *  the rotation actually goes in as the first input, followed by the speed,
-         *  rather than speed then rotation */
-        Subsystems.driveBase.cheesyDrive.curvatureDrive(RobotMap.getRotationCap() * rotation, RobotMap.getSpeedCap() * speed, true);
+    protected void profiledExecute() {
+        /* Throttle comes from the right stick Y-axis and rotation from the left stick X-axis
+         * on the driverXboxController, both read by the drive thread */
+        RobotState state = RobotState.get();
+        Subsystems.driveBase.driveWithJoysticks(state.speedCap, state.rotationCap);
     }
 
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return false;
     }
 
@@ -70,4 +31,4 @@ public class TankDrive extends Command {
 
     protected void end() {}
 
-}
\ No newline at end of file
+}
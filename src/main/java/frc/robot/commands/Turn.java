@@ -1,74 +1,49 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
+import frc.robot.control.TurnController;
+import frc.robot.subsystems.Sensors;
 import frc.robot.subsystems.Subsystems;
+import frc.robot.telemetry.Logger;
 
 /**
- * Turns the bot a set number of degrees.
+ * Turns the bot a set number of degrees, on a profile, and logs how long it took to settle.
  */
-public class Turn extends Command {
+public class Turn extends ProfiledCommand {
 
-    private double degrees;
-    private double speed;
-    private boolean isCorrecting = false;
+    private static final int startMessage = Logger.register(Logger.Level.INFO, "Starting turn!");
+    private static final int settledMessage = Logger.register(Logger.Level.INFO, "Turn of {} degrees settled in {} s (profile {} s)");
+    private static final int timedOutMessage = Logger.register(Logger.Level.WARNING, "Turn of {} degrees timed out {} degrees off");
+
+    private TurnController controller;
 
     /**
      * Turns the bot a set number of degrees.
      * @param Degrees The number of degrees to turn - negative to the left, positive to the right.
-     * @param Speed The speed at which to turn (0 to 1). Speeds over x are not recommended for maximal accuracy.
+     * @param Speed The top speed of the turn (0 to 1).
      * @param Timeout The timeout, in seconds.
      */
     public Turn(double Degrees, double Speed, double Timeout) {
         super("Turn");
         requires(Subsystems.driveBase);
-        degrees = Degrees;
-        speed = Speed;
+        controller = new TurnController(Degrees, Speed);
         setTimeout(Timeout);
     }
 
     protected void initialize() {
-        System.out.println("Starting turn!");
+        Logger.log(startMessage);
         Subsystems.driveBase.zeroGyroAngle();
         Subsystems.driveBase.zeroEncoderPosition();
+        Subsystems.driveBase.setCommandSetpoint(controller.getDegrees(), controller.getSpeed());
+        controller.reset();
     }
 
-    protected void execute() {
-        if ((degrees > 0) && !isCorrecting) {
-            // Turning to the right
-            Subsystems.driveBase.setMotors(-speed, speed);
-        } else if ((degrees < 0) && !isCorrecting) {
-            // Turning to the left
-            Subsystems.driveBase.setMotors(speed, -speed);
-        } else if (degrees > 0) {
-            // Turned to the right, but correcting to the left
-            Subsystems.driveBase.setMotors(speed / 1.5, -speed / 1.5);
-        } else {
-            // Turned to the left, but correcting to the right
-            Subsystems.driveBase.setMotors(-speed / 1.5, speed / 1.5);
-        }
+    protected void profiledExecute() {
+        controller.calculate(Subsystems.driveBase.getGyroAngle(), Sensors.get().timestamp);
+        Subsystems.driveBase.setMotors(controller.getLeftOutput(), controller.getRightOutput());
     }
 
-    protected boolean isFinished() {
-        double angle = Subsystems.driveBase.getGyroAngle();
-        if (degrees > 0) {
-            // Turning to the right
-            if (!isCorrecting) {
-                if (angle > degrees) {
-                    isCorrecting = true;
-                }
-                return isTimedOut();
-            }
-            return (angle < degrees) || isTimedOut();
-        } else {
-            // Turning to the left
-            if (!isCorrecting) {
-                if (angle < degrees) {
-                    isCorrecting = true;
-                }
-                return isTimedOut();
-            }
-            return (angle > degrees) || isTimedOut();
-        }
+    protected boolean profiledIsFinished() {
+        return controller.isFinished(Subsystems.driveBase.getGyroAngle(), Sensors.get().timestamp) || isTimedOut();
     }
 
     protected void interrupted() {
@@ -77,6 +52,11 @@ public class Turn extends Command {
 
     protected void end() {
         Subsystems.driveBase.setMotors(0,0);
+        if (controller.getSettleTime() >= 0) {
+            Logger.log(settledMessage, controller.getDegrees(), controller.getSettleTime(), controller.getProfileTime());
+        } else {
+            Logger.log(timedOutMessage, controller.getDegrees(), controller.getDegrees() - Subsystems.driveBase.getGyroAngle());
+        }
     }
 
 }
\ No newline at end of file
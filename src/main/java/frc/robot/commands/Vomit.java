@@ -1,12 +1,11 @@
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.subsystems.Subsystems;
 
 /**
  * Spins the flywheel, helix, and intake motors all backwards in order to expel power cells.
  */
-public class Vomit extends Command {
+public class Vomit extends ProfiledCommand {
 
     public Vomit() {
         super("Vomit");
@@ -23,10 +22,10 @@ public class Vomit extends Command {
     }
 
     @Override
-    protected void execute() {}
+    protected void profiledExecute() {}
 
     @Override
-    protected boolean isFinished() {
+    protected boolean profiledIsFinished() {
         return false;
     }
 
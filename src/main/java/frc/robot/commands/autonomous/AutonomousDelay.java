@@ -0,0 +1,36 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.command.Command;
+
+/**
+ * Waits before an autonomous starts. Unlike a <code>WaitCommand</code> the delay can be changed after the autonomous
+ * is built, so moving the delay slider doesn't rebuild the autonomous.
+ */
+public class AutonomousDelay extends Command {
+
+    private volatile double delay;
+
+    /**
+     * @param Delay How long to wait, in seconds.
+     */
+    public AutonomousDelay(double Delay) {
+        super("AutonomousDelay");
+        delay = Delay;
+    }
+
+    /**
+     * @param Delay How long to wait, in seconds. Takes effect the next time this starts.
+     */
+    public void setDelay(double Delay) {
+        delay = Delay;
+    }
+
+    public double getDelay() {
+        return delay;
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return timeSinceInitialized() >= delay;
+    }
+}
@@ -0,0 +1,234 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConstraint;
+import frc.robot.subsystems.DriveBase;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The routes the autonomous routines drive after shooting from the center, written as poses on the field (see
+ * <code>Field</code>). Each routine backs away from the port in an arc that swings its front around, then drives
+ * forwards to the power cells in one smooth path, slowing to intake speed through the cells without stopping.
+ *
+ * <p>Run <code>./gradlew validateAutonomous</code> after changing a route to check it offline.</p>
+ */
+public final class AutonomousPaths {
+
+    private static final double maxSpeed = 3.0; //metres per second
+    private static final double maxAcceleration = 2.0; //metres per second squared
+    private static final double maxCentripetal = 2.0; //metres per second squared, so cells don't roll out of the intake
+    static final double intakeSpeed = 0.8; //metres per second through the cells
+    static final double cruiseSpeed = 1.5; //metres per second from one forwards leg into the next
+    private static final double maxVoltage = 10; //leaves the velocity loops room to correct
+
+    private static final double pushShift = 1.5 * Field.robotLength; //inches closer the robot lines up or ends after pushing
+
+    //where the robot shoots from, its front just off the port wall
+    private static final Pose2d shootingPose = Field.frontAt(6, 0, 180);
+
+    private static final Route[] trench = {buildTrench("trench", 0), buildTrench("trenchPushed", pushShift)};
+    private static final Route[] rendezvous = {
+        buildRendezvous("rendezvous", 0), buildRendezvous("rendezvousPushed", pushShift)
+    };
+    private static final Route[] mixed = {
+        new Route("mixed", shootingPose).backTo(Field.pose(135.375, 0, 180)),
+        new Route("mixedPushed", shootingPose).backTo(Field.pose(135.375 - pushShift, 0, 180))
+    };
+
+    private AutonomousPaths() {}
+
+    /**
+     * @param shift Inches closer to the port the robot lines up with the trench.
+     */
+    private static Route buildTrench(String name, double shift) {
+        double entryX = Field.trenchCellsNearX - shift;
+        return new Route(name, shootingPose)
+            .backTo(Field.pose(65.375, -40, 90)) //curving left, ending facing right
+            .driveTo(Field.frontAt(entryX, Field.trenchCellsY, 0)) //curving round to line up with the trench
+            .intakeTo(Field.frontAt(Field.trenchCellsFarX, Field.trenchCellsY, 0)) //down the trench over the first 3 cells
+            .collecting(Field.point(Field.trenchCellsNearX + 6, Field.trenchCellsY),
+                Field.point((Field.trenchCellsNearX + Field.trenchCellsFarX) / 2, Field.trenchCellsY),
+                Field.point(Field.trenchCellsFarX - 6, Field.trenchCellsY));
+    }
+
+    /**
+     * @param shift Inches closer to the port the robot ends. Only the last leg moves, since the backing away at the
+     *              start is already as short as the turn allows.
+     */
+    private static Route buildRendezvous(String name, double shift) {
+        Translation2d pair = Field.rendezvousPairEnd.minus(Field.rendezvousPairStart);
+        double heading = Math.toDegrees(Math.atan2(pair.getY(), pair.getX()));
+        return new Route(name, shootingPose)
+            .backTo(Field.pose(51.325, 45, -60)) //curving right, ending facing back towards the rendezvous point
+            .driveTo(Field.frontAt(Field.rendezvousPairStart, heading)) //to the first two cells
+            .intakeTo(Field.frontAt(Field.rendezvousPairEnd, heading)) //over them
+            .collecting(Field.rendezvousPairStart, Field.rendezvousPairEnd)
+            .intakeTo(Field.frontAt(Field.rendezvousLastCells, heading), Field.rendezvousSwing) //swinging round to the rest
+            .collecting(Field.rendezvousLastCells)
+            .backTo(Field.pose(270, -30, 90)) //backing out of the rendezvous, swinging round to face left
+            .driveTo(Field.pose(240 - shift, 0, 180)); //round to face the port, ending closer to it for teleop
+    }
+
+    /**
+     * A path between two poses, plus what it takes to generate it, made by a <code>Route</code>. Paths are only
+     * generated if the trajectory cache doesn't have them.
+     */
+    public static final class Path {
+
+        public final String name;
+        private final Pose2d start;
+        private final List<Translation2d> interior = new ArrayList<>();
+        private final Pose2d end;
+        private boolean reversed = false;
+        private boolean intaking = false;
+        private double startVelocity = 0;
+        private double endVelocity = 0;
+
+        Path(String Name, Pose2d Start, Pose2d End) {
+            name = Name;
+            start = Start;
+            end = End;
+        }
+
+        Path through(Translation2d point) {
+            interior.add(point);
+            return this;
+        }
+
+        Path reversed() {
+            reversed = true;
+            return this;
+        }
+
+        Path intaking() {
+            intaking = true;
+            return this;
+        }
+
+        Path startingAt(double velocity) {
+            startVelocity = velocity;
+            return this;
+        }
+
+        Path endingAt(double velocity) {
+            endVelocity = velocity;
+            return this;
+        }
+
+        /**
+         * Generates the trajectory, which takes tens of milliseconds on the roboRIO.
+         */
+        public Trajectory generate() {
+            TrajectoryConfig config = intaking ? intakeConfig() : config(reversed);
+            return TrajectoryGenerator.generateTrajectory(start, interior, end,
+                config.setStartVelocity(startVelocity).setEndVelocity(endVelocity));
+        }
+
+        /**
+         * Writes everything the generated trajectory depends on, to checksum it.
+         */
+        void describe(DataOutputStream out) throws IOException {
+            out.writeUTF(name);
+            describe(out, start);
+            for (Translation2d point : interior) {
+                out.writeDouble(point.getX());
+                out.writeDouble(point.getY());
+            }
+            describe(out, end);
+            out.writeBoolean(reversed);
+            out.writeBoolean(intaking);
+            out.writeDouble(startVelocity);
+            out.writeDouble(endVelocity);
+        }
+
+        private static void describe(DataOutputStream out, Pose2d pose) throws IOException {
+            out.writeDouble(pose.getX());
+            out.writeDouble(pose.getY());
+            out.writeDouble(pose.getRotation().getRadians());
+        }
+    }
+
+    /**
+     * @param pushRobot Whether the robot pushed another robot first, which shifts where it lines up with the trench.
+     * @return Backs away from the port, curves round to line up with the trench, then drives down it intaking.
+     */
+    public static Route trench(boolean pushRobot) {
+        return trench[pushRobot ? 1 : 0];
+    }
+
+    /**
+     * @param pushRobot Whether the robot pushed another robot first, which means it ends closer to the port to finish
+     *                  in time.
+     * @return Backs away from the port, drives to the rendezvous point, intakes two cells then swings round for the rest,
+     * then turns round to end facing the port.
+     */
+    public static Route rendezvous(boolean pushRobot) {
+        return rendezvous[pushRobot ? 1 : 0];
+    }
+
+    /**
+     * @param pushRobot Whether the robot pushed another robot first, which means it backs away less far.
+     * @return Backs straight away from the port.
+     */
+    public static Route mixed(boolean pushRobot) {
+        return mixed[pushRobot ? 1 : 0];
+    }
+
+    /**
+     * @return The route an autonomous with these choices drives, null if it doesn't follow one.
+     */
+    public static Route routeFor(AutonomousSwitch.StartingPosition startingPosition, boolean pushRobot,
+                                 AutonomousSwitch.IntakeSource intakeSource) {
+        if (startingPosition != AutonomousSwitch.StartingPosition.CENTER) {
+            return null;
+        }
+        switch (intakeSource) {
+            case TRENCH:
+                return trench(pushRobot);
+            case RENDEZVOUS:
+                return rendezvous(pushRobot);
+            case MIXED:
+                return mixed(pushRobot);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Writes the limits every path is generated with, to checksum them.
+     */
+    static void describeLimits(DataOutputStream out) throws IOException {
+        out.writeDouble(maxSpeed);
+        out.writeDouble(maxAcceleration);
+        out.writeDouble(maxCentripetal);
+        out.writeDouble(intakeSpeed);
+        out.writeDouble(maxVoltage);
+        out.writeDouble(DriveBase.trackWidth);
+        out.writeDouble(DriveBase.feedforward.ks);
+        out.writeDouble(DriveBase.feedforward.kv);
+        out.writeDouble(DriveBase.feedforward.ka);
+    }
+
+    private static TrajectoryConfig config(boolean reversed) {
+        return new TrajectoryConfig(maxSpeed, maxAcceleration)
+            .setKinematics(DriveBase.kinematics)
+            .addConstraint(new DifferentialDriveVoltageConstraint(DriveBase.feedforward, DriveBase.kinematics, maxVoltage))
+            .addConstraint(new CentripetalAccelerationConstraint(maxCentripetal))
+            .setReversed(reversed);
+    }
+
+    private static TrajectoryConfig intakeConfig() {
+        return new TrajectoryConfig(intakeSpeed, maxAcceleration)
+            .setKinematics(DriveBase.kinematics)
+            .addConstraint(new CentripetalAccelerationConstraint(maxCentripetal));
+    }
+}
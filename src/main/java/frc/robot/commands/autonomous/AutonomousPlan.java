@@ -0,0 +1,235 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.CommandGroup;
+import edu.wpi.first.wpilibj.command.Subsystem;
+import frc.robot.subsystems.Subsystems;
+import frc.robot.telemetry.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays out an autonomous as a chain of steps, each of which can have mechanism actions running alongside it, e.g.
+ * spinning the flywheel up while driving to the goal. Actions alongside a step are split into lanes by the subsystems
+ * they require: actions sharing a subsystem run one after another in the same lane, lanes run in parallel with the
+ * step, and the next step waits for the step and all its lanes. An action that needs a subsystem the step itself
+ * requires can't overlap it, so it becomes a step of its own. Every action has a timeout, so one that never finishes
+ * (like a flywheel that never gets up to speed) can't hold up the rest of the autonomous.
+ *
+ * <p>Every step and action has an estimated duration, so the plan can say how much time overlapping saves over
+ * running everything one at a time.</p>
+ */
+public class AutonomousPlan {
+
+    private static final int planMessage = Logger.register(Logger.Level.INFO,
+        "Autonomous plan takes about {} s, {} s less than one step at a time");
+
+    private static final double timeoutMargin = 1.0; //seconds an action can run past its estimate by default
+
+    private final Subsystem[] subsystems;
+    private final List<Step> steps = new ArrayList<>();
+
+    private class Lane {
+        final List<Command> commands = new ArrayList<>();
+        final List<Double> timeouts = new ArrayList<>();
+        final boolean[] requirements = new boolean[subsystems.length];
+        double estimate = 0;
+    }
+
+    private class Step {
+        final Command command;
+        final double timeout;
+        final double estimate;
+        final boolean[] requirements;
+        final List<Lane> lanes = new ArrayList<>();
+
+        Step(Command Command, double Timeout, double Estimate) {
+            command = Command;
+            timeout = Timeout;
+            estimate = Estimate;
+            requirements = requirements(command);
+        }
+
+        double duration() {
+            double duration = estimate;
+            for (Lane lane : lanes) {
+                duration = Math.max(duration, lane.estimate);
+            }
+            return duration;
+        }
+    }
+
+    /**
+     * Creates an empty plan whose actions are split into lanes by the robot's subsystems.
+     */
+    public AutonomousPlan() {
+        this(Subsystems.driveBase, Subsystems.flyboi, Subsystems.helix, Subsystems.intake);
+    }
+
+    /**
+     * @param Subsystems The subsystems actions are split into lanes by.
+     */
+    AutonomousPlan(Subsystem... Subsystems) {
+        subsystems = Subsystems;
+    }
+
+    /**
+     * Adds a step that starts once everything before it is done.
+     * @param command The step.
+     * @param estimate Roughly how many seconds it takes.
+     * @return This plan.
+     */
+    public AutonomousPlan then(Command command, double estimate) {
+        return then(command, estimate, -1);
+    }
+
+    /**
+     * Adds a step that starts once everything before it is done.
+     * @param command The step.
+     * @param estimate Roughly how many seconds it takes.
+     * @param timeout The most seconds it can take, -1 for no limit.
+     * @return This plan.
+     */
+    public AutonomousPlan then(Command command, double estimate, double timeout) {
+        steps.add(new Step(command, timeout, (timeout >= 0) ? Math.min(estimate, timeout) : estimate));
+        return this;
+    }
+
+    /**
+     * Adds an action that runs alongside the last step, after any earlier actions that need the same subsystems,
+     * with a timeout a little longer than its estimate.
+     * @param command The action.
+     * @param estimate Roughly how many seconds it takes.
+     * @return This plan.
+     */
+    public AutonomousPlan alongside(Command command, double estimate) {
+        return alongside(command, estimate, estimate + timeoutMargin);
+    }
+
+    /**
+     * Adds an action that runs alongside the last step, after any earlier actions that need the same subsystems.
+     * If it needs a subsystem the step requires it runs after the step instead. Actions alongside a step that
+     * doesn't stop the robot at the end (like a trajectory that carries on into the next) should finish before it,
+     * since the robot carries on at the step's last speed while waiting for them.
+     * @param command The action.
+     * @param estimate Roughly how many seconds it takes.
+     * @param timeout The most seconds it can take.
+     * @return This plan.
+     */
+    public AutonomousPlan alongside(Command command, double estimate, double timeout) {
+        boolean[] requirements = requirements(command);
+        Step step = steps.isEmpty() ? null : steps.get(steps.size() - 1);
+        if (step == null || overlaps(requirements, step.requirements)) {
+            return then(command, estimate, timeout);
+        }
+
+        Lane lane = null;
+        for (Lane existing : step.lanes) {
+            if (overlaps(requirements, existing.requirements)) {
+                if (lane != null) {
+                    //needs subsystems from two lanes, so can't run alongside either
+                    return then(command, estimate, timeout);
+                }
+                lane = existing;
+            }
+        }
+        if (lane == null) {
+            lane = new Lane();
+            step.lanes.add(lane);
+        }
+        lane.commands.add(command);
+        lane.timeouts.add(timeout);
+        lane.estimate += Math.min(estimate, timeout);
+        for (int i = 0; i < requirements.length; i++) {
+            lane.requirements[i] |= requirements[i];
+        }
+        return this;
+    }
+
+    /**
+     * @return Roughly how many seconds the plan takes, with actions overlapping their steps.
+     */
+    public double getPlannedTime() {
+        double time = 0;
+        for (Step step : steps) {
+            time += step.duration();
+        }
+        return time;
+    }
+
+    /**
+     * @return Roughly how many seconds the plan would take running every step and action one at a time.
+     */
+    public double getSequentialTime() {
+        double time = 0;
+        for (Step step : steps) {
+            time += step.estimate;
+            for (Lane lane : step.lanes) {
+                time += lane.estimate;
+            }
+        }
+        return time;
+    }
+
+    /**
+     * @return Roughly how many seconds overlapping saves, on the critical path.
+     */
+    public double getTimeSaved() {
+        return getSequentialTime() - getPlannedTime();
+    }
+
+    /**
+     * Adds the plan to a command group, after anything already in it.
+     * @param group The group, usually the autonomous.
+     */
+    public void addTo(CommandGroup group) {
+        for (Step step : steps) {
+            if (step.lanes.isEmpty()) {
+                addSequential(group, step.command, step.timeout);
+                continue;
+            }
+            //a group only finishes once its parallel commands have, so the next step waits for the lanes
+            CommandGroup overlapped = new CommandGroup();
+            for (Lane lane : step.lanes) {
+                if (lane.commands.size() == 1) {
+                    overlapped.addParallel(lane.commands.get(0), lane.timeouts.get(0));
+                } else {
+                    CommandGroup sequence = new CommandGroup();
+                    for (int i = 0; i < lane.commands.size(); i++) {
+                        sequence.addSequential(lane.commands.get(i), lane.timeouts.get(i));
+                    }
+                    overlapped.addParallel(sequence);
+                }
+            }
+            addSequential(overlapped, step.command, step.timeout);
+            group.addSequential(overlapped);
+        }
+        Logger.log(planMessage, getPlannedTime(), getTimeSaved());
+    }
+
+    private static void addSequential(CommandGroup group, Command command, double timeout) {
+        if (timeout >= 0) {
+            group.addSequential(command, timeout);
+        } else {
+            group.addSequential(command);
+        }
+    }
+
+    private boolean[] requirements(Command command) {
+        boolean[] requirements = new boolean[subsystems.length];
+        for (int i = 0; i < subsystems.length; i++) {
+            requirements[i] = command.doesRequire(subsystems[i]);
+        }
+        return requirements;
+    }
+
+    private static boolean overlaps(boolean[] a, boolean[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] && b[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,21 +1,25 @@
 package frc.robot.commands.autonomous;
 
 import edu.wpi.first.wpilibj.command.CommandGroup;
-import edu.wpi.first.wpilibj.command.WaitCommand;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
 import frc.robot.commands.*;
 
 /**
- * Creates an autonomous according to the choices chosen in Shuffleboard.
+ * Creates an autonomous according to the choices chosen in Shuffleboard. Every valid choice is built once at startup;
+ * the delay is only a setting, so changing it doesn't need a new autonomous.
  */
 public class AutonomousSwitch extends CommandGroup {
 
     public final StartingPosition startingPosition;
-    public final double delay;
     public final boolean pushRobot;
     public final IntakeSource intakeSource;
-    public String description = "";
+    private final AutonomousDelay delay;
+    private String positionDescription = "";
+    private String description = "";
 
     public final double robotLength = 38.75; //in inches
+    private final double spinUpTime = 1.5; //roughly how long the flywheel takes to get up to speed, in seconds
+    private double timeSaved = 0;
 
     public enum StartingPosition {
         LEFT, CENTER, RIGHT
@@ -28,19 +32,18 @@ public class AutonomousSwitch extends CommandGroup {
     /**
      * Creates an autonomous according to the choices chosen in Shuffleboard.
      * @param StartingPosition Where the robot starts on the field (right of power port, left of it, or directly in front of it).
-     * @param Delay How long the robot should delay starting its automous, in seconds.
+     * @param Delay How long the robot should delay starting its automous, in seconds. Can be changed with <code>setDelay</code>.
      * @param PushRobot Whether our robot will push another robot across the initiation line.
      * @param IntakeSource Where we intake power cells from after shooting (trench, rendezvous, or a mix of the two).
      * @param VisionEnabled Whether or not our robot will use vision/sensing in its autonomous routine. If false, this will use dead reckoning.
      */
     public AutonomousSwitch(StartingPosition StartingPosition, double Delay, boolean PushRobot, IntakeSource IntakeSource) {
         this.startingPosition = StartingPosition;
-        this.delay = Delay;
+        this.delay = new AutonomousDelay(Delay);
         this.pushRobot = PushRobot;
         this.intakeSource = IntakeSource;
 
-        addSequential(new WaitCommand(delay)); //wait for specified delay
-        description = "shoots after a delay of " + Math.round(delay*100.0)/100.0 + ", "; //rounding!!!!!!!
+        addSequential(delay); //wait for specified delay
 
         if (pushRobot) {
             description += "pushes robot, ";
@@ -53,56 +56,48 @@ public class AutonomousSwitch extends CommandGroup {
         // MAIN AUTO CODE
 
         if (startingPosition == AutonomousSwitch.StartingPosition.CENTER) {
-            description = "Starts at center, " + description;
+            positionDescription = "Starts at center, ";
 
-            addSequential(new DriveStraight(120 - robotLength - 24, 0.5, 5)); //drive to goal
-            addSequential(new DriveStraight(18, 0.1, 3));
-            addSequential(new StartFlywheel()); //shoot 3 cells
-            addSequential(new HelixShoot(), 4.5);
-            addSequential(new ShootStop()); //stop shooting
+            AutonomousPlan plan = new AutonomousPlan();
+            plan.then(new MotionMagicDrive(120 - robotLength - 24, 1, 5), 1.5) //drive to goal
+                .alongside(new SpinUpFlywheel(), spinUpTime); //spinning up the flywheel on the way
+            plan.then(new DriveStraight(18, 0.1, 3), 2);
+            plan.then(new HelixShoot(3), 2); //shoot 3 cells, stopping once the last has gone (its timeout is only a fallback)
+            plan.then(new ShootStop(), 0.04); //stop shooting
 
             if (IntakeSource == AutonomousSwitch.IntakeSource.TRENCH) {
                 description += "intakes from trench.";
 
-                addSequential(new DriveStraight((pushRobot ? -110 + (1.5*robotLength): -110), 0.5, 8)); //back away from goal
-                addSequential(new Turn(180 - Math.toDegrees(Math.atan(66.91/(86.63-(robotLength/2)))), 0.3, 8)); //turn right towards trench
-                addSequential(new DriveStraight(Math.sqrt(Math.pow(66.91, 2) + Math.pow(86.63 - (robotLength/2), 2)), 0.5, 8)); //go towards trench until aligned
-                addSequential(new Turn(Math.toDegrees(Math.atan(66.91/(86.63-(robotLength/2)))), 0.3, 8)); //turn rest of right towards trench
-                addSequential(new IntakeExtend()); //turn intake down & on
-                addSequential(new IntakeIn());
-                addSequential(new DriveStraight((pushRobot ? 117 + (1.5*robotLength) : 117), 0.2, 8)); //go to intake 5 cells from whole trench run
-                //ABOVE SHOULD BE 180 INSTEAD OF 117
-                addSequential(new IntakeOff()); //turn intake off & up
-                addSequential(new IntakeRetract());
+                Route route = AutonomousPaths.trench(pushRobot);
+                follow(plan, route, 0); //back away from goal, swinging round to face the trench
+                follow(plan, route, 1) //curve round until aligned with the trench
+                    .alongside(new IntakeExtend(), 0.02) //turn intake down & on on the way
+                    .alongside(new IntakeIn(), 0.02);
+                follow(plan, route, 2); //go to intake the first 3 cells of the trench run
+                //ABOVE SHOULD GO ON TO THE LAST 2 CELLS (FRONT AT 402 INSTEAD OF 339)
+                plan.then(new IntakeOff(), 0.02); //turn intake off & up
+                plan.then(new IntakeRetract(), 0.02);
                 // addSequential(new DriveStraight(-180, 0.3, 8)); //end closer to power port
 
             } else if (IntakeSource == AutonomousSwitch.IntakeSource.RENDEZVOUS) {
                 description += "intakes from rendezvous.";
 
-                addSequential(new DriveStraight((pushRobot ? -120 + (1.5*robotLength): -120), 0.5, 8));
-                addSequential(new Turn(-90 - Math.toDegrees(Math.atan((86.63-0.5*robotLength)/115)), 0.3, 8)); //turn left away from rendezvous
-                addSequential(new DriveStraight(115*(1/Math.cos(1/Math.atan((86.63-0.5*robotLength)/115))), 0.5, 8)); //go straight
-                addSequential(new Turn(-Math.toDegrees(Math.atan((86.63-0.5*robotLength)/115))-22.5, 0.3, 8)); //turn towards first 2 cells
-                addSequential(new IntakeExtend()); //turn intake down & on
-                addSequential(new IntakeIn());
-                addSequential(new DriveStraight(115*Math.tan(Math.toDegrees(22.5))*Math.cos(Math.toDegrees(22.5)), 0.2, 8)); //go to intake those 2 cells & cross 2x4
-                addSequential(new IntakeOff()); //turn intake off & up
-                addSequential(new IntakeRetract());
-                addSequential(new Turn(-90, 0.3, 8)); //turn towards 3 remaining cells
-                addSequential(new DriveStraight((1/Math.sin(Math.toDegrees(22.5))*(115*Math.toDegrees(Math.tan(22.5)))), 0.5, 8)); //go to intake further cells
-                addSequential(new Turn(90, 0.3, 8)); //turn towards closer cells
-                addSequential(new IntakeExtend()); //turn intake down & on
-                addSequential(new IntakeIn());
-                addSequential(new DriveStraight(30, 0.2, 8)); //go to intake last of 3 cells
-                addSequential(new IntakeOff()); //turn intake off & up
-                addSequential(new IntakeRetract());
-                addSequential(new Turn(-90, 0.3, 8)); //turn so shooter faces towards power port
-                addSequential(new DriveStraight(30, 0.5, 8)); //end across 2x4, closer to power port
+                Route route = AutonomousPaths.rendezvous(pushRobot);
+                follow(plan, route, 0); //back away from goal, swinging round to face the rendezvous
+                follow(plan, route, 1) //go to the first 2 cells
+                    .alongside(new IntakeExtend(), 0.02) //turn intake down & on on the way
+                    .alongside(new IntakeIn(), 0.02);
+                follow(plan, route, 2); //intake those 2 cells & cross 2x4
+                follow(plan, route, 3); //swing round to intake the last of the cells
+                follow(plan, route, 4) //back out of the rendezvous
+                    .alongside(new IntakeOff(), 0.02) //turn intake off & up on the way
+                    .alongside(new IntakeRetract(), 0.02);
+                follow(plan, route, 5); //end facing the power port, closer to it
 
             } else if (IntakeSource == AutonomousSwitch.IntakeSource.MIXED) {
                 description += "intakes 3 from trench + 2 from rendezvous.";
 
-                addSequential(new DriveStraight((pushRobot ? -110 + (1.5*robotLength): -110), 0.5, 8)); //back away from goal
+                follow(plan, AutonomousPaths.mixed(pushRobot), 0); //back away from goal
                 // addSequential(new Turn(180 - Math.toDegrees(Math.atan(66.91/(86.63-(robotLength/2)))), 0.3, 8)); //turn right towards trench
                 // addSequential(new DriveStraight(Math.sqrt(Math.pow(66.91, 2) + Math.pow(86.63 - (robotLength/2), 2)), 0.5, 8)); //go towards trench until aligned
                 // addSequential(new Turn(Math.toDegrees(Math.atan(66.91/(86.63-(robotLength/2)))), 0.3, 8)); //turn rest of right towards trench
@@ -124,8 +119,12 @@ public class AutonomousSwitch extends CommandGroup {
                 // addSequential(new DriveStraight(30, 0.4, 15));
 
             }
+
+            plan.addTo(this);
+            timeSaved = plan.getTimeSaved();
+            description += " Overlapping saves about " + Math.round(timeSaved*10.0)/10.0 + " s.";
         } else if (startingPosition == AutonomousSwitch.StartingPosition.RIGHT) {
-            description = "Starts on right, " + description;
+            positionDescription = "Starts on right, ";
 
             addSequential(new DriveStraight(10, 0.4, 8)); //just cross line
 
@@ -156,7 +155,7 @@ public class AutonomousSwitch extends CommandGroup {
 
             }
         } else if (startingPosition == AutonomousSwitch.StartingPosition.LEFT) {
-            description = "Starts on left, " + description;
+            positionDescription = "Starts on left, ";
 
             addSequential(new DriveStraight(10, 0.4, 8)); //just cross line
 
@@ -182,16 +181,50 @@ public class AutonomousSwitch extends CommandGroup {
     }
 
 
+    /**
+     * Adds a leg of a route to the plan. The first leg tells the odometry the robot is at the route's start.
+     * @return The plan.
+     */
+    private static AutonomousPlan follow(AutonomousPlan plan, Route route, int leg) {
+        Trajectory trajectory = route.getTrajectory(leg);
+        return plan.then(new FollowTrajectory(trajectory, leg == 0), trajectory.getTotalTimeSeconds());
+    }
+
+    /**
+     * @param Delay How long the robot should delay starting its autonomous, in seconds.
+     */
+    public void setDelay(double Delay) {
+        delay.setDelay(Delay);
+    }
+
+    /**
+     * @return Roughly how many seconds running mechanisms alongside the driving saves.
+     */
+    public double getTimeSaved() {
+        return timeSaved;
+    }
+
+    public double getDelay() {
+        return delay.getDelay();
+    }
+
+    /**
+     * @return What this autonomous does, for Shuffleboard.
+     */
+    public String getDescription() {
+        return positionDescription + "shoots after a delay of " + Math.round(getDelay()*100.0)/100.0 + ", " + description; //rounding!!!!!!!
+    }
+
     /**
      * @param StartingPosition
-     * @param Delay
      * @param PushRobot
      * @param IntakeSource
-     * @return Whether these inputs would create the same autonomous as currently exists (i.e. all settings match exactly).
+     * @return Whether these choices build this autonomous (the delay doesn't matter).
      */
-    public boolean matchesSettings(StartingPosition StartingPosition, double Delay, boolean PushRobot, IntakeSource IntakeSource) {
-        return (startingPosition == StartingPosition) && (delay == Delay) && (pushRobot == PushRobot) && (intakeSource == IntakeSource);
+    public boolean matchesSettings(StartingPosition StartingPosition, boolean PushRobot, IntakeSource IntakeSource) {
+        return (startingPosition == StartingPosition) && (pushRobot == PushRobot) && (intakeSource == IntakeSource);
     }
+
     /**
      * Checks if this is a valid choice.
      * @param StartingPosition
@@ -0,0 +1,104 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks every autonomous route against the field model without a robot. Run with <code>./gradlew
+ * validateAutonomous</code>. For each route it generates the trajectories and checks that the whole robot stays
+ * inside the field walls and that the intake passes over every cell the route says it collects, then prints how
+ * long and how far each leg goes so routes can be shortened. Exits with an error if any check fails.
+ */
+public class AutonomousValidator {
+
+    private static final double cellTolerance = 10; //inches either side of the intake's centre that still pick a cell up
+
+    public static void main(String... args) {
+        Set<Route> routes = new LinkedHashSet<>();
+        for (AutonomousSwitch.StartingPosition startingPosition : AutonomousSwitch.StartingPosition.values()) {
+            for (AutonomousSwitch.IntakeSource intakeSource : AutonomousSwitch.IntakeSource.values()) {
+                if (!AutonomousSwitch.doChoicesWork(startingPosition, intakeSource)) {
+                    continue;
+                }
+                for (boolean pushRobot : new boolean[] {false, true}) {
+                    Route route = AutonomousPaths.routeFor(startingPosition, pushRobot, intakeSource);
+                    if (route != null) {
+                        routes.add(route);
+                    }
+                }
+            }
+        }
+
+        int problems = 0;
+        for (Route route : routes) {
+            double routeTime = 0;
+            System.out.println(route.getName() + ":");
+            List<AutonomousPaths.Path> paths = route.getPaths();
+            for (int leg = 0; leg < paths.size(); leg++) {
+                Trajectory trajectory = paths.get(leg).generate();
+                routeTime += trajectory.getTotalTimeSeconds();
+                System.out.printf("  leg %d: %.2f s, %.0f in%n", leg, trajectory.getTotalTimeSeconds(),
+                    length(trajectory) / 0.0254);
+                problems += checkWalls(trajectory, leg);
+                problems += checkCells(trajectory, leg, route.getCells(leg));
+            }
+            System.out.printf("  total: %.2f s%n", routeTime);
+        }
+
+        if (problems > 0) {
+            System.err.println(problems + " problems found");
+            System.exit(1);
+        }
+        System.out.println("All " + routes.size() + " routes OK");
+    }
+
+    private static int checkWalls(Trajectory trajectory, int leg) {
+        for (Trajectory.State state : trajectory.getStates()) {
+            if (!Field.isInside(state.poseMeters)) {
+                System.out.printf("  leg %d leaves the field at %.2f s: x %.1f in, y %.1f in%n", leg, state.timeSeconds,
+                    state.poseMeters.getX() / 0.0254, state.poseMeters.getY() / 0.0254);
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int checkCells(Trajectory trajectory, int leg, List<Translation2d> cells) {
+        int problems = 0;
+        for (Translation2d cell : cells) {
+            double closest = Double.POSITIVE_INFINITY;
+            for (Trajectory.State state : trajectory.getStates()) {
+                closest = Math.min(closest, front(state.poseMeters).getDistance(cell));
+            }
+            if (closest / 0.0254 > cellTolerance) {
+                System.out.printf("  leg %d misses the cell at x %.1f in, y %.1f in by %.1f in%n", leg,
+                    cell.getX() / 0.0254, cell.getY() / 0.0254, closest / 0.0254);
+                problems++;
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * @return The middle of the robot's front, where the intake is.
+     */
+    private static Translation2d front(Pose2d pose) {
+        double halfLength = Field.robotLength / 2 * 0.0254;
+        return new Translation2d(pose.getX() + halfLength * pose.getRotation().getCos(),
+            pose.getY() + halfLength * pose.getRotation().getSin());
+    }
+
+    private static double length(Trajectory trajectory) {
+        double length = 0;
+        List<Trajectory.State> states = trajectory.getStates();
+        for (int i = 1; i < states.size(); i++) {
+            length += states.get(i).poseMeters.getTranslation().getDistance(states.get(i - 1).poseMeters.getTranslation());
+        }
+        return length;
+    }
+}
@@ -0,0 +1,126 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+
+/**
+ * The 2020 field elements autonomous uses, in field coordinates, so routines are written as where the robot should
+ * be rather than as distances and angles worked out by hand.
+ *
+ * <p>Field coordinates are in inches and degrees from the wall under our power port: x out from the wall, y to the
+ * left looking out (towards our trench), angles counterclockwise with 0 facing away from the port. The origin is on
+ * the wall directly below the port. Poses are converted to metres for WPILib when they're made.</p>
+ */
+public final class Field {
+
+    //the field
+    public static final double length = 629.25;
+    public static final double width = 323.25;
+    public static final double trenchWallY = 94.66; //the side wall by our trench
+    public static final double farWallY = trenchWallY - width;
+
+    //the robot, with bumpers
+    public static final double robotLength = 38.75;
+    public static final double robotWidth = 33.5;
+
+    //the power port and initiation line
+    public static final Translation2d powerPort = point(0, 0);
+    public static final double initiationLineX = 120;
+
+    //our trench run: the cells are in a line down its middle
+    public static final double trenchCellsY = 66.91;
+    public static final double trenchCellsNearX = 222.0; //where the intake first reaches the cells
+    public static final double trenchCellsFarX = 339.0; //where it's past the first three
+    public static final double trenchWidth = 55.5;
+
+    //rendezvous point cells, along the generator's 22.5 degree tilt
+    public static final Translation2d rendezvousPairStart = point(231.8, -117.2); //the intake reaches the first pair
+    public static final Translation2d rendezvousPairEnd = point(275.5, -122.5); //past the first pair
+    public static final Translation2d rendezvousSwing = point(271.1, 3.4); //where the robot's centre swings round to the rest
+    public static final Translation2d rendezvousLastCells = point(320.2, -2.5); //past the last cells
+
+    /**
+     * Where the robot starts in the center, backed up to the initiation line facing the port.
+     */
+    public static final Pose2d centerStart = pose(initiationLineX - robotLength / 2, 0, 180);
+
+    private Field() {}
+
+    /**
+     * @param x Inches from the port wall.
+     * @param y Inches to the left of the port.
+     * @param degrees Counterclockwise from facing away from the port.
+     * @return The pose in metres, for WPILib.
+     */
+    public static Pose2d pose(double x, double y, double degrees) {
+        return new Pose2d(x * 0.0254, y * 0.0254, Rotation2d.fromDegrees(degrees));
+    }
+
+    /**
+     * @param x Inches from the port wall.
+     * @param y Inches to the left of the port.
+     * @return The point in metres, for WPILib.
+     */
+    public static Translation2d point(double x, double y) {
+        return new Translation2d(x * 0.0254, y * 0.0254);
+    }
+
+    /**
+     * @param frontX Where the robot's front should be, in inches from the port wall.
+     * @param y Where its front should be, in inches to the left of the port.
+     * @param degrees Which way it faces.
+     * @return Where the robot's centre is for its front to be there, in metres.
+     */
+    public static Pose2d frontAt(double frontX, double y, double degrees) {
+        double halfLength = robotLength / 2;
+        return pose(frontX - halfLength * Math.cos(Math.toRadians(degrees)),
+            y - halfLength * Math.sin(Math.toRadians(degrees)), degrees);
+    }
+
+    /**
+     * @param front Where the intake, at the robot's front, should be (metres).
+     * @param degrees Which way the robot faces.
+     * @return Where the robot's centre is for its front to be there, in metres.
+     */
+    public static Pose2d frontAt(Translation2d front, double degrees) {
+        return frontAt(front.getX() / 0.0254, front.getY() / 0.0254, degrees);
+    }
+
+    /**
+     * @param pose A robot pose in metres.
+     * @return Whether the whole robot is on the field, inside the walls.
+     */
+    public static boolean isInside(Pose2d pose) {
+        for (Translation2d corner : corners(pose)) {
+            double x = corner.getX() / 0.0254;
+            double y = corner.getY() / 0.0254;
+            if (x < 0 || x > length || y < farWallY || y > trenchWallY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param pose A robot pose in metres.
+     * @return The four corners of its bumpers, in metres.
+     */
+    public static Translation2d[] corners(Pose2d pose) {
+        double cos = pose.getRotation().getCos();
+        double sin = pose.getRotation().getSin();
+        double halfLength = robotLength / 2 * 0.0254;
+        double halfWidth = robotWidth / 2 * 0.0254;
+        Translation2d[] corners = new Translation2d[4];
+        int i = 0;
+        for (int lengthSign = -1; lengthSign <= 1; lengthSign += 2) {
+            for (int widthSign = -1; widthSign <= 1; widthSign += 2) {
+                double along = lengthSign * halfLength;
+                double across = widthSign * halfWidth;
+                corners[i++] = new Translation2d(pose.getX() + along * cos - across * sin,
+                    pose.getY() + along * sin + across * cos);
+            }
+        }
+        return corners;
+    }
+}
@@ -0,0 +1,157 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An autonomous drive written as the field poses the robot goes through, which compiles itself into paths.
+ * Each leg drives from where the last one ended to a new pose, backwards, forwards or forwards at intake speed.
+ * The speed where two legs meet is worked out from the legs: the robot stops where it changes direction and at the
+ * end, goes through at intake speed where either leg is intaking, and carries on at a cruising speed otherwise.
+ */
+public class Route {
+
+    private enum Kind {BACK, DRIVE, INTAKE}
+
+    private final String name;
+    private final Pose2d start;
+    private final List<Pose2d> ends = new ArrayList<>();
+    private final List<List<Translation2d>> throughs = new ArrayList<>();
+    private final List<Kind> kinds = new ArrayList<>();
+    private final List<List<Translation2d>> cells = new ArrayList<>();
+    private List<AutonomousPaths.Path> paths;
+
+    /**
+     * @param Name What the route's paths are called in the trajectory cache, so it must be unique.
+     * @param Start Where the robot is when the route starts, in field coordinates.
+     */
+    public Route(String Name, Pose2d Start) {
+        name = Name;
+        start = Start;
+    }
+
+    /**
+     * Backs up to a pose.
+     * @param pose Where the robot ends up, in field coordinates.
+     * @param through Points the robot's centre goes through on the way.
+     * @return This route.
+     */
+    public Route backTo(Pose2d pose, Translation2d... through) {
+        return add(Kind.BACK, pose, through);
+    }
+
+    /**
+     * Drives forwards to a pose.
+     * @param pose Where the robot ends up, in field coordinates.
+     * @param through Points the robot's centre goes through on the way.
+     * @return This route.
+     */
+    public Route driveTo(Pose2d pose, Translation2d... through) {
+        return add(Kind.DRIVE, pose, through);
+    }
+
+    /**
+     * Drives forwards to a pose at intake speed.
+     * @param pose Where the robot ends up, in field coordinates.
+     * @param through Points the robot's centre goes through on the way.
+     * @return This route.
+     */
+    public Route intakeTo(Pose2d pose, Translation2d... through) {
+        return add(Kind.INTAKE, pose, through);
+    }
+
+    /**
+     * Says which cells the last leg picks up, so the route can be checked offline.
+     * @param points Where the cells are; the robot's front must pass over each.
+     * @return This route.
+     */
+    public Route collecting(Translation2d... points) {
+        cells.get(cells.size() - 1).addAll(Arrays.asList(points));
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Pose2d getStart() {
+        return start;
+    }
+
+    public int getLegCount() {
+        return kinds.size();
+    }
+
+    /**
+     * @param leg Which leg, from 0.
+     * @return The cells the leg should pick up.
+     */
+    public List<Translation2d> getCells(int leg) {
+        return Collections.unmodifiableList(cells.get(leg));
+    }
+
+    /**
+     * @param leg Which leg, from 0.
+     * @return The leg's trajectory, from the trajectory cache.
+     */
+    public Trajectory getTrajectory(int leg) {
+        return TrajectoryCache.get(getPaths().get(leg));
+    }
+
+    /**
+     * @return The paths the legs compile to, in order.
+     */
+    public synchronized List<AutonomousPaths.Path> getPaths() {
+        if (paths == null) {
+            List<AutonomousPaths.Path> compiled = new ArrayList<>();
+            Pose2d from = start;
+            for (int i = 0; i < kinds.size(); i++) {
+                AutonomousPaths.Path path = new AutonomousPaths.Path(name + "." + i, from, ends.get(i));
+                for (Translation2d point : throughs.get(i)) {
+                    path.through(point);
+                }
+                if (kinds.get(i) == Kind.BACK) {
+                    path.reversed();
+                } else if (kinds.get(i) == Kind.INTAKE) {
+                    path.intaking();
+                }
+                compiled.add(path.startingAt(jointSpeed(i - 1)).endingAt(jointSpeed(i)));
+                from = ends.get(i);
+            }
+            paths = Collections.unmodifiableList(compiled);
+        }
+        return paths;
+    }
+
+    private Route add(Kind kind, Pose2d pose, Translation2d[] through) {
+        kinds.add(kind);
+        ends.add(pose);
+        throughs.add(Arrays.asList(through));
+        cells.add(new ArrayList<>());
+        return this;
+    }
+
+    /**
+     * @return How fast the robot goes from a leg into the next, in metres per second.
+     */
+    private double jointSpeed(int leg) {
+        if (leg < 0 || leg + 1 >= kinds.size()) {
+            return 0;
+        }
+        Kind before = kinds.get(leg);
+        Kind after = kinds.get(leg + 1);
+        if ((before == Kind.BACK) != (after == Kind.BACK)) {
+            return 0;
+        }
+        if (before == Kind.INTAKE || after == Kind.INTAKE) {
+            return AutonomousPaths.intakeSpeed;
+        }
+        return AutonomousPaths.cruiseSpeed;
+    }
+}
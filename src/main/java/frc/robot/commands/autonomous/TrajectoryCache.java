@@ -0,0 +1,219 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import frc.robot.telemetry.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Autonomous trajectories generated at build time by <code>./gradlew generateTrajectories</code>, which runs before
+ * every deploy, so the roboRIO doesn't spend tens of milliseconds per path on splines when autonomous is chosen.
+ *
+ * <p>The cache file is memory-mapped and each trajectory is only decoded the first time it's asked for. The file
+ * carries a checksum of every path's definition and the limits they're generated with; if that doesn't match the
+ * code on the robot the cache is stale and paths are generated on the robot instead, as they are if the file is
+ * missing or a trajectory's own checksum is wrong.</p>
+ *
+ * <p>Layout, big-endian: magic, format version, definitions checksum (long), trajectory count, then for each
+ * trajectory its name (length-prefixed UTF-8), offset, state count and checksum (int), then the states as floats:
+ * time, velocity, acceleration, x, y, heading, curvature.</p>
+ */
+public class TrajectoryCache {
+
+    public static final String fileName = "trajectories.bin";
+
+    static final int magic = 0x54524a43; //"TRJC"
+    static final int version = 1;
+    static final int floatsPerState = 7;
+
+    private static final int staleMessage = Logger.register(Logger.Level.WARNING,
+        "Trajectory cache is stale or missing, generating {} paths on the robot instead");
+    private static final int corruptMessage = Logger.register(Logger.Level.WARNING,
+        "Cached trajectory {} failed its checksum, generating it on the robot instead");
+    private static final int generatedMessage = Logger.register(Logger.Level.INFO,
+        "Generated a trajectory on the robot in {} ms");
+
+    private static final Map<String, Entry> entries = new HashMap<>();
+    private static final Map<String, Trajectory> decoded = new HashMap<>();
+    private static ByteBuffer buffer;
+    private static boolean loaded = false;
+
+    private static class Entry {
+        final int index;
+        final int offset;
+        final int stateCount;
+        final int checksum;
+
+        Entry(int Index, int Offset, int StateCount, int Checksum) {
+            index = Index;
+            offset = Offset;
+            stateCount = StateCount;
+            checksum = Checksum;
+        }
+    }
+
+    /**
+     * Maps the cache file in the deploy directory. Called by the first <code>get</code> if not before; call it in
+     * <code>robotInit</code> so a stale cache is reported at startup.
+     */
+    public static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        File file = new File(Filesystem.getDeployDirectory(), fileName);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (readIndex(mapped)) {
+                buffer = mapped;
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            //treated the same as a stale cache
+        }
+        entries.clear();
+        Logger.log(staleMessage, allPaths().size());
+    }
+
+    /**
+     * @param path The path.
+     * @return Its trajectory, from the cache if it's there and up to date, otherwise generated now.
+     */
+    public static synchronized Trajectory get(AutonomousPaths.Path path) {
+        load();
+        Trajectory trajectory = decoded.get(path.name);
+        if (trajectory != null) {
+            return trajectory;
+        }
+        Entry entry = entries.get(path.name);
+        if (entry != null) {
+            trajectory = decode(entry);
+            if (trajectory == null) {
+                Logger.log(corruptMessage, entry.index);
+            }
+        }
+        if (trajectory == null) {
+            long start = System.nanoTime();
+            trajectory = path.generate();
+            Logger.log(generatedMessage, (System.nanoTime() - start) / 1e6);
+        }
+        decoded.put(path.name, trajectory);
+        return trajectory;
+    }
+
+    /**
+     * @return Every path any valid autonomous follows, each once.
+     */
+    static List<AutonomousPaths.Path> allPaths() {
+        Set<AutonomousPaths.Path> paths = new LinkedHashSet<>();
+        for (AutonomousSwitch.StartingPosition startingPosition : AutonomousSwitch.StartingPosition.values()) {
+            for (AutonomousSwitch.IntakeSource intakeSource : AutonomousSwitch.IntakeSource.values()) {
+                if (!AutonomousSwitch.doChoicesWork(startingPosition, intakeSource)) {
+                    continue;
+                }
+                for (boolean pushRobot : new boolean[] {false, true}) {
+                    Route route = AutonomousPaths.routeFor(startingPosition, pushRobot, intakeSource);
+                    if (route != null) {
+                        paths.addAll(route.getPaths());
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(paths);
+    }
+
+    /**
+     * @return A checksum of every path's definition and the limits they're all generated with.
+     */
+    static long definitionsChecksum(List<AutonomousPaths.Path> paths) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(version);
+            AutonomousPaths.describeLimits(out);
+            for (AutonomousPaths.Path path : paths) {
+                path.describe(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        return crc.getValue();
+    }
+
+    /**
+     * @return The checksum of a trajectory's states, which are <code>stateCount</code> floats each from
+     * <code>offset</code>.
+     */
+    static int statesChecksum(ByteBuffer buffer, int offset, int stateCount) {
+        ByteBuffer states = buffer.duplicate();
+        states.position(offset).limit(offset + stateCount * floatsPerState * Float.BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(states);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads the header and index.
+     * @return Whether the cache matches the paths in this code.
+     */
+    private static boolean readIndex(ByteBuffer mapped) {
+        mapped.order(ByteOrder.BIG_ENDIAN);
+        if (mapped.getInt() != magic || mapped.getInt() != version
+                || mapped.getLong() != definitionsChecksum(allPaths())) {
+            return false;
+        }
+        int count = mapped.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[mapped.getShort()];
+            mapped.get(name);
+            entries.put(new String(name, StandardCharsets.UTF_8),
+                new Entry(i, mapped.getInt(), mapped.getInt(), mapped.getInt()));
+        }
+        return true;
+    }
+
+    /**
+     * @return The trajectory, or null if its states don't match their checksum.
+     */
+    private static Trajectory decode(Entry entry) {
+        if (entry.offset + (long) entry.stateCount * floatsPerState * Float.BYTES > buffer.capacity()
+                || statesChecksum(buffer, entry.offset, entry.stateCount) != entry.checksum) {
+            return null;
+        }
+        ByteBuffer states = buffer.duplicate();
+        states.position(entry.offset);
+        List<Trajectory.State> list = new ArrayList<>(entry.stateCount);
+        for (int i = 0; i < entry.stateCount; i++) {
+            double time = states.getFloat();
+            double velocity = states.getFloat();
+            double acceleration = states.getFloat();
+            double x = states.getFloat();
+            double y = states.getFloat();
+            double heading = states.getFloat();
+            double curvature = states.getFloat();
+            list.add(new Trajectory.State(time, velocity, acceleration,
+                new Pose2d(x, y, new Rotation2d(heading)), curvature));
+        }
+        return new Trajectory(list);
+    }
+}
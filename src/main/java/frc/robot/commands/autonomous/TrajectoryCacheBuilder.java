@@ -0,0 +1,71 @@
+package frc.robot.commands.autonomous;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates every autonomous trajectory into the cache file the robot loads. Run with <code>./gradlew
+ * generateTrajectories</code>, which deploying does for you; the file is written into <code>src/main/deploy</code>.
+ */
+public class TrajectoryCacheBuilder {
+
+    public static void main(String... args) throws IOException {
+        Path output = (args.length > 0 && !args[0].isEmpty()) ? Paths.get(args[0])
+            : Paths.get("src", "main", "deploy", TrajectoryCache.fileName);
+
+        List<AutonomousPaths.Path> paths = TrajectoryCache.allPaths();
+        List<byte[]> names = new ArrayList<>();
+        List<Trajectory> trajectories = new ArrayList<>();
+        int headerSize = 4 + 4 + 8 + 4;
+        int statesSize = 0;
+        for (AutonomousPaths.Path path : paths) {
+            Trajectory trajectory = path.generate();
+            byte[] name = path.name.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            trajectories.add(trajectory);
+            headerSize += 2 + name.length + 4 + 4 + 4;
+            statesSize += trajectory.getStates().size() * TrajectoryCache.floatsPerState * Float.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(headerSize + statesSize).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(TrajectoryCache.magic);
+        buffer.putInt(TrajectoryCache.version);
+        buffer.putLong(TrajectoryCache.definitionsChecksum(paths));
+        buffer.putInt(paths.size());
+        int offset = headerSize;
+        for (int i = 0; i < paths.size(); i++) {
+            List<Trajectory.State> states = trajectories.get(i).getStates();
+            int indexPosition = buffer.position();
+            buffer.position(offset);
+            for (Trajectory.State state : states) {
+                buffer.putFloat((float) state.timeSeconds);
+                buffer.putFloat((float) state.velocityMetersPerSecond);
+                buffer.putFloat((float) state.accelerationMetersPerSecondSq);
+                buffer.putFloat((float) state.poseMeters.getX());
+                buffer.putFloat((float) state.poseMeters.getY());
+                buffer.putFloat((float) state.poseMeters.getRotation().getRadians());
+                buffer.putFloat((float) state.curvatureRadPerMeter);
+            }
+            buffer.position(indexPosition);
+            buffer.putShort((short) names.get(i).length);
+            buffer.put(names.get(i));
+            buffer.putInt(offset);
+            buffer.putInt(states.size());
+            buffer.putInt(TrajectoryCache.statesChecksum(buffer, offset, states.size()));
+            offset += states.size() * TrajectoryCache.floatsPerState * Float.BYTES;
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, buffer.array());
+        System.out.println("Wrote " + paths.size() + " trajectories (" + buffer.capacity() + " bytes) to " + output);
+    }
+}
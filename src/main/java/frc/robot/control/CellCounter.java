@@ -0,0 +1,107 @@
+package frc.robot.control;
+
+/**
+ * Counts power cells going in and out of the intake from the beam break's edges. Has no hardware of its own,
+ * so the same logic runs on the robot and in log replay.
+ *
+ * <p>Works from every edge rather than the beam's state once a loop, so cells close together are all counted,
+ * and times how long each cell sits in the beam to help spot jams.</p>
+ */
+public class CellCounter {
+
+    /**
+     * Which way the operator is running the intake.
+     */
+    public enum IntakeDirection {IN, OUT, OFF}
+
+    private static final double helixFeedTime = 0.72; //seconds the helix keeps turning after a cell clears the intake
+    private static final double jamTime = 1.0; //seconds in the beam before a cell is probably stuck
+
+    private boolean broken = false;
+    private double brokenTime = 0;
+    private boolean in = false;
+    private double inTime = 0;
+
+    private double lastDwellTime = 0;
+    private double maxDwellTime = 0;
+
+    /**
+     * Counts one edge of the beam break. Call for every edge, oldest first.
+     * @param isBroken Whether the edge broke the beam (a cell arrived) rather than cleared it (a cell left).
+     * @param time When the edge happened in seconds.
+     * @param autonomous Whether the robot is in autonomous, where every cell that arrives is counted in.
+     * @param direction Which way the operator is running the intake, the same as the intake motors. Ignored in
+     *                  autonomous.
+     * @return The change in cell count (-1, 0 or 1).
+     */
+    public int countEdge(boolean isBroken, double time, boolean autonomous, IntakeDirection direction) {
+        if (isBroken == broken) {
+            return 0; //missed the other edge, so this one's already been counted
+        }
+        broken = isBroken;
+
+        if (isBroken) {
+            brokenTime = time;
+            if (autonomous) {
+                return 1;
+            }
+            if (direction == IntakeDirection.IN) {
+                in = true;
+                return 1;
+            }
+            return 0;
+        }
+
+        lastDwellTime = time - brokenTime;
+        maxDwellTime = Math.max(maxDwellTime, lastDwellTime);
+        if (autonomous) {
+            return 0;
+        }
+        if (in) {
+            inTime = time; //wait for intake->helix sequence
+        }
+        if (direction == IntakeDirection.OUT) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Stops feeding the helix once the last cell has had time to get into it. Call once a loop, after the edges.
+     * @param now The current time in seconds.
+     */
+    public void update(double now) {
+        if (in && !broken && now - inTime >= helixFeedTime) {
+            in = false;
+        }
+    }
+
+    /**
+     * @return Whether a cell just came through the intake and the helix should pull it in.
+     */
+    public boolean isFeeding() {
+        return in;
+    }
+
+    /**
+     * @param now The current time in seconds.
+     * @return Whether a cell has been in the beam for long enough that it's probably stuck.
+     */
+    public boolean isJammed(double now) {
+        return broken && now - brokenTime >= jamTime;
+    }
+
+    /**
+     * @return Seconds the last cell to leave the beam spent in it.
+     */
+    public double getLastDwellTime() {
+        return lastDwellTime;
+    }
+
+    /**
+     * @return The longest any cell has spent in the beam, in seconds.
+     */
+    public double getMaxDwellTime() {
+        return maxDwellTime;
+    }
+}
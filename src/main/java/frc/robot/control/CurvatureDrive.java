@@ -0,0 +1,99 @@
+package frc.robot.control;
+
+/**
+ * WPILib's <code>DifferentialDrive.curvatureDrive</code> math, copied so the drive base and replays can use it
+ * without the HAL. Keeps the quick stop state between calls like the real one does.
+ */
+public class CurvatureDrive {
+
+    private static final double deadband = 0.02;
+    private static final double quickStopThreshold = 0.2;
+    private static final double quickStopAlpha = 0.1;
+
+    private double quickStopAccumulator = 0;
+    private double leftOutput = 0;
+    private double rightOutput = 0;
+
+    /**
+     * Works out the motor outputs, the same way <code>DifferentialDrive</code> does.
+     * @param xSpeed The speed along the X axis (-1 to 1).
+     * @param zRotation The rotation rate (-1 to 1).
+     * @param isQuickTurn Whether to turn in place.
+     */
+    public void calculate(double xSpeed, double zRotation, boolean isQuickTurn) {
+        xSpeed = applyDeadband(clamp(xSpeed), deadband);
+        zRotation = applyDeadband(clamp(zRotation), deadband);
+
+        double angularPower;
+        boolean overPower;
+        if (isQuickTurn) {
+            if (Math.abs(xSpeed) < quickStopThreshold) {
+                quickStopAccumulator = (1 - quickStopAlpha) * quickStopAccumulator + quickStopAlpha * clamp(zRotation) * 2;
+            }
+            overPower = true;
+            angularPower = zRotation;
+        } else {
+            overPower = false;
+            angularPower = Math.abs(xSpeed) * zRotation - quickStopAccumulator;
+            if (quickStopAccumulator > 1) {
+                quickStopAccumulator -= 1;
+            } else if (quickStopAccumulator < -1) {
+                quickStopAccumulator += 1;
+            } else {
+                quickStopAccumulator = 0.0;
+            }
+        }
+
+        double left = xSpeed + angularPower;
+        double right = xSpeed - angularPower;
+
+        if (overPower) {
+            if (left > 1.0) {
+                right -= left - 1.0;
+                left = 1.0;
+            } else if (right > 1.0) {
+                left -= right - 1.0;
+                right = 1.0;
+            } else if (left < -1.0) {
+                right -= left + 1.0;
+                left = -1.0;
+            } else if (right < -1.0) {
+                left -= right + 1.0;
+                right = -1.0;
+            }
+        }
+
+        double maxMagnitude = Math.max(Math.abs(left), Math.abs(right));
+        if (maxMagnitude > 1.0) {
+            left /= maxMagnitude;
+            right /= maxMagnitude;
+        }
+
+        leftOutput = left;
+        rightOutput = -right; //DifferentialDrive inverts the right side
+    }
+
+    public double getLeftOutput() {
+        return leftOutput;
+    }
+
+    public double getRightOutput() {
+        return rightOutput;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(-1.0, Math.min(1.0, value));
+    }
+
+    private static double applyDeadband(double value, double deadband) {
+        if (Math.abs(value) > deadband) {
+            if (value > 0.0) {
+                return (value - deadband) / (1.0 - deadband);
+            } else {
+                return (value + deadband) / (1.0 - deadband);
+            }
+        } else {
+            return 0.0;
+        }
+    }
+}
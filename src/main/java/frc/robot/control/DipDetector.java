@@ -0,0 +1,64 @@
+package frc.robot.control;
+
+/**
+ * Spots power cells going through the flywheel from the dip in its velocity, or the jump in motor current as the
+ * velocity loop fights back, whichever comes first. Meant to be sampled much faster than the main loop.
+ *
+ * <p>Has hysteresis: once a shot is seen it won't see another until the wheel is back near its setpoint. Changing the
+ * setpoint disarms it the same way, so that spinning up to a faster speed isn't mistaken for a shot. A dip while
+ * nothing is feeding cells into the wheel isn't a shot either, but still disarms it until the wheel recovers.</p>
+ */
+public class DipDetector {
+
+    private static final double armBand = 0.01; //fraction of the setpoint the wheel must be within to arm
+    private static final double dipBand = 0.025; //fraction of the setpoint the wheel must drop by to count a shot
+    private static final double currentJump = 15; //amps over the settled current that count a shot
+    private static final double currentSmoothing = 0.05; //how fast the settled current follows the measured current
+
+    private boolean armed = false;
+    private double lastSetpoint = 0;
+    private double settledCurrent = 0;
+    private double lastShotTime = -1;
+
+    /**
+     * @param setpoint The velocity the flywheel is meant to be at in RPM, 0 if it's off.
+     * @param velocity The flywheel's velocity in RPM.
+     * @param current The flywheel motor's output current in amps, 0 if it isn't known.
+     * @param feeding Whether cells are being fed into the flywheel to be shot.
+     * @param now The current time in seconds.
+     * @return Whether a shot was just detected.
+     */
+    public boolean update(double setpoint, double velocity, double current, boolean feeding, double now) {
+        if (setpoint <= 0 || setpoint != lastSetpoint) {
+            armed = false;
+            lastSetpoint = setpoint;
+            return false;
+        }
+        double error = setpoint - velocity;
+        if (!armed) {
+            if (error <= setpoint * armBand) {
+                armed = true;
+                settledCurrent = current;
+            }
+            return false;
+        }
+
+        if (error >= setpoint * dipBand || (current > 0 && current - settledCurrent >= currentJump)) {
+            armed = false;
+            if (!feeding) {
+                return false; //e.g. a knock to the wheel while it's spun up early
+            }
+            lastShotTime = now;
+            return true;
+        }
+        settledCurrent += (current - settledCurrent) * currentSmoothing;
+        return false;
+    }
+
+    /**
+     * @return When the last shot was detected in seconds, -1 if there hasn't been one.
+     */
+    public double getLastShotTime() {
+        return lastShotTime;
+    }
+}
@@ -0,0 +1,71 @@
+package frc.robot.control;
+
+/**
+ * Drives in a straight line at a constant output, correcting for drift with the gyro.
+ */
+public class DriveStraightController {
+
+    private final double ticks;
+    private final boolean forward;
+    private final double speed;
+
+    private double leftOutput = 0;
+    private double rightOutput = 0;
+
+    /**
+     * @param Ticks Distance to travel in encoder ticks (positive).
+     * @param Forward Whether to drive forwards.
+     * @param Speed Speed at which the bot travels (0 to 1).
+     */
+    public DriveStraightController(double Ticks, boolean Forward, double Speed) {
+        ticks = Ticks;
+        forward = Forward;
+        speed = Speed;
+    }
+
+    /**
+     * Works out the motor outputs.
+     * @param gyroAngle The gyro angle since the drive started, in degrees.
+     */
+    public void calculate(double gyroAngle) {
+        double correction = gyroAngle;
+        correction *= 0.05;
+        correction += 1.0;
+        if (forward) {
+            leftOutput = -speed;
+            rightOutput = -speed * correction;
+        } else {
+            leftOutput = speed * correction;
+            rightOutput = speed;
+        }
+    }
+
+    /**
+     * @param leftPosition Left encoder ticks since the drive started.
+     * @param rightPosition Right encoder ticks since the drive started.
+     * @return Whether either side has gone the distance.
+     */
+    public boolean isFinished(int leftPosition, int rightPosition) {
+        return (Math.abs(leftPosition) > ticks) || (Math.abs(rightPosition) > ticks);
+    }
+
+    public double getLeftOutput() {
+        return leftOutput;
+    }
+
+    public double getRightOutput() {
+        return rightOutput;
+    }
+
+    public double getTicks() {
+        return ticks;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public boolean isForward() {
+        return forward;
+    }
+}
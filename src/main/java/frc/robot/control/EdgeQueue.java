@@ -0,0 +1,76 @@
+package frc.robot.control;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size, lock free queue of timestamped edges from a digital sensor. One thread (e.g. an interrupt handler)
+ * offers edges and one other thread drains them, without either ever blocking or allocating.
+ *
+ * <p>If the queue fills up because nobody drained it, new edges are dropped and counted rather than overwriting
+ * ones that haven't been read yet.</p>
+ */
+public class EdgeQueue {
+
+    private final double[] times;
+    private final boolean[] states;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong(); //next slot to drain, only moved by the consumer
+    private final AtomicLong tail = new AtomicLong(); //next slot to fill, only moved by the producer
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    /**
+     * @param Capacity The most edges held at once. Rounded up to a power of two.
+     */
+    public EdgeQueue(int Capacity) {
+        int capacity = Integer.highestOneBit(Math.max(Capacity - 1, 1)) << 1;
+        times = new double[capacity];
+        states = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds an edge. Only call from the producing thread.
+     * @param time When the edge happened in seconds.
+     * @param state The sensor's state after the edge.
+     * @return Whether there was room for it.
+     */
+    public boolean offer(double time, boolean state) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int slot = (int) (t & mask);
+        times[slot] = time;
+        states[slot] = state;
+        tail.lazySet(t + 1); //publishes the slot to the consumer
+        return true;
+    }
+
+    /**
+     * Takes edges off the queue, oldest first. Only call from the consuming thread.
+     * @param Times Where to put when each edge happened.
+     * @param States Where to put the sensor's state after each edge.
+     * @return How many edges were taken, at most the length of the arrays.
+     */
+    public int drain(double[] Times, boolean[] States) {
+        long h = head.get();
+        int count = (int) Math.min(tail.get() - h, Math.min(Times.length, States.length));
+        for (int i = 0; i < count; i++) {
+            int slot = (int) ((h + i) & mask);
+            Times[i] = times[slot];
+            States[i] = states[slot];
+        }
+        head.lazySet(h + count); //frees the slots for the producer
+        return count;
+    }
+
+    /**
+     * @return How many edges have been dropped because the queue was full.
+     */
+    public int getDropped() {
+        return dropped.get();
+    }
+}
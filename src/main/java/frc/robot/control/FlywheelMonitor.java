@@ -0,0 +1,103 @@
+package frc.robot.control;
+
+/**
+ * Times how long the flywheel takes to get up to speed, and how long it takes to recover after each shot drags it
+ * down, so volleys can be sped up.
+ */
+public class FlywheelMonitor {
+
+    /**
+     * What happened to the flywheel in an update.
+     */
+    public enum Event {NONE, UP_TO_SPEED, RECOVERED}
+
+    private static final double tolerance = 0.02; //fraction of the setpoint that counts as at speed
+    private static final double minTolerance = 50; //RPM
+
+    private double setpoint = 0;
+    private boolean atSpeed = false;
+    private double changeTime = 0; //when the setpoint changed or the wheel last dropped out of tolerance
+    private boolean recovering = false;
+
+    private double spinUpTime = 0;
+    private double lastRecoveryTime = 0;
+    private double totalRecoveryTime = 0;
+    private int recoveryCount = 0;
+
+    /**
+     * @param Setpoint The velocity the flywheel is meant to be at in RPM, 0 if it's off.
+     * @param velocity The flywheel's velocity in RPM.
+     * @param now The current time in seconds.
+     * @return Whether the flywheel just got up to speed or recovered from a shot.
+     */
+    public Event update(double Setpoint, double velocity, double now) {
+        double band = Math.max(Math.abs(Setpoint) * tolerance, minTolerance);
+        if (Math.abs(Setpoint - setpoint) > band) {
+            //new setpoint, so time spinning up to it
+            setpoint = Setpoint;
+            atSpeed = false;
+            recovering = false;
+            changeTime = now;
+        }
+        setpoint = Setpoint;
+        if (setpoint == 0) {
+            atSpeed = false;
+            return Event.NONE;
+        }
+
+        boolean inBand = Math.abs(setpoint - velocity) <= band;
+        if (!atSpeed && inBand) {
+            atSpeed = true;
+            if (recovering) {
+                recovering = false;
+                lastRecoveryTime = now - changeTime;
+                totalRecoveryTime += lastRecoveryTime;
+                recoveryCount++;
+                return Event.RECOVERED;
+            }
+            spinUpTime = now - changeTime;
+            return Event.UP_TO_SPEED;
+        } else if (atSpeed && !inBand) {
+            //dragged down, most likely by a shot
+            atSpeed = false;
+            recovering = true;
+            changeTime = now;
+        }
+        return Event.NONE;
+    }
+
+    /**
+     * @return Whether the flywheel is within tolerance of its setpoint.
+     */
+    public boolean isAtSpeed() {
+        return atSpeed;
+    }
+
+    /**
+     * @return Seconds the flywheel last took to get up to a new setpoint.
+     */
+    public double getSpinUpTime() {
+        return spinUpTime;
+    }
+
+    /**
+     * @return Seconds the flywheel took to recover from the last shot.
+     */
+    public double getLastRecoveryTime() {
+        return lastRecoveryTime;
+    }
+
+    /**
+     * @return The average seconds the flywheel has taken to recover from a shot, 0 if it hasn't had to yet.
+     */
+    public double getAverageRecoveryTime() {
+        return (recoveryCount > 0) ? totalRecoveryTime / recoveryCount : 0;
+    }
+
+    /**
+     * @return How many times the flywheel has recovered from a shot.
+     */
+    public int getRecoveryCount() {
+        return recoveryCount;
+    }
+}
@@ -0,0 +1,46 @@
+package frc.robot.control;
+
+/**
+ * A threshold with hysteresis: turns on once a value passes one threshold and off once it comes back past another,
+ * so it doesn't flicker on and off when the value rests near a single threshold. Has no hardware of its own, so the
+ * same logic runs on the robot and in log replay.
+ *
+ * <p>If the on threshold is below the off threshold, it turns on by the value going down past it instead.</p>
+ */
+public class Hysteresis {
+
+    private final double onAt;
+    private final double offAt;
+    private final boolean upwards;
+    private boolean on = false;
+
+    /**
+     * @param OnAt How far the value must go to turn on.
+     * @param OffAt How far back it must come to turn off.
+     */
+    public Hysteresis(double OnAt, double OffAt) {
+        onAt = OnAt;
+        offAt = OffAt;
+        upwards = OnAt >= OffAt;
+    }
+
+    /**
+     * @param value The latest value.
+     * @return Whether it's now on.
+     */
+    public boolean update(double value) {
+        if (upwards) {
+            on = on ? value > offAt : value >= onAt;
+        } else {
+            on = on ? value < offAt : value <= onAt;
+        }
+        return on;
+    }
+
+    /**
+     * @return Whether it was on as of the last <code>update</code>.
+     */
+    public boolean isOn() {
+        return on;
+    }
+}
@@ -0,0 +1,89 @@
+package frc.robot.control;
+
+/**
+ * Drives in a straight line on the Talons' Motion Magic. The Talons follow the distance profile themselves, and
+ * this holds the heading with a PD loop on the gyro, pushing one side ahead of the other. It's finished once both
+ * sides have settled on the target, rather than as soon as one passes it.
+ */
+public class MotionMagicDriveController {
+
+    private static final double headingP = 0.015; //output per degree off
+    private static final double headingD = 0.001; //output per degree per second
+    private static final double tolerance = 80; //ticks either side of the target that count as there
+    private static final double settleVelocity = 100; //ticks per second below which a side counts as stopped
+    private static final double settleTime = 0.1; //seconds both sides must stay settled
+
+    private final double target;
+
+    private double correction = 0;
+    private double lastAngle = 0;
+    private double lastTime = -1;
+    private int lastLeft = 0;
+    private int lastRight = 0;
+    private double lastCheckTime = -1;
+    private double settledSince = -1;
+
+    /**
+     * @param Ticks Distance to travel in encoder ticks (positive).
+     * @param Forward Whether to drive forwards.
+     */
+    public MotionMagicDriveController(double Ticks, boolean Forward) {
+        target = Forward ? -Ticks : Ticks; //a negative output drives forwards
+    }
+
+    /**
+     * Works out the heading correction.
+     * @param gyroAngle The gyro angle since the drive started, in degrees.
+     * @param now The current time in seconds.
+     */
+    public void calculate(double gyroAngle, double now) {
+        double rate = (lastTime >= 0 && now > lastTime) ? (gyroAngle - lastAngle) / (now - lastTime) : 0;
+        lastAngle = gyroAngle;
+        lastTime = now;
+        //turned clockwise, so push the left side back and the right side forwards to turn back, whichever way it's going
+        correction = headingP * gyroAngle + headingD * rate;
+    }
+
+    /**
+     * @param leftPosition Left encoder ticks since the drive started.
+     * @param rightPosition Right encoder ticks since the drive started.
+     * @param now The current time in seconds.
+     * @return Whether both sides have been at the target and stopped for long enough.
+     */
+    public boolean isFinished(int leftPosition, int rightPosition, double now) {
+        boolean settled = false;
+        if (lastCheckTime >= 0 && now > lastCheckTime) {
+            double dt = now - lastCheckTime;
+            settled = Math.abs(target - leftPosition) <= tolerance && Math.abs(target - rightPosition) <= tolerance
+                && Math.abs(leftPosition - lastLeft) / dt <= settleVelocity
+                && Math.abs(rightPosition - lastRight) / dt <= settleVelocity;
+        }
+        lastLeft = leftPosition;
+        lastRight = rightPosition;
+        lastCheckTime = now;
+
+        if (!settled) {
+            settledSince = -1;
+            return false;
+        }
+        if (settledSince < 0) {
+            settledSince = now;
+        }
+        return now - settledSince >= settleTime;
+    }
+
+    /**
+     * @return The target of both sides in ticks, negative for forwards.
+     */
+    public double getTarget() {
+        return target;
+    }
+
+    public double getLeftFeedforward() {
+        return correction;
+    }
+
+    public double getRightFeedforward() {
+        return -correction;
+    }
+}
@@ -0,0 +1,89 @@
+package frc.robot.control;
+
+/**
+ * A trapezoidal motion profile from rest to rest: speeds up at a constant rate, cruises, then slows down at the same
+ * rate. Falls back to a triangle when the distance is too short to reach the cruise speed. Works in any units.
+ */
+public class MotionProfile {
+
+    private final double direction;
+    private final double distance;
+    private final double acceleration;
+    private final double cruiseVelocity;
+    private final double accelTime;
+    private final double cruiseTime;
+
+    /**
+     * @param Distance How far to go, negative to go backwards.
+     * @param MaxVelocity The fastest to go (positive).
+     * @param Acceleration How fast to speed up and slow down (positive).
+     */
+    public MotionProfile(double Distance, double MaxVelocity, double Acceleration) {
+        direction = Math.signum(Distance);
+        distance = Math.abs(Distance);
+        acceleration = Acceleration;
+        if (MaxVelocity * MaxVelocity / acceleration > distance) {
+            accelTime = Math.sqrt(distance / acceleration);
+            cruiseVelocity = acceleration * accelTime;
+            cruiseTime = 0;
+        } else {
+            accelTime = MaxVelocity / acceleration;
+            cruiseVelocity = MaxVelocity;
+            cruiseTime = (distance - cruiseVelocity * accelTime) / cruiseVelocity;
+        }
+    }
+
+    /**
+     * @param t Seconds since the start.
+     * @return Where the profile is at that time.
+     */
+    public double getPosition(double t) {
+        t = Math.max(0, Math.min(t, getDuration()));
+        double position;
+        if (t < accelTime) {
+            position = 0.5 * acceleration * t * t;
+        } else if (t < accelTime + cruiseTime) {
+            position = 0.5 * cruiseVelocity * accelTime + cruiseVelocity * (t - accelTime);
+        } else {
+            double left = getDuration() - t;
+            position = distance - 0.5 * acceleration * left * left;
+        }
+        return direction * position;
+    }
+
+    /**
+     * @param t Seconds since the start.
+     * @return How fast the profile is going at that time.
+     */
+    public double getVelocity(double t) {
+        double velocity;
+        if (t <= 0 || t >= getDuration()) {
+            velocity = 0;
+        } else if (t < accelTime) {
+            velocity = acceleration * t;
+        } else if (t < accelTime + cruiseTime) {
+            velocity = cruiseVelocity;
+        } else {
+            velocity = acceleration * (getDuration() - t);
+        }
+        return direction * velocity;
+    }
+
+    /**
+     * @param t Seconds since the start.
+     * @return The profile's acceleration at that time.
+     */
+    public double getAcceleration(double t) {
+        if (t <= 0 || t >= getDuration() || (t >= accelTime && t < accelTime + cruiseTime)) {
+            return 0;
+        }
+        return (t < accelTime) ? direction * acceleration : -direction * acceleration;
+    }
+
+    /**
+     * @return Seconds from start to finish.
+     */
+    public double getDuration() {
+        return 2 * accelTime + cruiseTime;
+    }
+}
@@ -0,0 +1,186 @@
+package frc.robot.control;
+
+/**
+ * Fuses wheel odometry with delayed vision measurements of where the robot is on the field.
+ *
+ * <p>The estimate is the odometry pose moved by a correction: a rotation and offset that carry the odometry's frame
+ * onto the field. Every odometry pose is kept with its timestamp in primitive ring buffers, so when a vision frame
+ * arrives late it's compared with where the estimate was when the frame was taken, not where it is now. The
+ * correction is nudged towards the vision pose at that time, and since odometry only moves relative to itself,
+ * the same correction carries forward to now.</p>
+ *
+ * <p>Units are up to the caller, as long as they're consistent: positions in one unit and headings in radians,
+ * counterclockwise positive. Not thread safe; callers synchronize.</p>
+ */
+public class PoseEstimator {
+
+    private static final int capacity = 512; //must be a power of 2; 2.5 s of history at 200 Hz
+
+    private final double translationWeight;
+    private final double headingWeight;
+    private final double maxJump;
+
+    //odometry history, oldest to newest from tail to head
+    private final double[] times = new double[capacity];
+    private final double[] xs = new double[capacity];
+    private final double[] ys = new double[capacity];
+    private final double[] headings = new double[capacity];
+    private int head = 0; //next slot to write
+    private int size = 0;
+
+    //carries odometry onto the field
+    private double correctionX = 0;
+    private double correctionY = 0;
+    private double correctionHeading = 0;
+
+    private int rejectedCount = 0;
+    private final double[] pose = new double[3];
+
+    /**
+     * @param TranslationWeight How far towards a vision position to move the estimate, from 0 (ignore vision) to 1
+     *                          (trust it completely).
+     * @param HeadingWeight How far towards a vision heading to move the estimate, 0 to 1.
+     * @param MaxJump How far off the estimate a vision position can be before it's thrown out as a bad frame.
+     */
+    public PoseEstimator(double TranslationWeight, double HeadingWeight, double MaxJump) {
+        translationWeight = TranslationWeight;
+        headingWeight = HeadingWeight;
+        maxJump = MaxJump;
+    }
+
+    /**
+     * Forgets the history and makes the estimate match the odometry.
+     */
+    public void reset() {
+        head = 0;
+        size = 0;
+        correctionX = 0;
+        correctionY = 0;
+        correctionHeading = 0;
+    }
+
+    /**
+     * Records a new odometry pose. Times must not go backwards.
+     * @param time When the pose was measured, in seconds.
+     * @param x Odometry x.
+     * @param y Odometry y.
+     * @param heading Odometry heading in radians.
+     */
+    public void addOdometry(double time, double x, double y, double heading) {
+        times[head] = time;
+        xs[head] = x;
+        ys[head] = y;
+        headings[head] = heading;
+        head = (head + 1) & (capacity - 1);
+        size = Math.min(size + 1, capacity);
+    }
+
+    /**
+     * Corrects the estimate with a vision measurement.
+     * @param time When the camera saw the robot there, in seconds.
+     * @param x Field x.
+     * @param y Field y.
+     * @param heading Field heading in radians.
+     * @return Whether the measurement was used; it isn't if it's older than the history or too far off.
+     */
+    public boolean addVision(double time, double x, double y, double heading) {
+        if (size == 0 || time < times[(head - size) & (capacity - 1)]) {
+            rejectedCount++;
+            return false;
+        }
+        double[] odometry = interpolate(time);
+        double[] estimate = correct(odometry[0], odometry[1], odometry[2]);
+        if (Math.hypot(x - estimate[0], y - estimate[1]) > maxJump) {
+            rejectedCount++;
+            return false;
+        }
+
+        double newX = estimate[0] + translationWeight * (x - estimate[0]);
+        double newY = estimate[1] + translationWeight * (y - estimate[1]);
+        double newHeading = estimate[2] + headingWeight * wrap(heading - estimate[2]);
+
+        //find the correction that puts the odometry pose at that time on the new estimate
+        correctionHeading = wrap(newHeading - odometry[2]);
+        double cos = Math.cos(correctionHeading);
+        double sin = Math.sin(correctionHeading);
+        correctionX = newX - (odometry[0] * cos - odometry[1] * sin);
+        correctionY = newY - (odometry[0] * sin + odometry[1] * cos);
+        return true;
+    }
+
+    /**
+     * @return The current estimate as {x, y, heading}. The array is reused by the next call.
+     */
+    public double[] getEstimate() {
+        if (size == 0) {
+            return correct(0, 0, 0);
+        }
+        int newest = (head - 1) & (capacity - 1);
+        return correct(xs[newest], ys[newest], headings[newest]);
+    }
+
+    /**
+     * @param time A time within the history, in seconds.
+     * @return The estimate at that time, with the current correction, as {x, y, heading}. The array is reused by the
+     * next call.
+     */
+    public double[] getEstimateAt(double time) {
+        if (size == 0) {
+            return correct(0, 0, 0);
+        }
+        double[] odometry = interpolate(time);
+        return correct(odometry[0], odometry[1], odometry[2]);
+    }
+
+    /**
+     * @return How many vision measurements have been thrown out.
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return The odometry pose at a time, interpolated between the two samples either side of it (or the nearest
+     * end of the history), in <code>pose</code>.
+     */
+    private double[] interpolate(double time) {
+        int newest = (head - 1) & (capacity - 1);
+        if (time >= times[newest]) {
+            return set(xs[newest], ys[newest], headings[newest]);
+        }
+        //walk back from the newest, vision is usually only a few samples late
+        int after = newest;
+        for (int i = 1; i < size; i++) {
+            int before = (newest - i) & (capacity - 1);
+            if (times[before] <= time) {
+                double span = times[after] - times[before];
+                double fraction = (span > 0) ? (time - times[before]) / span : 0;
+                return set(xs[before] + fraction * (xs[after] - xs[before]),
+                    ys[before] + fraction * (ys[after] - ys[before]),
+                    headings[before] + fraction * wrap(headings[after] - headings[before]));
+            }
+            after = before;
+        }
+        return set(xs[after], ys[after], headings[after]);
+    }
+
+    /**
+     * @return The odometry pose moved onto the field, in <code>pose</code>.
+     */
+    private double[] correct(double x, double y, double heading) {
+        double cos = Math.cos(correctionHeading);
+        double sin = Math.sin(correctionHeading);
+        return set(x * cos - y * sin + correctionX, x * sin + y * cos + correctionY, heading + correctionHeading);
+    }
+
+    private double[] set(double x, double y, double heading) {
+        pose[0] = x;
+        pose[1] = y;
+        pose[2] = heading;
+        return pose;
+    }
+
+    private static double wrap(double angle) {
+        return Math.IEEEremainder(angle, 2 * Math.PI);
+    }
+}
@@ -0,0 +1,46 @@
+package frc.robot.control;
+
+/**
+ * Decides when to feed cells into the flywheel, from the flywheel's speed.
+ */
+public class ShotLogic {
+
+    private final double helixSpeed = 0.60;
+    private final double warmUpTime = 0.48; //seconds the flywheel must be up to speed before feeding
+
+    private double upToSpeedTime = -1; //when the flywheel first reached speed, -1 if it hasn't yet
+    private double helixOutput = Double.NaN;
+
+    /**
+     * Starts a new volley.
+     */
+    public void reset() {
+        upToSpeedTime = -1;
+    }
+
+    /**
+     * @param power The flywheel's speed (around -1 to 1).
+     * @param wheelSpeed The speed the flywheel is meant to be at.
+     * @param now The current time in seconds.
+     */
+    public void update(double power, double wheelSpeed, double now) {
+        helixOutput = Double.NaN;
+        if (power >= wheelSpeed - 0.010) {
+            if (upToSpeedTime < 0) {
+                upToSpeedTime = now;
+            }
+            if (now - upToSpeedTime >= warmUpTime) {
+                helixOutput = helixSpeed;
+            }
+        } else {
+            helixOutput = 0; //hold cells back until the wheel recovers
+        }
+    }
+
+    /**
+     * @return The helix output decided by the last update, or NaN if the helix should be left as it is.
+     */
+    public double getHelixOutput() {
+        return helixOutput;
+    }
+}
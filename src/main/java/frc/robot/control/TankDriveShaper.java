@@ -0,0 +1,63 @@
+package frc.robot.control;
+
+/**
+ * Turns the driver's joysticks into the speed and rotation given to <code>curvatureDrive</code>.
+ */
+public class TankDriveShaper {
+
+    private final double maxChange = 0.5; //maxChange is acceleration
+
+    private double updatedSpeed = 0;
+    private double updatedRotation = 0;
+    private double speed = 0;
+    private double rotation = 0;
+
+    /**
+     * @param throttleAxis The driver's right stick Y axis.
+     * @param turnAxis The driver's left stick X axis.
+     */
+    public void update(double throttleAxis, double turnAxis) {
+        if (throttleAxis < -0.1) {
+            speed = (Math.pow(throttleAxis, 2));
+        } else if (throttleAxis > 0.1) {
+            speed = -(Math.pow(throttleAxis, 2));
+        } else {
+            speed = 0;
+        }
+        updatedSpeed = speed;
+        if (turnAxis < -0.05) {
+            rotation = (Math.pow(turnAxis, 5));
+        } else if (turnAxis > 0.05) {
+            rotation = (Math.pow(turnAxis, 5));
+        } else {
+            rotation = 0;
+        }
+        updatedRotation = -rotation;
+        double speedDifference = speed - updatedSpeed;
+        if (speedDifference > maxChange) {
+            speed = updatedSpeed + maxChange;
+        } else if (speedDifference < -maxChange) {
+            speed = updatedSpeed - maxChange;
+        }
+        double rotationDifference = rotation - updatedRotation;
+        if (rotationDifference > maxChange) {
+            rotation = updatedRotation + maxChange;
+        } else if (rotationDifference < -maxChange) {
+            rotation = updatedRotation - maxChange;
+        }
+    }
+
+    /**
+     * @return The shaped speed from the last update, before the speed cap.
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return The shaped rotation from the last update, before the rotation cap.
+     */
+    public double getRotation() {
+        return rotation;
+    }
+}
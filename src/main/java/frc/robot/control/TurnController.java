@@ -0,0 +1,161 @@
+package frc.robot.control;
+
+/**
+ * Turns in place along a trapezoidal profile of the angle, following it with feedforward plus PD on the gyro.
+ * The gains and acceleration are scheduled by how big the turn is, since small turns need a firmer push to get
+ * going and big ones need a gentler catch at the end. Finishes once the robot has settled on the target.
+ */
+public class TurnController {
+
+    private static final double maxTurnRate = 450; //degrees per second at full speed
+    private static final double kS = 0.08; //output to overcome the wheels scrubbing
+    private static final double kV = 0.0017; //output per degree per second
+    private static final double kA = 0.0002; //output per degree per second squared
+    private static final double tolerance = 1.5; //degrees either side of the target that count as there
+    private static final double settleRate = 8; //degrees per second below which the robot counts as stopped
+    private static final double settleTime = 0.1; //seconds the robot must stay settled
+
+    //gain schedule, by the size of the turn in degrees
+    private static final double[] scheduleDegrees = {10, 45, 90, 180};
+    private static final double[] scheduleP = {0.035, 0.022, 0.016, 0.012}; //output per degree off the profile
+    private static final double[] scheduleD = {0.0012, 0.0009, 0.0007, 0.0006}; //output per degree per second off
+    private static final double[] scheduleAcceleration = {900, 720, 540, 450}; //degrees per second squared
+
+    private final double degrees;
+    private final double speed;
+    private final double p;
+    private final double d;
+    private final MotionProfile profile;
+
+    private double startTime = -1;
+    private double lastAngle = 0;
+    private double lastTime = -1;
+    private double rate = 0;
+    private double settledSince = -1;
+    private double settleDuration = -1;
+
+    private double leftOutput = 0;
+    private double rightOutput = 0;
+
+    /**
+     * @param Degrees The number of degrees to turn - negative to the left, positive to the right.
+     * @param Speed The top speed of the turn (0 to 1).
+     */
+    public TurnController(double Degrees, double Speed) {
+        degrees = Degrees;
+        speed = Speed;
+        double size = Math.abs(degrees);
+        p = schedule(scheduleP, size);
+        d = schedule(scheduleD, size);
+        profile = new MotionProfile(degrees, Math.max(speed, 0.05) * maxTurnRate, schedule(scheduleAcceleration, size));
+    }
+
+    /**
+     * Starts a new turn.
+     */
+    public void reset() {
+        startTime = -1;
+        lastTime = -1;
+        rate = 0;
+        settledSince = -1;
+        settleDuration = -1;
+    }
+
+    /**
+     * Works out the motor outputs.
+     * @param angle The gyro angle since the turn started, in degrees.
+     * @param now The current time in seconds.
+     */
+    public void calculate(double angle, double now) {
+        if (startTime < 0) {
+            startTime = now;
+        }
+        if (lastTime >= 0 && now > lastTime) {
+            rate = (angle - lastAngle) / (now - lastTime);
+        }
+        lastAngle = angle;
+        lastTime = now;
+
+        double t = now - startTime;
+        double setpointVelocity = profile.getVelocity(t);
+        double error = profile.getPosition(t) - angle;
+        double output = kV * setpointVelocity + kA * profile.getAcceleration(t)
+            + p * error + d * (setpointVelocity - rate);
+        if (Math.abs(degrees - angle) > tolerance || setpointVelocity != 0) {
+            output += Math.copySign(kS, (setpointVelocity != 0) ? setpointVelocity : error);
+        }
+        output = Math.max(-1, Math.min(1, output));
+        //turning right (clockwise) drives the left side forwards
+        leftOutput = -output;
+        rightOutput = output;
+    }
+
+    /**
+     * Call after <code>calculate</code> each loop.
+     * @param angle The gyro angle since the turn started, in degrees.
+     * @param now The current time in seconds.
+     * @return Whether the profile is done and the robot has stayed on the target, nearly stopped, for long enough.
+     */
+    public boolean isFinished(double angle, double now) {
+        boolean settled = startTime >= 0 && now - startTime >= profile.getDuration()
+            && Math.abs(degrees - angle) <= tolerance && Math.abs(rate) <= settleRate;
+        if (!settled) {
+            settledSince = -1;
+            return false;
+        }
+        if (settledSince < 0) {
+            settledSince = now;
+        }
+        if (now - settledSince >= settleTime) {
+            settleDuration = now - startTime;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Seconds from the start of the turn until it finished settling, -1 if it hasn't.
+     */
+    public double getSettleTime() {
+        return settleDuration;
+    }
+
+    /**
+     * @return Seconds the profile itself takes, the least the turn could take.
+     */
+    public double getProfileTime() {
+        return profile.getDuration();
+    }
+
+    public double getLeftOutput() {
+        return leftOutput;
+    }
+
+    public double getRightOutput() {
+        return rightOutput;
+    }
+
+    public double getDegrees() {
+        return degrees;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Looks up a gain for the size of the turn, interpolating between the scheduled sizes.
+     */
+    private static double schedule(double[] values, double size) {
+        if (size <= scheduleDegrees[0]) {
+            return values[0];
+        }
+        for (int i = 1; i < scheduleDegrees.length; i++) {
+            if (size <= scheduleDegrees[i]) {
+                double fraction = (size - scheduleDegrees[i - 1]) / (scheduleDegrees[i] - scheduleDegrees[i - 1]);
+                return values[i - 1] + fraction * (values[i] - values[i - 1]);
+            }
+        }
+        return values[values.length - 1];
+    }
+}
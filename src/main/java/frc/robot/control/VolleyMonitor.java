@@ -0,0 +1,78 @@
+package frc.robot.control;
+
+/**
+ * Watches a volley in autonomous to tell when the last cell has gone, so shooting can stop then rather than at a
+ * fixed timeout, and measures how fast the cells went out.
+ *
+ * <p>The volley is over once the cell count is down to zero and the flywheel has confirmed a shot since the volley
+ * started, and the last shot has had a moment to clear the wheel. A count that's already zero with no shot seen
+ * doesn't end it, in case the count was wrong and there are still cells to shoot.</p>
+ */
+public class VolleyMonitor {
+
+    private static final double clearTime = 0.15; //seconds after the last shot for the cell to leave the wheel
+
+    private double startTime = 0;
+    private int startShotCount = 0;
+    private int shots = 0;
+    private double firstShotTime = -1;
+    private double lastShotTime = -1;
+
+    /**
+     * Starts a new volley.
+     * @param now The current time in seconds.
+     * @param shotCount Shots detected so far.
+     */
+    public void reset(double now, int shotCount) {
+        startTime = now;
+        startShotCount = shotCount;
+        shots = 0;
+        firstShotTime = -1;
+        lastShotTime = -1;
+    }
+
+    /**
+     * @param shotCount Shots detected so far.
+     * @param shotTime When the last shot was detected, in seconds.
+     */
+    public void update(int shotCount, double shotTime) {
+        if (shotCount - startShotCount > shots) {
+            shots = shotCount - startShotCount;
+            lastShotTime = shotTime;
+            if (firstShotTime < 0) {
+                firstShotTime = shotTime;
+            }
+        }
+    }
+
+    /**
+     * @param cellCount The number of cells thought to be in the robot.
+     * @param now The current time in seconds.
+     * @return Whether the last cell has been shot.
+     */
+    public boolean isFinished(int cellCount, double now) {
+        return cellCount <= 0 && shots > 0 && now - lastShotTime >= clearTime;
+    }
+
+    /**
+     * @return Shots detected since the volley started.
+     */
+    public int getShots() {
+        return shots;
+    }
+
+    /**
+     * @param now The current time in seconds.
+     * @return Seconds since the volley started.
+     */
+    public double getDuration(double now) {
+        return now - startTime;
+    }
+
+    /**
+     * @return Shots per second from the first shot to the last, 0 if there haven't been two.
+     */
+    public double getShotsPerSecond() {
+        return (shots > 1 && lastShotTime > firstShotTime) ? (shots - 1) / (lastShotTime - firstShotTime) : 0;
+    }
+}
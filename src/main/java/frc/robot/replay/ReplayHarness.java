@@ -0,0 +1,368 @@
+package frc.robot.replay;
+
+import frc.robot.RobotMap;
+import frc.robot.control.CellCounter;
+import frc.robot.control.CurvatureDrive;
+import frc.robot.control.DriveStraightController;
+import frc.robot.control.Hysteresis;
+import frc.robot.control.ShotLogic;
+import frc.robot.control.TankDriveShaper;
+import frc.robot.control.TurnController;
+import frc.robot.telemetry.Recording;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Re-runs the robot's logic against a match recording and diffs what it does with what the robot did.
+ * Run with <code>./gradlew replay -Precording=path/to/match.rec</code>, optionally adding <code>-Ptimestep=0.02</code>.
+ *
+ * <p>Each record is stepped through in order with a fixed timestep (the median recorded loop period unless one is
+ * given, or the recorded timestamps if it's 0), feeding the recorded sensors and controller axes into the same
+ * <code>frc.robot.control</code> classes the commands use. Covers <code>TankDrive</code>, <code>DriveStraight</code>,
+ * <code>Turn</code>, <code>HelixShoot</code>, <code>ClearCellCount</code> and the cell counting in <code>Robot</code>.
+ * Doesn't need WPILib, and runs as fast as the CPU allows. Exits with 1 if anything didn't match.</p>
+ */
+public class ReplayHarness {
+
+    private static final double tolerance = 1e-9;
+    private static final double maxFlywheelSpeed = 5600; //RPM, same as Flyboi.maxVelocity
+
+    private final Recording recording;
+    private final double timestep;
+
+    // Field indexes
+    private final int timestampField;
+    private final int autonomousField;
+    private final int leftTicksField;
+    private final int rightTicksField;
+    private final int gyroField;
+    private final int leftDriveField;
+    private final int rightDriveField;
+    private final int commandTargetField;
+    private final int commandSpeedField;
+    private final int flywheelVelocityField;
+    private final int wheelSpeedField;
+    private final int helixField;
+    private final int cellEnteredField;
+    private final int beamEdgesField;
+    private final int cellCountField;
+    private final int shotCountField;
+    private final int driverLeftXField;
+    private final int driverRightYField;
+    private final int operatorRightYField;
+    private final int speedCapField;
+    private final int rotationCapField;
+
+    // Command indexes
+    private final int tankDriveCommand;
+    private final int driveStraightCommand;
+    private final int turnCommand;
+    private final int[] talonDriveCommands; //drive commands whose control loops run on the Talons, so aren't re-run
+    private final int helixShootCommand;
+    private final int clearCellCountCommand;
+
+    private final Comparison leftDrive = new Comparison("left_drive_output");
+    private final Comparison rightDrive = new Comparison("right_drive_output");
+    private final Comparison helixOutput = new Comparison("helix_output");
+    private final Comparison cellCount = new Comparison("cell_count");
+
+    /**
+     * @param Recording The recording to replay.
+     * @param Timestep Seconds between loops, or 0 to use the recorded timestamps.
+     */
+    public ReplayHarness(Recording Recording, double Timestep) {
+        recording = Recording;
+        timestep = Timestep;
+
+        timestampField = field("timestamp");
+        autonomousField = field("autonomous");
+        leftTicksField = field("left_ticks");
+        rightTicksField = field("right_ticks");
+        gyroField = field("gyro_angle");
+        leftDriveField = field("left_drive_output");
+        rightDriveField = field("right_drive_output");
+        commandTargetField = field("drive_command_target");
+        commandSpeedField = field("drive_command_speed");
+        flywheelVelocityField = field("left_flywheel_velocity");
+        wheelSpeedField = field("flywheel_wheel_speed");
+        helixField = field("helix_output");
+        cellEnteredField = field("cell_entered");
+        beamEdgesField = field("beam_edges");
+        cellCountField = field("cell_count");
+        shotCountField = field("shot_count");
+        driverLeftXField = field("driver_left_x");
+        driverRightYField = field("driver_right_y");
+        operatorRightYField = field("operator_right_y");
+        speedCapField = field("speed_cap");
+        rotationCapField = field("rotation_cap");
+
+        tankDriveCommand = command("TankDrive");
+        driveStraightCommand = command("DriveStraight");
+        turnCommand = command("Turn");
+        talonDriveCommands = new int[] {command("MotionMagicDrive"), command("FollowTrajectory")};
+        helixShootCommand = command("HelixShoot");
+        clearCellCountCommand = command("ClearCellCount");
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 1 || args[0].isEmpty()) {
+            System.err.println("Usage: ReplayHarness <recording> [timestep]");
+            System.exit(1);
+        }
+        Recording recording = Recording.read(Paths.get(args[0]));
+        if (recording.size() < 2) {
+            System.err.println("Recording has " + recording.size() + " records, nothing to replay");
+            System.exit(1);
+        }
+        double timestep = (args.length > 1 && !args[1].isEmpty()) ? Double.parseDouble(args[1]) : -1;
+
+        ReplayHarness harness = new ReplayHarness(recording, timestep);
+        long start = System.nanoTime();
+        boolean matched = harness.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        harness.report();
+        System.out.printf("Replayed %d records in %.3f s%n", recording.size(), seconds);
+        System.exit(matched ? 0 : 1);
+    }
+
+    /**
+     * Steps through the whole recording.
+     * @return Whether every output matched the recording.
+     */
+    public boolean run() {
+        double step = (timestep < 0) ? medianPeriod() : timestep;
+        double startTime = recording.get(0, timestampField);
+
+        CellCounter counter = new CellCounter();
+        Hysteresis intakeIn = new Hysteresis(RobotMap.intakePressAt, RobotMap.intakeReleaseAt);
+        Hysteresis intakeOut = new Hysteresis(-RobotMap.intakePressAt, -RobotMap.intakeReleaseAt);
+        TankDriveShaper shaper = new TankDriveShaper();
+        CurvatureDrive curvatureDrive = new CurvatureDrive();
+        ShotLogic shotLogic = new ShotLogic();
+        DriveStraightController driveStraight = null;
+        TurnController turn = null;
+        double leftTicksOffset = 0;
+        double rightTicksOffset = 0;
+        double gyroOffset = 0;
+
+        //the first record's count already includes that loop's changes, so it only seeds the count
+        int count = (int) recording.get(0, cellCountField);
+
+        for (int record = 1; record < recording.size(); record++) {
+            double now = (step > 0) ? startTime + record * step : recording.get(record, timestampField);
+
+            // autonomousPeriodic and teleopPeriodic run before the scheduler
+            //only the number of edges is recorded, but they alternate, so the beam's last state gives their direction
+            boolean autonomous = recording.get(record, autonomousField) != 0;
+            boolean broken = recording.get(record - 1, cellEnteredField) != 0;
+            CellCounter.IntakeDirection direction = CellCounter.IntakeDirection.OFF;
+            if (!autonomous) {
+                double intakeAxis = recording.get(record, operatorRightYField);
+                direction = intakeIn.update(intakeAxis) ? CellCounter.IntakeDirection.IN
+                    : intakeOut.update(intakeAxis) ? CellCounter.IntakeDirection.OUT : CellCounter.IntakeDirection.OFF;
+            }
+            for (int edge = 0; edge < (int) recording.get(record, beamEdgesField); edge++) {
+                broken = !broken;
+                count += counter.countEdge(broken, now, autonomous, direction);
+            }
+            counter.update(now);
+
+            // Commands
+            if (active(record, clearCellCountCommand)) {
+                count = 0;
+            }
+
+            if (active(record, helixShootCommand)) {
+                if (!active(record - 1, helixShootCommand)) {
+                    shotLogic.reset();
+                }
+                double power = recording.get(record, flywheelVelocityField) / maxFlywheelSpeed;
+                shotLogic.update(power, recording.get(record, wheelSpeedField), now);
+                if (!Double.isNaN(shotLogic.getHelixOutput())) {
+                    helixOutput.check(record, shotLogic.getHelixOutput(), recording.get(record, helixField));
+                }
+            }
+
+            //shots are detected between loops, so they're taken from the recording like any other sensor
+            count -= (int) (recording.get(record, shotCountField) - recording.get(record - 1, shotCountField));
+
+            cellCount.check(record, count, recording.get(record, cellCountField));
+
+            int owner = driveOwner(record);
+            if (owner >= 0 && owner == tankDriveCommand) {
+                shaper.update(recording.get(record, driverRightYField), recording.get(record, driverLeftXField));
+                curvatureDrive.calculate(recording.get(record, rotationCapField) * shaper.getRotation(),
+                    recording.get(record, speedCapField) * shaper.getSpeed(), true);
+                checkDrive(record, curvatureDrive.getLeftOutput(), curvatureDrive.getRightOutput());
+            } else if (owner >= 0 && (owner == driveStraightCommand || owner == turnCommand)) {
+                double target = recording.get(record, commandTargetField);
+                double speed = recording.get(record, commandSpeedField);
+                if (startsDriveCommand(record, owner)) {
+                    leftTicksOffset = recording.get(record, leftTicksField);
+                    rightTicksOffset = recording.get(record, rightTicksField);
+                    gyroOffset = recording.get(record, gyroField);
+                    if (owner == driveStraightCommand) {
+                        driveStraight = new DriveStraightController(Math.abs(target), target > 0, speed);
+                    } else {
+                        turn = new TurnController(target, speed);
+                        turn.reset();
+                    }
+                }
+
+                double gyroAngle = recording.get(record, gyroField) - gyroOffset;
+                double left;
+                double right;
+                boolean finished;
+                if (owner == driveStraightCommand) {
+                    driveStraight.calculate(gyroAngle);
+                    left = driveStraight.getLeftOutput();
+                    right = driveStraight.getRightOutput();
+                    finished = driveStraight.isFinished((int) (recording.get(record, leftTicksField) - leftTicksOffset),
+                        (int) (recording.get(record, rightTicksField) - rightTicksOffset));
+                } else {
+                    turn.calculate(gyroAngle, now);
+                    left = turn.getLeftOutput();
+                    right = turn.getRightOutput();
+                    finished = turn.isFinished(gyroAngle, now);
+                }
+
+                boolean continues = record + 1 < recording.size() && driveOwner(record + 1) == owner
+                    && !startsDriveCommand(record + 1, owner);
+                if (finished) {
+                    checkDrive(record, 0, 0); //end() stops the motors
+                } else if (continues) {
+                    checkDrive(record, left, right);
+                }
+                //otherwise it timed out or was interrupted that loop, so the outputs can't be predicted
+            }
+        }
+        return leftDrive.matched() && rightDrive.matched() && helixOutput.matched() && cellCount.matched();
+    }
+
+    /**
+     * Prints how each output compared.
+     */
+    public void report() {
+        for (Comparison comparison : new Comparison[] {leftDrive, rightDrive, helixOutput, cellCount}) {
+            System.out.println(comparison.summary());
+        }
+    }
+
+    /**
+     * @param record The record's index.
+     * @return The drive command that set the drive motors last that loop, or -1 if none of the replayed ones did.
+     */
+    private int driveOwner(int record) {
+        boolean driveStraightActive = active(record, driveStraightCommand);
+        boolean turnActive = active(record, turnCommand);
+        for (int command : talonDriveCommands) {
+            if (active(record, command) && (!active(record - 1, command) || !(driveStraightActive || turnActive))) {
+                //the Talons ran this loop's control, so there's nothing to re-run
+                return command;
+            }
+        }
+        if (driveStraightActive && turnActive) {
+            //one ended and the next started in the same loop, so the one that wasn't running before went last
+            return active(record - 1, turnCommand) ? driveStraightCommand : turnCommand;
+        } else if (driveStraightActive) {
+            return driveStraightCommand;
+        } else if (turnActive) {
+            return turnCommand;
+        } else if (active(record, tankDriveCommand)) {
+            return tankDriveCommand;
+        }
+        return -1;
+    }
+
+    /**
+     * @param record The record's index.
+     * @param owner The drive command that set the motors that loop.
+     * @return Whether the command was initialized that loop.
+     */
+    private boolean startsDriveCommand(int record, int owner) {
+        if (record == 0 || driveOwner(record - 1) != owner) {
+            return true;
+        }
+        //back to back commands of the same kind keep the bit set, but set a new target
+        return recording.get(record, commandTargetField) != recording.get(record - 1, commandTargetField)
+            || recording.get(record, commandSpeedField) != recording.get(record - 1, commandSpeedField);
+    }
+
+    private void checkDrive(int record, double left, double right) {
+        leftDrive.check(record, left, recording.get(record, leftDriveField));
+        rightDrive.check(record, right, recording.get(record, rightDriveField));
+    }
+
+    private boolean active(int record, int command) {
+        return command >= 0 && record >= 0 && recording.wasCommandActive(record, command);
+    }
+
+    private double medianPeriod() {
+        double[] periods = new double[recording.size() - 1];
+        for (int i = 1; i < recording.size(); i++) {
+            periods[i - 1] = recording.get(i, timestampField) - recording.get(i - 1, timestampField);
+        }
+        Arrays.sort(periods);
+        return periods[periods.length / 2];
+    }
+
+    private int field(String name) {
+        int index = recording.fieldIndex(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Recording has no " + name + " field, it's too old to replay");
+        }
+        return index;
+    }
+
+    private int command(String name) {
+        return Arrays.asList(recording.commandNames).indexOf(name);
+    }
+
+    /**
+     * Keeps track of how far a replayed output strayed from the recorded one.
+     */
+    private class Comparison {
+
+        private final String name;
+        private int compared = 0;
+        private int mismatches = 0;
+        private double maxError = 0;
+        private int firstMismatch = -1;
+        private double firstExpected;
+        private double firstActual;
+
+        Comparison(String Name) {
+            name = Name;
+        }
+
+        void check(int record, double replayed, double recorded) {
+            compared++;
+            double error = Math.abs(replayed - recorded);
+            maxError = Math.max(maxError, error);
+            if (error > tolerance) {
+                if (mismatches == 0) {
+                    firstMismatch = record;
+                    firstExpected = recorded;
+                    firstActual = replayed;
+                }
+                mismatches++;
+            }
+        }
+
+        boolean matched() {
+            return mismatches == 0;
+        }
+
+        String summary() {
+            String result = String.format("%-20s %6d compared, %6d mismatched, max error %.6f",
+                name, compared, mismatches, maxError);
+            if (mismatches > 0) {
+                result += String.format("%n    first at record %d (t=%.3f): recorded %.6f, replayed %.6f",
+                    firstMismatch, recording.get(firstMismatch, timestampField), firstExpected, firstActual);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package frc.robot.replay;
+
+import frc.robot.telemetry.Recording;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Plays a match recording back one record per loop, for the replay IO implementations to read sensor values from.
+ */
+public class ReplaySource {
+
+    private final Recording recording;
+    private final int timestampField;
+    private int record = 0;
+    private boolean started = false;
+
+    /**
+     * @param Recording The recording to play back.
+     */
+    public ReplaySource(Recording Recording) {
+        recording = Recording;
+        timestampField = field("timestamp");
+    }
+
+    /**
+     * @param path Where the recording is.
+     * @return A source playing back that recording.
+     * @throws IllegalStateException If the recording can't be read.
+     */
+    public static ReplaySource open(String path) {
+        try {
+            return new ReplaySource(Recording.read(Paths.get(path)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't read recording " + path, e);
+        }
+    }
+
+    /**
+     * Moves on to the next record. Stays on the last one once the recording runs out.
+     * @return Whether there was another record.
+     */
+    public boolean next() {
+        if (!started) {
+            started = true; //the first loop plays the first record
+            return recording.size() > 0;
+        }
+        if (record + 1 < recording.size()) {
+            record++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param name The name of a field.
+     * @return The field's index, to pass to <code>get</code>.
+     * @throws IllegalArgumentException If the recording doesn't have the field.
+     */
+    public int field(String name) {
+        int index = recording.fieldIndex(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Recording has no " + name + " field");
+        }
+        return index;
+    }
+
+    /**
+     * @param field The field's index, from <code>field</code>.
+     * @return The field's value in the current record.
+     */
+    public double get(int field) {
+        return recording.get(record, field);
+    }
+
+    /**
+     * @return When the current record was taken, in seconds (FPGA time).
+     */
+    public double getTimestamp() {
+        return recording.get(record, timestampField);
+    }
+}
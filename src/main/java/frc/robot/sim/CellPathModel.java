@@ -0,0 +1,109 @@
+package frc.robot.sim;
+
+/**
+ * Power cells going from the field, past the intake beam break, into the helix and out through the flywheel.
+ *
+ * <p>Cells waiting at the intake are taken in one at a time while the intake runs inwards, breaking the beam as
+ * they pass. Running it outwards pushes stored cells back out past the beam. The helix moves cells towards the
+ * shooter while it turns forwards, and each one that leaves it goes through the flywheel. The robot has no sensor
+ * at the helix exit, so that event is only seen by the flywheel slowing down.</p>
+ */
+public class CellPathModel {
+
+    private static final double minOutput = 0.2; //below this the rollers don't move a cell
+    private static final double beamTime = 0.10; //seconds a cell breaks the beam at full output
+    private static final double intakeGap = 0.25; //seconds between cells at full output
+    private static final double helixTime = 0.30; //seconds to move one cell out of the helix at full output
+    private static final double minShotSpeed = 1000; //RPM the flywheel needs to throw a cell rather than jam
+
+    private final FlywheelModel flywheel;
+
+    private int waitingCells;
+    private int storedCells;
+    private int cellsShot = 0;
+
+    private double beamProgress = 0; //how far the cell in the beam is through it, 0 if there isn't one
+    private boolean passingIn = false;
+    private double gapProgress = 1;
+    private double helixProgress = 0;
+
+    /**
+     * @param Flywheel The flywheel cells are shot through.
+     * @param StoredCells Cells in the helix to start with.
+     */
+    public CellPathModel(FlywheelModel Flywheel, int StoredCells) {
+        flywheel = Flywheel;
+        storedCells = StoredCells;
+    }
+
+    /**
+     * Moves cells forwards in time.
+     * @param intakeOutput The intake motor output (-1 to 1, positive is inwards).
+     * @param helixOutput The helix motor output (-1 to 1, positive is towards the shooter).
+     * @param dt Seconds to step.
+     */
+    public void step(double intakeOutput, double helixOutput, double dt) {
+        double intakeSpeed = Math.abs(intakeOutput);
+        if (beamProgress > 0) {
+            //a cell is in the beam, and only moves while the intake does
+            if (intakeSpeed >= minOutput) {
+                beamProgress += intakeSpeed * dt / beamTime;
+            }
+            if (beamProgress >= 1) {
+                beamProgress = 0;
+                gapProgress = 0;
+                if (passingIn) {
+                    storedCells++;
+                }
+            }
+        } else {
+            gapProgress += intakeSpeed * dt / intakeGap;
+            if (gapProgress >= 1 && intakeOutput >= minOutput && waitingCells > 0) {
+                waitingCells--;
+                passingIn = true;
+                beamProgress = Double.MIN_VALUE;
+            } else if (gapProgress >= 1 && intakeOutput <= -minOutput && storedCells > 0) {
+                storedCells--;
+                passingIn = false;
+                beamProgress = Double.MIN_VALUE;
+            }
+        }
+
+        if (helixOutput >= minOutput && storedCells > 0 && flywheel.getLeftVelocity() >= minShotSpeed) {
+            helixProgress += helixOutput * dt / helixTime;
+            if (helixProgress >= 1) {
+                helixProgress = 0;
+                storedCells--;
+                cellsShot++;
+                flywheel.shoot();
+            }
+        }
+    }
+
+    /**
+     * Puts cells in front of the intake, ready to be picked up.
+     * @param cells How many cells to add.
+     */
+    public void addWaitingCells(int cells) {
+        waitingCells += cells;
+    }
+
+    /**
+     * @return Whether a cell is breaking the intake beam.
+     */
+    public boolean isBeamBroken() {
+        return beamProgress > 0;
+    }
+
+    public int getStoredCells() {
+        return storedCells;
+    }
+
+    public int getWaitingCells() {
+        return waitingCells;
+    }
+
+    public int getCellsShot() {
+        return cellsShot;
+    }
+}
@@ -0,0 +1,105 @@
+package frc.robot.sim;
+
+/**
+ * A differential drive on a flat field. Each side is a <code>VelocityModel</code> in inches, and the sides'
+ * difference in speed turns the robot.
+ *
+ * <p>Matches the robot's conventions: a negative output drives a side forwards, the encoders count the same way
+ * their side's output goes, and the gyro angle (like the ADXRS450's) goes up turning clockwise.</p>
+ */
+public class DrivetrainModel {
+
+    private final VelocityModel left;
+    private final VelocityModel right;
+    private final double trackWidth;
+    private final double ticksPerInch;
+
+    private double heading = 0; //degrees, clockwise
+    private double x = 0; //inches, forwards from where the robot started
+    private double y = 0; //inches, to the left of where the robot started
+
+    /**
+     * @param KS Volts needed to overcome friction on each side.
+     * @param KV Volts per inch per second on each side.
+     * @param KA Volts per inch per second squared on each side.
+     * @param TrackWidth Effective distance between the left and right wheels in inches.
+     * @param WheelDiameter Wheel diameter in inches.
+     */
+    public DrivetrainModel(double KS, double KV, double KA, double TrackWidth, double WheelDiameter) {
+        left = new VelocityModel(KS, KV, KA);
+        right = new VelocityModel(KS, KV, KA);
+        trackWidth = TrackWidth;
+        ticksPerInch = 4096 / (WheelDiameter * Math.PI);
+    }
+
+    /**
+     * Moves the robot forwards in time.
+     * @param leftVolts Voltage given to the left side motors, as the robot sets them.
+     * @param rightVolts Voltage given to the right side motors, as the robot sets them.
+     * @param dt Seconds to step.
+     */
+    public void step(double leftVolts, double rightVolts, double dt) {
+        double leftStart = left.getPosition();
+        double rightStart = right.getPosition();
+        left.step(-leftVolts, dt);
+        right.step(-rightVolts, dt);
+        double leftDistance = left.getPosition() - leftStart;
+        double rightDistance = right.getPosition() - rightStart;
+
+        double turn = Math.toDegrees((leftDistance - rightDistance) / trackWidth);
+        double midHeading = Math.toRadians(heading + turn / 2);
+        double distance = (leftDistance + rightDistance) / 2;
+        x += distance * Math.cos(midHeading);
+        y -= distance * Math.sin(midHeading);
+        heading += turn;
+    }
+
+    /**
+     * @return The left encoder position in ticks.
+     */
+    public int getLeftTicks() {
+        return (int) Math.round(-left.getPosition() * ticksPerInch);
+    }
+
+    /**
+     * @return The right encoder position in ticks.
+     */
+    public int getRightTicks() {
+        return (int) Math.round(-right.getPosition() * ticksPerInch);
+    }
+
+    /**
+     * @return The left encoder velocity in ticks per 100 ms.
+     */
+    public double getLeftTickVelocity() {
+        return -left.getVelocity() * ticksPerInch / 10;
+    }
+
+    /**
+     * @return The right encoder velocity in ticks per 100 ms.
+     */
+    public double getRightTickVelocity() {
+        return -right.getVelocity() * ticksPerInch / 10;
+    }
+
+    /**
+     * @return The gyro angle in degrees, clockwise positive and not wrapped.
+     */
+    public double getGyroAngle() {
+        return heading;
+    }
+
+    /**
+     * @return How far forwards the robot is from where it started, in inches.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * @return How far left the robot is from where it started, in inches.
+     */
+    public double getY() {
+        return y;
+    }
+}
@@ -0,0 +1,53 @@
+package frc.robot.sim;
+
+/**
+ * The shooter's single flywheel, driven by two NEOs facing each other. The right motor turns the opposite way to
+ * the left, so its voltage and velocity have the opposite sign.
+ */
+public class FlywheelModel {
+
+    private final VelocityModel wheel;
+    private final double shotLoss;
+
+    /**
+     * @param KS Volts needed to overcome friction.
+     * @param KV Volts per RPM.
+     * @param KA Volts per RPM per second, which is where the wheel's inertia comes in.
+     * @param ShotLoss How much of its velocity the wheel loses to each power cell shot through it (0 to 1).
+     */
+    public FlywheelModel(double KS, double KV, double KA, double ShotLoss) {
+        wheel = new VelocityModel(KS, KV, KA);
+        shotLoss = ShotLoss;
+    }
+
+    /**
+     * Moves the flywheel forwards in time.
+     * @param leftVolts Voltage given to the left motor.
+     * @param rightVolts Voltage given to the right motor.
+     * @param dt Seconds to step.
+     */
+    public void step(double leftVolts, double rightVolts, double dt) {
+        wheel.step((leftVolts - rightVolts) / 2, dt);
+    }
+
+    /**
+     * Slows the wheel down as a power cell goes through it.
+     */
+    public void shoot() {
+        wheel.loseVelocity(shotLoss);
+    }
+
+    /**
+     * @return The left motor's velocity in RPM.
+     */
+    public double getLeftVelocity() {
+        return wheel.getVelocity();
+    }
+
+    /**
+     * @return The right motor's velocity in RPM.
+     */
+    public double getRightVelocity() {
+        return -wheel.getVelocity();
+    }
+}
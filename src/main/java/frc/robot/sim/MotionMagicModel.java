@@ -0,0 +1,55 @@
+package frc.robot.sim;
+
+/**
+ * A Talon SRX running Motion Magic: it plans a trapezoidal profile to the target as it goes, and follows it with its
+ * position loop plus a velocity feedforward. Works in the Talon's units, ticks and ticks per 100 ms.
+ */
+public class MotionMagicModel {
+
+    private double position = 0; //profile position in ticks
+    private double velocity = 0; //profile velocity in ticks per second
+    private double lastError = 0;
+
+    /**
+     * Starts a new profile from where the mechanism is, at rest.
+     * @param Position The sensor position in ticks.
+     */
+    public void reset(double Position) {
+        position = Position;
+        velocity = 0;
+        lastError = 0;
+    }
+
+    /**
+     * Moves the profile forwards and runs the position loop.
+     * @param target Where to end up, in ticks.
+     * @param cruiseVelocity Fastest the profile goes, in ticks per 100 ms.
+     * @param acceleration How fast the profile speeds up and slows down, in ticks per 100 ms per second.
+     * @param sensorPosition Where the mechanism is, in ticks.
+     * @param f Feedforward gain in Talon output units (1023 is full) per tick per 100 ms.
+     * @param p Proportional gain in Talon output units per tick.
+     * @param d Derivative gain in Talon output units per tick of error per millisecond.
+     * @param dt Seconds to step.
+     * @return The loop's output (-1 to 1).
+     */
+    public double step(double target, double cruiseVelocity, double acceleration, double sensorPosition,
+                       double f, double p, double d, double dt) {
+        double cruise = cruiseVelocity * 10;
+        double accel = acceleration * 10;
+        double remaining = target - position;
+        double stopping = velocity * velocity / (2 * accel);
+        double wanted = (Math.abs(remaining) <= stopping && Math.signum(velocity) == Math.signum(remaining))
+            ? 0 : Math.signum(remaining) * cruise;
+        velocity += Math.max(-accel * dt, Math.min(accel * dt, wanted - velocity));
+        position += velocity * dt;
+        if (Math.abs(target - position) < 1 && Math.abs(velocity) <= accel * dt) {
+            position = target;
+            velocity = 0;
+        }
+
+        double error = position - sensorPosition;
+        double output = f * velocity / 10 + p * error + d * (error - lastError) / (dt * 1000);
+        lastError = error;
+        return Math.max(-1, Math.min(1, output / 1023));
+    }
+}
@@ -0,0 +1,190 @@
+package frc.robot.sim;
+
+import frc.robot.RobotMap;
+import frc.robot.control.EdgeQueue;
+import frc.robot.subsystems.io.IntakeIO;
+
+/**
+ * Stands in for the robot's mechanisms when running on a desktop. The sim IO implementations hand it the outputs
+ * the subsystems set and read the models' sensors back, and every loop it moves the models forwards. The drive
+ * outputs arrive from the drive thread, so stepping and setting them are synchronized.
+ */
+public class RobotSimulation {
+
+    public static final double batteryVoltage = 12.0;
+    private static final double maxStep = 0.001; //seconds per model step
+    private static final double maxGap = 0.1; //longer gaps than this (e.g. a breakpoint) aren't simulated
+
+    public static final DrivetrainModel drivetrain = new DrivetrainModel(1.0, 0.08, 0.012, 26, RobotMap.wheelDiameter);
+    public static final FlywheelModel flywheel = new FlywheelModel(1.05, 0.0019, 0.00057, 0.06);
+    public static final CellPathModel cells = new CellPathModel(flywheel, 3);
+    /** Every time the intake beam was broken or cleared, timed to the model step it happened in, like the interrupts. */
+    public static final EdgeQueue beamEdges = new EdgeQueue(IntakeIO.maxEdges);
+
+    private static final MotionMagicModel leftMotionMagic = new MotionMagicModel();
+    private static final MotionMagicModel rightMotionMagic = new MotionMagicModel();
+
+    private static double leftDriveVoltage = 0;
+    private static double rightDriveVoltage = 0;
+    private static boolean driveMotionMagic = false;
+    private static boolean driveVelocityMode = false;
+    private static double leftDriveTarget = 0;
+    private static double rightDriveTarget = 0;
+    private static double driveCruiseVelocity = 0;
+    private static double driveAcceleration = 0;
+    private static double driveF = 0;
+    private static double driveP = 0;
+    private static double driveD = 0;
+    private static double leftFlywheelVoltage = 0;
+    private static double rightFlywheelVoltage = 0;
+    private static boolean flywheelVelocityMode = false;
+    private static double leftFlywheelSetpoint = 0;
+    private static double rightFlywheelSetpoint = 0;
+    private static double flywheelP = 0;
+    private static double intakeOutput = 0;
+    private static double helixOutput = 0;
+
+    private static double lastTime = -1;
+
+    private RobotSimulation() {}
+
+    /**
+     * Moves the models up to the current time. Call once at the start of every loop, before <code>Sensors.update</code>.
+     * @param now The current time in seconds.
+     */
+    public static synchronized void step(double now) {
+        double dt = Math.min(now - lastTime, maxGap);
+        if (lastTime < 0) {
+            dt = 0;
+        }
+        lastTime = now;
+
+        double time = now - dt;
+        while (dt > 0) {
+            double step = Math.min(dt, maxStep);
+            if (driveMotionMagic) {
+                double left = leftMotionMagic.step(leftDriveTarget, driveCruiseVelocity, driveAcceleration,
+                    drivetrain.getLeftTicks(), driveF, driveP, driveD, step);
+                double right = rightMotionMagic.step(rightDriveTarget, driveCruiseVelocity, driveAcceleration,
+                    drivetrain.getRightTicks(), driveF, driveP, driveD, step);
+                drivetrain.step(driveLoop(left, leftDriveVoltage), driveLoop(right, rightDriveVoltage), step);
+            } else if (driveVelocityMode) {
+                double left = driveP * (leftDriveTarget - drivetrain.getLeftTickVelocity()) / 1023;
+                double right = driveP * (rightDriveTarget - drivetrain.getRightTickVelocity()) / 1023;
+                drivetrain.step(driveLoop(left, leftDriveVoltage), driveLoop(right, rightDriveVoltage), step);
+            } else {
+                drivetrain.step(leftDriveVoltage, rightDriveVoltage, step);
+            }
+            if (flywheelVelocityMode) {
+                flywheel.step(velocityLoop(leftFlywheelSetpoint, flywheel.getLeftVelocity(), leftFlywheelVoltage),
+                    velocityLoop(rightFlywheelSetpoint, flywheel.getRightVelocity(), rightFlywheelVoltage), step);
+            } else {
+                flywheel.step(leftFlywheelVoltage, rightFlywheelVoltage, step);
+            }
+            boolean wasBroken = cells.isBeamBroken();
+            cells.step(intakeOutput, helixOutput, step);
+            time += step;
+            if (cells.isBeamBroken() != wasBroken) {
+                beamEdges.offer(time, cells.isBeamBroken());
+            }
+            dt -= step;
+        }
+    }
+
+    public static synchronized void setDriveVoltages(double left, double right) {
+        driveMotionMagic = false;
+        driveVelocityMode = false;
+        leftDriveVoltage = left;
+        rightDriveVoltage = right;
+    }
+
+    /**
+     * Runs Motion Magic on the drive's middle Talons, like they do onboard every millisecond.
+     * @param left Left encoder target in ticks.
+     * @param right Right encoder target in ticks.
+     * @param leftFeedforward Volts added to the left side's loop.
+     * @param rightFeedforward Volts added to the right side's loop.
+     * @param cruiseVelocity Profile cruise velocity in ticks per 100 ms.
+     * @param acceleration Profile acceleration in ticks per 100 ms per second.
+     * @param f Feedforward gain in Talon units.
+     * @param p Proportional gain in Talon units.
+     * @param d Derivative gain in Talon units.
+     */
+    public static synchronized void setDriveMotionMagic(double left, double right, double leftFeedforward, double rightFeedforward,
+                                                        double cruiseVelocity, double acceleration, double f, double p, double d) {
+        if (!driveMotionMagic) {
+            leftMotionMagic.reset(drivetrain.getLeftTicks());
+            rightMotionMagic.reset(drivetrain.getRightTicks());
+        }
+        driveMotionMagic = true;
+        driveVelocityMode = false;
+        leftDriveTarget = left;
+        rightDriveTarget = right;
+        leftDriveVoltage = leftFeedforward;
+        rightDriveVoltage = rightFeedforward;
+        driveCruiseVelocity = cruiseVelocity;
+        driveAcceleration = acceleration;
+        driveF = f;
+        driveP = p;
+        driveD = d;
+    }
+
+    /**
+     * Runs the drive's middle Talons' velocity loops, like they do onboard every millisecond.
+     * @param left Left encoder velocity setpoint in ticks per 100 ms.
+     * @param right Right encoder velocity setpoint in ticks per 100 ms.
+     * @param leftFeedforward Volts added to the left side's loop.
+     * @param rightFeedforward Volts added to the right side's loop.
+     * @param p Proportional gain in Talon units.
+     */
+    public static synchronized void setDriveVelocities(double left, double right, double leftFeedforward, double rightFeedforward, double p) {
+        driveMotionMagic = false;
+        driveVelocityMode = true;
+        leftDriveTarget = left;
+        rightDriveTarget = right;
+        leftDriveVoltage = leftFeedforward;
+        rightDriveVoltage = rightFeedforward;
+        driveP = p;
+    }
+
+    private static double driveLoop(double output, double feedforward) {
+        double volts = output * batteryVoltage + feedforward;
+        return Math.max(-batteryVoltage, Math.min(batteryVoltage, volts));
+    }
+
+    public static void setFlywheelVoltages(double left, double right) {
+        flywheelVelocityMode = false;
+        leftFlywheelVoltage = left;
+        rightFlywheelVoltage = right;
+    }
+
+    /**
+     * Runs the flywheel motors' velocity loops, like the SPARK MAXes do onboard every millisecond.
+     * @param left Left motor setpoint in RPM.
+     * @param right Right motor setpoint in RPM.
+     * @param leftFeedforward Volts added to the left motor's loop.
+     * @param rightFeedforward Volts added to the right motor's loop.
+     * @param p Proportional gain in output (-1 to 1) per RPM of error.
+     */
+    public static void setFlywheelVelocities(double left, double right, double leftFeedforward, double rightFeedforward, double p) {
+        flywheelVelocityMode = true;
+        leftFlywheelSetpoint = left;
+        rightFlywheelSetpoint = right;
+        leftFlywheelVoltage = leftFeedforward;
+        rightFlywheelVoltage = rightFeedforward;
+        flywheelP = p;
+    }
+
+    private static double velocityLoop(double setpoint, double velocity, double feedforward) {
+        double volts = feedforward + flywheelP * (setpoint - velocity) * batteryVoltage;
+        return Math.max(-batteryVoltage, Math.min(batteryVoltage, volts));
+    }
+
+    public static void setIntakeOutput(double output) {
+        intakeOutput = output;
+    }
+
+    public static void setHelixOutput(double output) {
+        helixOutput = output;
+    }
+}
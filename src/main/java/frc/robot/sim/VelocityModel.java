@@ -0,0 +1,60 @@
+package frc.robot.sim;
+
+/**
+ * A mechanism whose velocity follows <code>V = kS * sign(v) + kV * v + kA * a</code>, the same model the
+ * characterization tool fits and <code>SimpleMotorFeedforward</code> inverts.
+ */
+public class VelocityModel {
+
+    private final double kS;
+    private final double kV;
+    private final double kA;
+
+    private double velocity = 0;
+    private double position = 0;
+
+    /**
+     * @param KS Volts needed to overcome friction.
+     * @param KV Volts per unit of velocity.
+     * @param KA Volts per unit of acceleration.
+     */
+    public VelocityModel(double KS, double KV, double KA) {
+        kS = KS;
+        kV = KV;
+        kA = KA;
+    }
+
+    /**
+     * Moves the model forwards in time.
+     * @param volts The voltage applied.
+     * @param dt Seconds to step, small enough that the velocity doesn't change much (a millisecond or so).
+     */
+    public void step(double volts, double dt) {
+        if (velocity == 0 && Math.abs(volts) <= kS) {
+            return; //static friction holds it still
+        }
+        double friction = (velocity != 0) ? Math.signum(velocity) * kS : Math.signum(volts) * kS;
+        double newVelocity = velocity + (volts - friction - kV * velocity) / kA * dt;
+        if (velocity != 0 && Math.signum(newVelocity) != Math.signum(velocity) && Math.abs(volts) <= kS) {
+            newVelocity = 0; //friction stops it rather than pushing it backwards
+        }
+        position += (velocity + newVelocity) / 2 * dt;
+        velocity = newVelocity;
+    }
+
+    /**
+     * Takes some velocity away all at once, like a power cell being squeezed through a flywheel.
+     * @param fraction How much of the velocity to lose (0 to 1).
+     */
+    public void loseVelocity(double fraction) {
+        velocity *= 1 - fraction;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getPosition() {
+        return position;
+    }
+}
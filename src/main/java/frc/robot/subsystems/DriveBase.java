@@ -1,141 +1,277 @@
 package frc.robot.subsystems;
 
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-import com.ctre.phoenix.motorcontrol.can.WPI_VictorSPX;
-import edu.wpi.first.wpilibj.ADXRS450_Gyro;
-// import com.analog.adis16470.frc.ADIS16470_IMU;
-import edu.wpi.first.wpilibj.SPI;
-import edu.wpi.first.wpilibj.SpeedControllerGroup;
 import edu.wpi.first.wpilibj.command.Subsystem;
-import edu.wpi.first.wpilibj.drive.DifferentialDrive;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
 import frc.robot.RobotMap;
 import frc.robot.commands.TankDrive;
+import frc.robot.control.CurvatureDrive;
+import frc.robot.subsystems.io.DriveIO;
 
 /**
  * The drive base of the robot. Includes all drive train motor controllers as well as sensors such as gyros and encoders, and can use PID to set its motor speeds.
+ * The hardware is behind a <code>DriveIO</code>, read once at the start of each loop. The outputs set in a loop are
+ * handed to <code>DriveLoop</code> at the end of it, which writes them on its own thread.
  */
 public class DriveBase extends Subsystem {
 
-    public WPI_TalonSRX leftMiddleMaster;
-    public WPI_TalonSRX rightMiddleMaster;
+    /** Effective distance between the left and right wheels, in metres. */
+    public static final double trackWidth = 0.66;
+    public static final DifferentialDriveKinematics kinematics = new DifferentialDriveKinematics(trackWidth);
+    /** Volts to drive each side, from its speed in metres per second and acceleration in metres per second squared. */
+    public static final SimpleMotorFeedforward feedforward = new SimpleMotorFeedforward(1.0, 3.15, 0.47);
 
-    // Comp bot/Practice bot
-    public WPI_VictorSPX leftFrontFollowerVictor;
-    public WPI_VictorSPX leftRearFollowerVictor;
-    public WPI_VictorSPX rightFrontFollowerVictor;
-    public WPI_VictorSPX rightRearFollowerVictor;
-
-    //Toaster
-    public WPI_TalonSRX leftFrontFollowerTalon;
-    public WPI_TalonSRX leftRearFollowerTalon;
-    public WPI_TalonSRX rightFrontFollowerTalon;
-    public WPI_TalonSRX rightRearFollowerTalon;
-
-    public ADXRS450_Gyro gyro;
-    private SpeedControllerGroup leftSide;
-    private SpeedControllerGroup rightSide;
-    public DifferentialDrive cheesyDrive;
-    private static final SPI.Port kGyroPort = SPI.Port.kOnboardCS0;
+    private final DriveIO io;
+    private final DriveIO.Inputs inputs = new DriveIO.Inputs();
+    private final DriveIO.Outputs outputs = new DriveIO.Outputs();
+    private final CurvatureDrive curvatureDrive = new CurvatureDrive();
+    private boolean joysticks = false;
+    private double joystickSpeedCap = 0;
+    private double joystickRotationCap = 0;
 
     public int leftMotorTicks = 0;
     public int rightMotorTicks = 0;
+    private double gyroOffset = 0;
+
+    private double commandTarget = 0;
+    private double commandSpeed = 0;
 
-    public DriveBase() {
+    /**
+     * @param IO The drive base's hardware, or a stand in for it.
+     */
+    public DriveBase(DriveIO IO) {
         super("DriveBase");
-        this.leftMiddleMaster = new WPI_TalonSRX(RobotMap.leftMiddleMaster);
-        this.rightMiddleMaster = new WPI_TalonSRX(RobotMap.rightMiddleMaster);
-        
-        if (RobotMap.botName == RobotMap.BotNames.COMPETITION || RobotMap.botName == RobotMap.BotNames.PRACTICE) {
-            //Practice/comp bot
-            this.leftFrontFollowerVictor = new WPI_VictorSPX(RobotMap.leftFrontFollower);
-            this.leftRearFollowerVictor = new WPI_VictorSPX(RobotMap.leftRearFollower);
-            this.rightFrontFollowerVictor = new WPI_VictorSPX(RobotMap.rightFrontFollower);
-            this.rightRearFollowerVictor = new WPI_VictorSPX(RobotMap.rightRearFollower);
+        io = IO;
 
-            leftFrontFollowerVictor.setInverted(true);
-            leftRearFollowerVictor.setInverted(true);
+        updateInputs();
+        leftMotorTicks = readLeftTicks();
+        rightMotorTicks = readRightTicks();
+    }
 
-            this.leftSide = new SpeedControllerGroup(leftMiddleMaster, leftFrontFollowerVictor, leftRearFollowerVictor);
-            this.rightSide = new SpeedControllerGroup(rightMiddleMaster, rightFrontFollowerVictor, rightRearFollowerVictor);
+    public void initDefaultCommand() {
+        this.setDefaultCommand(new TankDrive());
+    }
 
-        } else if (RobotMap.botName == RobotMap.BotNames.TOASTER) {
-            //Toaster
-            this.leftFrontFollowerTalon = new WPI_TalonSRX(RobotMap.leftFrontFollower);
-            this.leftRearFollowerTalon = new WPI_TalonSRX(RobotMap.leftRearFollower);
-            this.rightFrontFollowerTalon = new WPI_TalonSRX(RobotMap.rightFrontFollower);
-            this.rightRearFollowerTalon = new WPI_TalonSRX(RobotMap.rightRearFollower);
+    /**
+     * Sets drive train motors.
+     * @param left Left side motors' velocity (-1 to 1)
+     * @param right Right side motors' velocity (-1 to 1)
+     */
+    public void setMotors(double left, double right) {
+        joysticks = false;
+        outputs.mode = DriveIO.Mode.PERCENT;
+        outputs.left = left;
+        outputs.right = right;
+    }
 
-            leftFrontFollowerTalon.setInverted(true);
-            leftRearFollowerTalon.setInverted(true);
+    /**
+     * Drives each side to a position with the Talons' Motion Magic, which plans and follows a trapezoidal profile.
+     * @param leftTarget Left side target in ticks from the last <code>zeroEncoderPosition</code>.
+     * @param rightTarget Right side target in ticks from the last <code>zeroEncoderPosition</code>.
+     * @param leftFeedforward Output added to the left side (-1 to 1), e.g. to hold a heading.
+     * @param rightFeedforward Output added to the right side (-1 to 1).
+     * @param cruiseVelocity The profile's top speed in ticks per 100 ms.
+     * @param acceleration The profile's acceleration in ticks per 100 ms per second.
+     */
+    public void motionMagic(double leftTarget, double rightTarget, double leftFeedforward, double rightFeedforward,
+                            double cruiseVelocity, double acceleration) {
+        joysticks = false;
+        outputs.mode = DriveIO.Mode.MOTION_MAGIC;
+        outputs.left = leftTarget + leftMotorTicks;
+        outputs.right = rightTarget + rightMotorTicks;
+        outputs.leftFeedforward = leftFeedforward;
+        outputs.rightFeedforward = rightFeedforward;
+        outputs.cruiseVelocity = cruiseVelocity;
+        outputs.acceleration = acceleration;
+    }
 
-            this.leftSide = new SpeedControllerGroup(leftMiddleMaster, leftFrontFollowerTalon, leftRearFollowerTalon);
-            this.rightSide = new SpeedControllerGroup(rightMiddleMaster, rightFrontFollowerTalon, rightRearFollowerTalon);
-        }
+    /**
+     * Drives like a car, with the same maths as WPILib's <code>DifferentialDrive.curvatureDrive</code>.
+     * @param xSpeed The speed along the X axis (-1 to 1).
+     * @param zRotation The rotation rate (-1 to 1).
+     * @param isQuickTurn Whether to turn in place.
+     */
+    public void curvatureDrive(double xSpeed, double zRotation, boolean isQuickTurn) {
+        curvatureDrive.calculate(xSpeed, zRotation, isQuickTurn);
+        setMotors(curvatureDrive.getLeftOutput(), curvatureDrive.getRightOutput());
+    }
 
-        // this.gyro = new ADIS16470_IMU();
-        this.gyro = new ADXRS450_Gyro(kGyroPort);
+    /**
+     * Lets the driver drive: <code>DriveLoop</code> reads the joysticks and curvature drives from them every
+     * sample until the motors are set some other way.
+     * @param speedCap Fraction of full speed the driver can drive at (0 to 1).
+     * @param rotationCap Fraction of full rotation the driver can turn at (0 to 1).
+     */
+    public void driveWithJoysticks(double speedCap, double rotationCap) {
+        joysticks = true;
+        joystickSpeedCap = speedCap;
+        joystickRotationCap = rotationCap;
+    }
 
-        leftMotorTicks = leftMiddleMaster.getSelectedSensorPosition(0);
-        rightMotorTicks = rightMiddleMaster.getSelectedSensorPosition(0);
+    /**
+     * Holds each side at a speed with the Talons' velocity loops, e.g. to follow a trajectory.
+     * @param leftSpeed Left side speed in metres per second, positive forwards.
+     * @param rightSpeed Right side speed in metres per second, positive forwards.
+     * @param leftVolts Feedforward volts for the left side, positive forwards.
+     * @param rightVolts Feedforward volts for the right side, positive forwards.
+     */
+    public void setWheelSpeeds(double leftSpeed, double rightSpeed, double leftVolts, double rightVolts) {
+        //a negative output (and encoder count) drives a side forwards
+        joysticks = false;
+        outputs.mode = DriveIO.Mode.VELOCITY;
+        outputs.left = -metresToTicks(leftSpeed) / 10;
+        outputs.right = -metresToTicks(rightSpeed) / 10;
+        outputs.leftFeedforward = -leftVolts / 12;
+        outputs.rightFeedforward = -rightVolts / 12;
+    }
 
-        this.cheesyDrive = new DifferentialDrive(leftSide, rightSide);
+    /**
+     * @param metres A distance in metres.
+     * @return The distance in encoder ticks.
+     */
+    public static double metresToTicks(double metres) {
+        return metres / (RobotMap.wheelDiameter * 0.0254 * Math.PI) * 4096;
     }
 
-    public void initDefaultCommand() {
-        this.setDefaultCommand(new TankDrive());
+    /**
+     * @param ticks A distance in encoder ticks.
+     * @return The distance in metres.
+     */
+    public static double ticksToMetres(double ticks) {
+        return ticks / 4096 * (RobotMap.wheelDiameter * 0.0254 * Math.PI);
     }
 
     /**
-     * Sets drive train motors.
-     * @param left Left side motors' velocity (-1 to 1)
-     * @param right Right side motors' velocity (-1 to 1)
+     * @return The output last given to the left side motors (-1 to 1), or its target in ticks in Motion Magic.
      */
-    public void setMotors(double left, double right) {
-        leftSide.set(left);
-        rightSide.set(right);
+    public double getLeftOutput() {
+        return joysticks ? DriveLoop.getAppliedLeft() : outputs.left;
+    }
+
+    /**
+     * @return The output last given to the right side motors (-1 to 1), or its target in ticks in Motion Magic.
+     */
+    public double getRightOutput() {
+        return joysticks ? DriveLoop.getAppliedRight() : outputs.right;
+    }
+
+    /**
+     * Notes the target and speed of the autonomous drive command that just started, so they are recorded for replay.
+     * @param target The distance (ticks, negative for backwards) or angle (degrees) the command is going for.
+     * @param speed The speed the command was given (0 to 1).
+     */
+    public void setCommandSetpoint(double target, double speed) {
+        commandTarget = target;
+        commandSpeed = speed;
+    }
+
+    /**
+     * @return The target of the last autonomous drive command, in ticks or degrees.
+     */
+    public double getCommandTarget() {
+        return commandTarget;
+    }
+
+    /**
+     * @return The speed of the last autonomous drive command (0 to 1).
+     */
+    public double getCommandSpeed() {
+        return commandSpeed;
     }
 
     /**
      * Sets drive train motors to zero, effectively stopping the bot.
      */
     public void stopMotors() {
-        leftSide.set(0);
-        rightSide.set(0);
+        setMotors(0, 0);
     }
 
     /**
-     * @return Left side position in ticks.
+     * @return Left side position in ticks, as of the start of this loop.
      */
     public int getLeftPosition() {
-        return leftMiddleMaster.getSelectedSensorPosition(0) - leftMotorTicks;
+        return Sensors.get().leftTicks - leftMotorTicks;
     }
 
     /**
-     * @return Right side position in ticks.
+     * @return Right side position in ticks, as of the start of this loop.
      */
     public int getRightPosition() {
-        return rightMiddleMaster.getSelectedSensorPosition(0) - rightMotorTicks;
+        return Sensors.get().rightTicks - rightMotorTicks;
     }
 
     /**
-     * @return Angle at which the robot is positioned in degrees
+     * @return Angle at which the robot is positioned in degrees, as of the start of this loop.
      */
     public double getGyroAngle() {
-        return gyro.getAngle();
+        return Sensors.get().gyroAngle - gyroOffset;
     }
 
     /**
      * Resets the reference point used to calculate distance traveled. Does not physically change the encoder value.
      */
     public void zeroEncoderPosition() {
-        leftMotorTicks = leftMiddleMaster.getSelectedSensorPosition(0);
-        rightMotorTicks = rightMiddleMaster.getSelectedSensorPosition(0);
+        leftMotorTicks = Sensors.get().leftTicks;
+        rightMotorTicks = Sensors.get().rightTicks;
     }
 
     /**
-     * Sets the gyro angle to zero.
+     * Resets the reference point used to calculate the gyro angle. Does not physically reset the gyro,
+     * so the angle reads zero straight away instead of after the next snapshot.
      */
     public void zeroGyroAngle() {
-        gyro.reset();
+        gyroOffset = Sensors.get().gyroAngle;
+    }
+
+    /**
+     * Reads the sensors through the IO. Only <code>Sensors</code> should call this.
+     */
+    void updateInputs() {
+        io.updateInputs(inputs);
+    }
+
+    /**
+     * Reads just the encoders and gyro through the IO, for the odometry thread.
+     * @param fastInputs Where to put the values.
+     */
+    void updateFastInputs(DriveIO.FastInputs fastInputs) {
+        io.updateFastInputs(fastInputs);
+    }
+
+    /**
+     * Hands the outputs set this loop to the drive thread.
+     */
+    void applyOutputs() {
+        DriveLoop.publish(joysticks ? DriveLoop.Setpoint.joysticks(joystickSpeedCap, joystickRotationCap)
+            : DriveLoop.Setpoint.outputs(outputs));
+    }
+
+    /**
+     * Sets the motors through the IO. Only <code>DriveLoop</code> should call this.
+     * @param driveOutputs The values to set.
+     */
+    void writeOutputs(DriveIO.Outputs driveOutputs) {
+        io.applyOutputs(driveOutputs);
+    }
+
+    /**
+     * @return The left encoder position as of the last <code>updateInputs</code>. Use <code>getLeftPosition</code> instead.
+     */
+    int readLeftTicks() {
+        return inputs.leftTicks;
+    }
+
+    /**
+     * @return The right encoder position as of the last <code>updateInputs</code>. Use <code>getRightPosition</code> instead.
+     */
+    int readRightTicks() {
+        return inputs.rightTicks;
+    }
+
+    /**
+     * @return The gyro angle as of the last <code>updateInputs</code>. Use <code>getGyroAngle</code> instead.
+     */
+    double readGyroAngle() {
+        return inputs.gyroAngle;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package frc.robot.subsystems;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.control.CurvatureDrive;
+import frc.robot.control.TankDriveShaper;
+import frc.robot.subsystems.io.DriveIO;
+import frc.robot.userinterface.UserInterface;
+
+/**
+ * Writes the drive base's motors on its own real-time <code>Notifier</code> at 200 Hz, so driving isn't held up by
+ * Shuffleboard, the scheduler or the camera streams on the main thread.
+ *
+ * <p>Commands still set the drive base's outputs in the main loop, and at the end of each loop
+ * <code>DriveBase</code> hands them over as an immutable <code>Setpoint</code> through a volatile field, so neither
+ * thread ever waits for the other. When the driver has the robot, the setpoint just says so and the drive thread
+ * reads the joysticks, shapes them and works out the curvature drive itself every sample.</p>
+ *
+ * <p>When replaying there's no thread and each setpoint is written as soon as it's handed over.</p>
+ */
+public class DriveLoop {
+
+    private static final double period = 0.005; //seconds between samples
+    private static final int priority = 20; //real-time priority, above the main thread's default
+    private static final double latePeriods = 1.5; //a sample is late if it comes this many periods after the last
+    private static final int windowSize = 200; //samples per jitter report, 1 s
+
+    /**
+     * What the drive thread should do, as of the end of the last main loop.
+     */
+    static final class Setpoint {
+        /** Whether to drive from the driver's joysticks; the outputs are ignored if so. */
+        final boolean joysticks;
+        /** Fraction of full speed the joysticks can drive at. */
+        final double speedCap;
+        /** Fraction of full rotation the joysticks can turn at. */
+        final double rotationCap;
+        final DriveIO.Mode mode;
+        final double left;
+        final double right;
+        final double leftFeedforward;
+        final double rightFeedforward;
+        final double cruiseVelocity;
+        final double acceleration;
+
+        /**
+         * @param speedCap Fraction of full speed the joysticks can drive at.
+         * @param rotationCap Fraction of full rotation the joysticks can turn at.
+         * @return A setpoint that drives from the joysticks.
+         */
+        static Setpoint joysticks(double speedCap, double rotationCap) {
+            return new Setpoint(true, speedCap, rotationCap, new DriveIO.Outputs());
+        }
+
+        /**
+         * @param outputs What to give the motors; copied, so it can be changed afterwards.
+         * @return A setpoint that holds the outputs until the next.
+         */
+        static Setpoint outputs(DriveIO.Outputs outputs) {
+            return new Setpoint(false, 0, 0, outputs);
+        }
+
+        private Setpoint(boolean Joysticks, double SpeedCap, double RotationCap, DriveIO.Outputs Outputs) {
+            joysticks = Joysticks;
+            speedCap = SpeedCap;
+            rotationCap = RotationCap;
+            mode = Outputs.mode;
+            left = Outputs.left;
+            right = Outputs.right;
+            leftFeedforward = Outputs.leftFeedforward;
+            rightFeedforward = Outputs.rightFeedforward;
+            cruiseVelocity = Outputs.cruiseVelocity;
+            acceleration = Outputs.acceleration;
+        }
+    }
+
+    private static volatile Setpoint setpoint = Setpoint.outputs(new DriveIO.Outputs());
+
+    //only touched by whichever thread writes the motors
+    private static final TankDriveShaper shaper = new TankDriveShaper();
+    private static final CurvatureDrive curvatureDrive = new CurvatureDrive();
+    private static final DriveIO.Outputs outputs = new DriveIO.Outputs();
+    private static boolean prioritySet = false;
+    private static double lastSampleTime = -1;
+    private static int windowCount = 0;
+    private static double windowJitter = 0;
+    private static double windowMaxJitter = 0;
+
+    //what the last sample did, for the main thread
+    private static volatile double appliedLeft = 0;
+    private static volatile double appliedRight = 0;
+    private static volatile double meanJitter = 0;
+    private static volatile double maxJitter = 0;
+    private static volatile int lateCount = 0;
+
+    private static Notifier notifier;
+
+    /**
+     * Starts writing the motors on the drive thread. Does nothing if it's already started. When replaying, don't
+     * start it; setpoints are then written straight away.
+     */
+    public static synchronized void start() {
+        if (notifier == null) {
+            notifier = new Notifier(DriveLoop::sample);
+            notifier.setName("DriveLoop");
+            notifier.startPeriodic(period);
+        }
+    }
+
+    /**
+     * Hands a setpoint to the drive thread, which uses it from its next sample. Only <code>DriveBase</code> should
+     * call this.
+     * @param next What to do until the next.
+     */
+    static void publish(Setpoint next) {
+        setpoint = next;
+        boolean running;
+        synchronized (DriveLoop.class) {
+            running = notifier != null;
+        }
+        if (!running) {
+            apply(next);
+        }
+    }
+
+    /**
+     * @return The output the last sample gave the left side, in the units of its mode.
+     */
+    public static double getAppliedLeft() {
+        return appliedLeft;
+    }
+
+    /**
+     * @return The output the last sample gave the right side, in the units of its mode.
+     */
+    public static double getAppliedRight() {
+        return appliedRight;
+    }
+
+    /**
+     * @return The average difference between the time between samples and the period over the last second, in
+     * seconds.
+     */
+    public static double getMeanJitter() {
+        return meanJitter;
+    }
+
+    /**
+     * @return The largest difference between the time between samples and the period over the last second, in
+     * seconds.
+     */
+    public static double getMaxJitter() {
+        return maxJitter;
+    }
+
+    /**
+     * @return How many samples have come more than half a period late since the robot started.
+     */
+    public static int getLateCount() {
+        return lateCount;
+    }
+
+    private static void sample() {
+        if (!prioritySet) {
+            //the Notifier's thread is only known once it's running
+            Threads.setCurrentThreadPriority(true, priority);
+            prioritySet = true;
+        }
+        measureJitter(Timer.getFPGATimestamp());
+        apply(setpoint);
+    }
+
+    private static void apply(Setpoint setpoint) {
+        if (setpoint.joysticks) {
+            //read the sticks every sample; the main loop's snapshot is only updated every fourth
+            shaper.update(UserInterface.driverController.getRightJoystickYNow(),
+                UserInterface.driverController.getLeftJoystickXNow());
+            //because of how curvatureDrive is set up, the rotation goes in first, followed by the speed
+            curvatureDrive.calculate(setpoint.rotationCap * shaper.getRotation(),
+                setpoint.speedCap * shaper.getSpeed(), true);
+            outputs.mode = DriveIO.Mode.PERCENT;
+            outputs.left = curvatureDrive.getLeftOutput();
+            outputs.right = curvatureDrive.getRightOutput();
+        } else {
+            outputs.mode = setpoint.mode;
+            outputs.left = setpoint.left;
+            outputs.right = setpoint.right;
+            outputs.leftFeedforward = setpoint.leftFeedforward;
+            outputs.rightFeedforward = setpoint.rightFeedforward;
+            outputs.cruiseVelocity = setpoint.cruiseVelocity;
+            outputs.acceleration = setpoint.acceleration;
+        }
+        Subsystems.driveBase.writeOutputs(outputs);
+        appliedLeft = outputs.left;
+        appliedRight = outputs.right;
+    }
+
+    private static void measureJitter(double now) {
+        if (lastSampleTime >= 0) {
+            double interval = now - lastSampleTime;
+            double jitter = Math.abs(interval - period);
+            windowJitter += jitter;
+            windowMaxJitter = Math.max(windowMaxJitter, jitter);
+            if (interval > latePeriods * period) {
+                lateCount++;
+            }
+            if (++windowCount == windowSize) {
+                meanJitter = windowJitter / windowCount;
+                maxJitter = windowMaxJitter;
+                windowCount = 0;
+                windowJitter = 0;
+                windowMaxJitter = 0;
+            }
+        }
+        lastSampleTime = now;
+    }
+}
@@ -2,68 +2,192 @@ package frc.robot.subsystems;
 
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.command.Subsystem;
-import com.revrobotics.CANEncoder;
-import com.revrobotics.CANSparkMax;
-import com.revrobotics.CANSparkMaxLowLevel.MotorType;
-import frc.robot.RobotMap;
+import frc.robot.control.FlywheelMonitor;
+import frc.robot.subsystems.io.FlyboiIO;
+import frc.robot.telemetry.Logger;
 
 /**
- * The shooter, composed of a single flywheel.
+ * The shooter, composed of a single flywheel. Its speed is held by the SPARK MAXes' velocity loops, and it keeps
+ * track of how long it takes to spin up and to recover from each shot.
  */
 public class Flyboi extends Subsystem {
 
-    private CANSparkMax leftFlywheel;
-    private CANSparkMax rightFlywheel;
-    public CANEncoder leftEncoder;
-    public CANEncoder rightEncoder;
+    /** The velocity that counts as full power, in RPM. */
+    public static final double maxVelocity = 5600;
+
+    private static final int upToSpeedMessage = Logger.register(Logger.Level.INFO, "Flywheel up to speed in {} s");
+    private static final int recoveredMessage = Logger.register(Logger.Level.DEBUG, "Flywheel recovered in {} s");
+
+    private final FlyboiIO io;
+    private final FlyboiIO.Inputs inputs = new FlyboiIO.Inputs();
+    private final FlyboiIO.Outputs outputs = new FlyboiIO.Outputs();
     private SimpleMotorFeedforward feedforward;
+    private final FlywheelMonitor monitor = new FlywheelMonitor();
 
     public double wheelSpeed = 0.80;
 
-    public Flyboi() {
+    private volatile double leftVoltage = 0; //read by the telemetry stream's thread
+    private volatile double rightVoltage = 0;
+    private volatile double setpoint = 0; //read by the shot detector
+
+    /**
+     * @param IO The shooter's hardware, or a stand in for it.
+     */
+    public Flyboi(FlyboiIO IO) {
         super("Flyboi");
-        this.leftFlywheel = new CANSparkMax(RobotMap.leftFlywheel, MotorType.kBrushless);
-        this.rightFlywheel = new CANSparkMax(RobotMap.rightFlywheel, MotorType.kBrushless);
-        this.leftEncoder = leftFlywheel.getEncoder();
-        this.rightEncoder = rightFlywheel.getEncoder();
+        io = IO;
 
-        this.feedforward = new SimpleMotorFeedforward(1.05, 1.0);
+        this.feedforward = new SimpleMotorFeedforward(1.05, 10.9 / maxVelocity); //volts per RPM
     }
 
     public void initDefaultCommand() {}
 
+    @Override
+    public void periodic() {
+        FlywheelMonitor.Event event = monitor.update(setpoint, getVelocity(), Sensors.get().timestamp);
+        if (event == FlywheelMonitor.Event.UP_TO_SPEED) {
+            Logger.log(upToSpeedMessage, monitor.getSpinUpTime());
+        } else if (event == FlywheelMonitor.Event.RECOVERED) {
+            Logger.log(recoveredMessage, monitor.getLastRecoveryTime());
+        }
+    }
+
     /**
-     * Spins wheel motors. Recommended to use <code>setShootVoltage</code> instead.
+     * Spins wheel motors. Recommended to use <code>setVelocity</code> instead.
      * @param speed The speed to set the flywheel to (-1 to 1).
      */
     public void spinWheel(double speed) {
-        leftFlywheel.set(speed);
-        rightFlywheel.set(-speed);
+        setOutputs(speed, -speed, FlyboiIO.Mode.PERCENT);
+        setpoint = 0;
+        leftVoltage = speed * 12.0; //nominal, for recording
+        rightVoltage = -speed * 12.0;
     }
 
     /**
      * Stops wheel motors.
      */
     public void stopWheel() {
-        leftFlywheel.set(0);
-        rightFlywheel.set(0);
+        setOutputs(0, 0, FlyboiIO.Mode.PERCENT);
+        setpoint = 0;
+        leftVoltage = 0;
+        rightVoltage = 0;
     }
 
     /**
-     * @return The velocity of the flywheel as found by the left flywheel encoder (around -1 to 1).
+     * @return The velocity of the flywheel as found by the left flywheel encoder (around -1 to 1), as of the start of this loop.
      */
     public double getPower() {
-        return (leftEncoder.getVelocity()/5600);
+        return (getVelocity()/maxVelocity);
+    }
+
+    /**
+     * @return The velocity of the flywheel in RPM as found by the left flywheel encoder, as of the start of this loop.
+     */
+    public double getVelocity() {
+        return Sensors.get().leftFlywheelVelocity;
+    }
+
+    /**
+     * Reads the sensors through the IO. Only <code>Sensors</code> should call this.
+     */
+    void updateInputs() {
+        io.updateInputs(inputs);
+    }
+
+    /**
+     * Reads what the shot detector needs through the IO. Safe to call from the detector's thread.
+     * @param fastInputs Where to put the values.
+     */
+    void updateFastInputs(FlyboiIO.FastInputs fastInputs) {
+        io.updateFastInputs(fastInputs);
+    }
+
+    /**
+     * Sends the outputs set this loop through the IO.
+     */
+    void applyOutputs() {
+        io.applyOutputs(outputs);
+    }
+
+    /**
+     * @return The left flywheel velocity in RPM as of the last <code>updateInputs</code>. Use <code>getPower</code> instead.
+     */
+    double readLeftVelocity() {
+        return inputs.leftVelocity;
+    }
+
+    /**
+     * @return The right flywheel velocity in RPM as of the last <code>updateInputs</code>.
+     */
+    double readRightVelocity() {
+        return inputs.rightVelocity;
+    }
+
+    /**
+     * Holds the flywheel at a velocity with the SPARK MAXes' onboard velocity loops, with the feedforward doing most of the work.
+     * @param rpm The velocity to hold in RPM, as seen by the left motor.
+     */
+    public void setVelocity(double rpm) {
+        setpoint = rpm;
+        leftVoltage = feedforward.calculate(rpm);
+        rightVoltage = feedforward.calculate(-rpm);
+        setOutputs(rpm, -rpm, FlyboiIO.Mode.VELOCITY);
+        outputs.leftFeedforward = leftVoltage;
+        outputs.rightFeedforward = rightVoltage;
+    }
+
+    private void setOutputs(double left, double right, FlyboiIO.Mode mode) {
+        outputs.left = left;
+        outputs.right = right;
+        outputs.mode = mode;
+    }
+
+    /**
+     * @return The velocity the flywheel is being held at in RPM, 0 if it isn't.
+     */
+    public double getSetpoint() {
+        return setpoint;
+    }
+
+    /**
+     * @return Whether the flywheel is within tolerance of its setpoint.
+     */
+    public boolean isAtSpeed() {
+        return monitor.isAtSpeed();
+    }
+
+    /**
+     * @return Seconds the flywheel last took to get up to a new setpoint.
+     */
+    public double getSpinUpTime() {
+        return monitor.getSpinUpTime();
+    }
+
+    /**
+     * @return Seconds the flywheel took to recover from the last shot.
+     */
+    public double getLastRecoveryTime() {
+        return monitor.getLastRecoveryTime();
+    }
+
+    /**
+     * @return The average seconds the flywheel has taken to recover from a shot.
+     */
+    public double getAverageRecoveryTime() {
+        return monitor.getAverageRecoveryTime();
+    }
+
+    /**
+     * @return The voltage last set on the left flywheel motor, or its feedforward when holding a velocity.
+     */
+    public double getLeftVoltage() {
+        return leftVoltage;
     }
 
     /**
-     * Spins wheel motors at a certain speed by setting its desired voltage.
-     * This will attempt to keep the flywheel velocity at a little above the velocity input, according to <code>getPower</code>.
-     * The actual velocity will fluctuate a little, but will attempt to stay at this voltage no matter the battery level.
-     * @param speed The speed to set the flywheel to (around -1 to 1).
+     * @return The voltage last set on the right flywheel motor, or its feedforward when holding a velocity.
      */
-    public void setShootVoltage(double speed) {
-        leftFlywheel.setVoltage(feedforward.calculate(speed*10.9));
-        rightFlywheel.setVoltage(feedforward.calculate(-speed*10.9));
+    public double getRightVoltage() {
+        return rightVoltage;
     }
 }
\ No newline at end of file
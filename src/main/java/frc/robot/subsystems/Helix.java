@@ -1,22 +1,23 @@
 package frc.robot.subsystems;
 
 import edu.wpi.first.wpilibj.command.Subsystem;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-import frc.robot.RobotMap;
-import com.ctre.phoenix.motorcontrol.ControlMode;
+import frc.robot.RobotState;
+import frc.robot.subsystems.io.HelixIO;
 
 /**
  * The helix, the storage mechanism, with a spinning brush and cell stop piston.
  */
 public class Helix extends Subsystem {
 
-    public WPI_TalonSRX helicase;
+    private final HelixIO io;
+    private final HelixIO.Outputs outputs = new HelixIO.Outputs();
 
-    public int cellCount = 3;
-
-    public Helix() {
+    /**
+     * @param IO The helix's hardware, or a stand in for it.
+     */
+    public Helix(HelixIO IO) {
         super("Helix");
-        this.helicase = new WPI_TalonSRX(RobotMap.helicase);
+        io = IO;
     }
 
     protected void initDefaultCommand() {}
@@ -26,13 +27,58 @@ public class Helix extends Subsystem {
      * @param power The power with which to spin the brush (-1 to 1).
      */
     public void setHelixMotors(double power) {
-        helicase.set(ControlMode.PercentOutput, power); //is -power for practice bot
+        outputs.power = power;
     }
 
     /**
      * Stops the helix brush.
      */
     public void stopHelixMotors() {
-        helicase.set(ControlMode.PercentOutput, 0);
+        outputs.power = 0;
+    }
+
+    /**
+     * @return The power last given to the helix brush (-1 to 1).
+     */
+    public double getOutput() {
+        return outputs.power;
+    }
+
+    /**
+     * @return The number of power cells thought to be in the robot. Kept in <code>RobotState</code>, since the
+     * shot detector takes cells off from its own thread.
+     */
+    public int getCellCount() {
+        return RobotState.get().cellCount;
+    }
+
+    /**
+     * @param count The number of power cells now in the robot.
+     */
+    public void setCellCount(int count) {
+        RobotState.setCellCount(count);
+    }
+
+    /**
+     * @param cells Power cells that just came in, or went out if negative.
+     * @return The new cell count.
+     */
+    public int addCells(int cells) {
+        return RobotState.addCells(cells);
+    }
+
+    /**
+     * Takes off a cell that was just shot.
+     * @return The new cell count.
+     */
+    public int removeCell() {
+        return RobotState.addCells(-1);
+    }
+
+    /**
+     * Sends the outputs set this loop through the IO.
+     */
+    void applyOutputs() {
+        io.applyOutputs(outputs);
     }
 }
\ No newline at end of file
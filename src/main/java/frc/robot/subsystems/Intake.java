@@ -1,26 +1,23 @@
 package frc.robot.subsystems;
 
 import edu.wpi.first.wpilibj.command.Subsystem;
-import edu.wpi.first.wpilibj.DoubleSolenoid;
-import com.ctre.phoenix.motorcontrol.ControlMode;
-import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-import edu.wpi.first.wpilibj.DigitalInput;
-import frc.robot.RobotMap;
+import frc.robot.subsystems.io.IntakeIO;
 
 /**
  * The intake. Includes intake motors and pistons for intake extension.
  */
 public class Intake extends Subsystem {
 
-    public WPI_TalonSRX intakeMotor;
-    public DoubleSolenoid intakeExtension;
-    public DigitalInput intakeBeamBreak;
+    private final IntakeIO io;
+    private final IntakeIO.Inputs inputs = new IntakeIO.Inputs();
+    private final IntakeIO.Outputs outputs = new IntakeIO.Outputs();
 
-    public Intake() {
+    /**
+     * @param IO The intake's hardware, or a stand in for it.
+     */
+    public Intake(IntakeIO IO) {
         super("Intake");
-        this.intakeMotor = new WPI_TalonSRX(RobotMap.intakeMotor);
-        this.intakeBeamBreak = new DigitalInput(RobotMap.intakeBeamBreak);
-        this.intakeExtension = new DoubleSolenoid(RobotMap.intakeExtensionOut, RobotMap.intakeExtensionIn);
+        io = IO;
     }
 
     protected void initDefaultCommand() {}
@@ -30,34 +27,85 @@ public class Intake extends Subsystem {
      * @param power The power at which the intake motors are set [-1 to 1].
      */
     public void setIntakeMotors(double power) {
-        intakeMotor.set(ControlMode.PercentOutput, power);
+        outputs.power = power;
     }
 
     /**
      * Stops intake motors.
      */
     public void stopIntakeMotors() {
-        intakeMotor.set(ControlMode.PercentOutput, 0.0);
+        outputs.power = 0;
+    }
+
+    /**
+     * @return The power last given to the intake motors (-1 to 1).
+     */
+    public double getOutput() {
+        return outputs.power;
     }
 
     /**
      * Extends the intake (intake down).
      */
     public void intakeExtend() {
-        intakeExtension.set(DoubleSolenoid.Value.kForward);
+        outputs.extension = IntakeIO.Extension.EXTENDED;
     }
 
     /**
      * Retracts the intake (intake up).
      */
     public void intakeRetract() {
-        intakeExtension.set(DoubleSolenoid.Value.kReverse);
+        outputs.extension = IntakeIO.Extension.RETRACTED;
     }
 
     /**
-     * @return Whether the intake beam break currently detects something.
+     * @return Whether the intake beam break detected something at the start of this loop.
      */
     public boolean getCellEntered() {
-        return !intakeBeamBreak.get();
+        return Sensors.get().cellEntered;
+    }
+
+    /**
+     * @return How many times the beam was broken or cleared between the last loop's sensor update and this one's.
+     */
+    public int getEdgeCount() {
+        return inputs.edgeCount;
+    }
+
+    /**
+     * @param edge Which of this loop's edges, oldest first.
+     * @return When the edge happened in seconds.
+     */
+    public double getEdgeTime(int edge) {
+        return inputs.edgeTimes[edge];
+    }
+
+    /**
+     * @param edge Which of this loop's edges, oldest first.
+     * @return Whether the edge broke the beam (a cell arrived) rather than cleared it (a cell left).
+     */
+    public boolean isEdgeBroken(int edge) {
+        return inputs.edgeBroken[edge];
+    }
+
+    /**
+     * Reads the sensors through the IO. Only <code>Sensors</code> should call this.
+     */
+    void updateInputs() {
+        io.updateInputs(inputs);
+    }
+
+    /**
+     * Sends the outputs set this loop through the IO.
+     */
+    void applyOutputs() {
+        io.applyOutputs(outputs);
+    }
+
+    /**
+     * @return Whether the beam break detected something as of the last <code>updateInputs</code>. Use <code>getCellEntered</code> instead.
+     */
+    boolean readCellEntered() {
+        return inputs.cellEntered;
     }
 }
\ No newline at end of file
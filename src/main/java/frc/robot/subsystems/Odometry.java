@@ -0,0 +1,132 @@
+package frc.robot.subsystems;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveOdometry;
+import frc.robot.control.PoseEstimator;
+import frc.robot.subsystems.io.DriveIO;
+import frc.robot.telemetry.Logger;
+
+/**
+ * Tracks where the robot is on the field from the drive encoders and gyro, on its own <code>Notifier</code> at
+ * 200 Hz so the pose doesn't lose accuracy through fast turns between loops. Unlike the drive commands it never
+ * zeroes anything, so the pose carries on across the whole match.
+ *
+ * <p>Poses are in metres and radians, counterclockwise positive, as WPILib expects: x forwards and y to the left
+ * of wherever the pose was last reset.</p>
+ *
+ * <p>Wheel slip and gyro drift build up over a long autonomous, so the pose can also be corrected by vision with
+ * <code>addVisionMeasurement</code>. Frames arrive a camera's latency late; the estimator keeps the last couple of
+ * seconds of odometry and applies each frame at the time it was taken.</p>
+ */
+public class Odometry {
+
+    private static final double period = 0.005; //seconds between samples
+    private static final double visionTranslationWeight = 0.2;
+    private static final double visionHeadingWeight = 0.1;
+    private static final double visionMaxJump = 1; //metres
+
+    private static final DriveIO.FastInputs inputs = new DriveIO.FastInputs();
+    private static final DifferentialDriveOdometry odometry = new DifferentialDriveOdometry(new Rotation2d());
+    private static int leftOffset = 0;
+    private static int rightOffset = 0;
+    private static final PoseEstimator estimator = new PoseEstimator(visionTranslationWeight, visionHeadingWeight,
+        visionMaxJump);
+    private static volatile Pose2d pose = new Pose2d();
+    private static volatile Pose2d odometryPose = new Pose2d();
+
+    private static final int rejectedMessage = Logger.register(Logger.Level.WARNING,
+        "Vision pose rejected, {} so far", 1.0);
+
+    private static Notifier notifier;
+
+    /**
+     * Starts sampling the drive base. Does nothing if it's already started. When replaying, call
+     * <code>update</code> from the loop instead.
+     */
+    public static synchronized void start() {
+        if (notifier == null) {
+            notifier = new Notifier(Odometry::sample);
+            notifier.setName("Odometry");
+            notifier.startPeriodic(period);
+        }
+    }
+
+    /**
+     * @return Where the robot was at the last sample, corrected by vision.
+     */
+    public static Pose2d getPose() {
+        return pose;
+    }
+
+    /**
+     * @return Where the encoders and gyro alone put the robot at the last sample.
+     */
+    public static Pose2d getOdometryPose() {
+        return odometryPose;
+    }
+
+    /**
+     * Says where the robot is now, e.g. at the start of an autonomous path.
+     * @param Pose The robot's pose.
+     */
+    public static synchronized void reset(Pose2d Pose) {
+        Subsystems.driveBase.updateFastInputs(inputs);
+        leftOffset = inputs.leftTicks;
+        rightOffset = inputs.rightTicks;
+        odometry.resetPosition(Pose, gyroRotation(inputs.gyroAngle));
+        estimator.reset();
+        pose = Pose;
+        odometryPose = Pose;
+    }
+
+    /**
+     * Corrects the pose with where a camera saw the robot.
+     * @param Pose The robot's pose according to the camera, in the same frame as the last <code>reset</code>.
+     * @param Timestamp The FPGA time the frame was captured, not when it was processed.
+     * @return Whether it was used; frames older than the pose history or too far from the estimate are not.
+     */
+    public static synchronized boolean addVisionMeasurement(Pose2d Pose, double Timestamp) {
+        boolean used = estimator.addVision(Timestamp, Pose.getX(), Pose.getY(), Pose.getRotation().getRadians());
+        if (used) {
+            pose = estimatedPose();
+        } else {
+            Logger.log(rejectedMessage, estimator.getRejectedCount());
+        }
+        return used;
+    }
+
+    /**
+     * Moves the pose on from a reading of the drive base.
+     * @param time When the reading was taken, in seconds.
+     * @param leftTicks Left encoder position in ticks.
+     * @param rightTicks Right encoder position in ticks.
+     * @param gyroAngle Gyro angle in degrees, clockwise positive.
+     */
+    public static synchronized void update(double time, int leftTicks, int rightTicks, double gyroAngle) {
+        //a side's encoder counts down as it drives forwards
+        Pose2d measured = odometry.update(gyroRotation(gyroAngle), DriveBase.ticksToMetres(leftOffset - leftTicks),
+            DriveBase.ticksToMetres(rightOffset - rightTicks));
+        estimator.addOdometry(time, measured.getX(), measured.getY(), measured.getRotation().getRadians());
+        odometryPose = measured;
+        pose = estimatedPose();
+    }
+
+    private static void sample() {
+        synchronized (Odometry.class) {
+            Subsystems.driveBase.updateFastInputs(inputs);
+            update(Timer.getFPGATimestamp(), inputs.leftTicks, inputs.rightTicks, inputs.gyroAngle);
+        }
+    }
+
+    private static Pose2d estimatedPose() {
+        double[] estimate = estimator.getEstimate();
+        return new Pose2d(estimate[0], estimate[1], new Rotation2d(estimate[2]));
+    }
+
+    private static Rotation2d gyroRotation(double gyroAngle) {
+        return Rotation2d.fromDegrees(-gyroAngle);
+    }
+}
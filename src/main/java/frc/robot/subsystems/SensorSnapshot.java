@@ -0,0 +1,36 @@
+package frc.robot.subsystems;
+
+/**
+ * The robot's sensor values, all sampled together at the start of a loop. Never changes once made.
+ */
+public final class SensorSnapshot {
+
+    /** When the sensors were sampled, in seconds (FPGA time). */
+    public final double timestamp;
+
+    /** Raw left drive encoder position in ticks (not zeroed). */
+    public final int leftTicks;
+    /** Raw right drive encoder position in ticks (not zeroed). */
+    public final int rightTicks;
+    /** Raw gyro angle in degrees (not zeroed). */
+    public final double gyroAngle;
+
+    /** Left flywheel velocity in RPM. */
+    public final double leftFlywheelVelocity;
+    /** Right flywheel velocity in RPM. */
+    public final double rightFlywheelVelocity;
+
+    /** Whether the intake beam break detects a cell. */
+    public final boolean cellEntered;
+
+    public SensorSnapshot(double Timestamp, int LeftTicks, int RightTicks, double GyroAngle,
+            double LeftFlywheelVelocity, double RightFlywheelVelocity, boolean CellEntered) {
+        timestamp = Timestamp;
+        leftTicks = LeftTicks;
+        rightTicks = RightTicks;
+        gyroAngle = GyroAngle;
+        leftFlywheelVelocity = LeftFlywheelVelocity;
+        rightFlywheelVelocity = RightFlywheelVelocity;
+        cellEntered = CellEntered;
+    }
+}
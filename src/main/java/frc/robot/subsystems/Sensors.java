@@ -0,0 +1,46 @@
+package frc.robot.subsystems;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Samples every sensor once per loop so commands and the dashboard all see the same values
+ * without each of them going out to the CAN bus or SPI again.
+ */
+public class Sensors {
+
+    private static volatile SensorSnapshot latest = new SensorSnapshot(0, 0, 0, 0, 0, 0, false);
+
+    /**
+     * Reads all sensors into a new snapshot. Call once at the start of every loop.
+     * When replaying, moves on to the next record first and uses its timestamp.
+     */
+    public static void update() {
+        if (Subsystems.replaySource != null) {
+            Subsystems.replaySource.next();
+        }
+        Subsystems.driveBase.updateInputs();
+        Subsystems.flyboi.updateInputs();
+        Subsystems.intake.updateInputs();
+
+        latest = new SensorSnapshot(
+            (Subsystems.replaySource != null) ? Subsystems.replaySource.getTimestamp() : Timer.getFPGATimestamp(),
+            Subsystems.driveBase.readLeftTicks(),
+            Subsystems.driveBase.readRightTicks(),
+            Subsystems.driveBase.readGyroAngle(),
+            Subsystems.flyboi.readLeftVelocity(),
+            Subsystems.flyboi.readRightVelocity(),
+            Subsystems.intake.readCellEntered());
+
+        if (Subsystems.replaySource != null) {
+            //no odometry thread when replaying, so the pose moves on once a loop from the recording
+            Odometry.update(latest.timestamp, latest.leftTicks, latest.rightTicks, latest.gyroAngle);
+        }
+    }
+
+    /**
+     * @return The snapshot taken at the start of this loop.
+     */
+    public static SensorSnapshot get() {
+        return latest;
+    }
+}
@@ -0,0 +1,101 @@
+package frc.robot.subsystems;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.control.DipDetector;
+import frc.robot.subsystems.io.FlyboiIO;
+import frc.robot.telemetry.Logger;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watches the flywheel on its own <code>Notifier</code> at 250 Hz, well above the main loop's rate, so that shots
+ * in a fast volley aren't missed. Each shot takes a cell off the helix's count and is passed to any listeners. Dips
+ * only count as shots while a volley is feeding cells into the wheel, see <code>setFeeding</code>.
+ */
+public class ShotDetector {
+
+    /**
+     * Told about every shot. Called on the detector's thread, so must be quick and thread safe.
+     */
+    public interface Listener {
+        /**
+         * @param timestamp When the shot was detected, in seconds (FPGA time).
+         * @param cellsLeft The helix's cell count after the shot.
+         */
+        void shotDetected(double timestamp, int cellsLeft);
+    }
+
+    private static final double period = 0.004; //seconds between samples
+    private static final int shotMessage = Logger.register(Logger.Level.INFO, "BALL SHOT, {} BALLS REMAINING");
+
+    private static final DipDetector detector = new DipDetector();
+    private static final FlyboiIO.FastInputs inputs = new FlyboiIO.FastInputs();
+    private static final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger shotCount = new AtomicInteger();
+    private static volatile double lastShotTime = -1;
+    private static volatile boolean feeding = false;
+
+    private static Notifier notifier;
+
+    /**
+     * Starts sampling the flywheel. Does nothing if it's already started.
+     */
+    public static synchronized void start() {
+        if (notifier == null) {
+            notifier = new Notifier(ShotDetector::sample);
+            notifier.setName("ShotDetector");
+            notifier.startPeriodic(period);
+        }
+    }
+
+    /**
+     * @param listener Something to tell about every shot from now on.
+     */
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener Something that shouldn't be told about shots any more.
+     */
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param isFeeding Whether the helix is now feeding cells into the flywheel to be shot.
+     */
+    public static void setFeeding(boolean isFeeding) {
+        feeding = isFeeding;
+    }
+
+    /**
+     * @return How many shots have been detected since the robot started.
+     */
+    public static int getShotCount() {
+        return shotCount.get();
+    }
+
+    /**
+     * @return When the last shot was detected in seconds, -1 if there hasn't been one.
+     */
+    public static double getLastShotTime() {
+        return lastShotTime;
+    }
+
+    private static void sample() {
+        Subsystems.flyboi.updateFastInputs(inputs);
+        double now = Timer.getFPGATimestamp();
+        if (detector.update(Subsystems.flyboi.getSetpoint(), inputs.leftVelocity, inputs.leftCurrent, feeding, now)) {
+            int cellsLeft = Subsystems.helix.removeCell();
+            lastShotTime = now;
+            shotCount.incrementAndGet();
+            Logger.log(shotMessage, cellsLeft);
+            for (Listener listener : listeners) {
+                listener.shotDetected(now, cellsLeft);
+            }
+        }
+    }
+}
@@ -1,13 +1,41 @@
 package frc.robot.subsystems;
 
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.robot.replay.ReplaySource;
+import frc.robot.subsystems.io.*;
+
 /**
  * Contains instances of all subsystems on the robot.
  */
 public class Subsystems {
 
-    public static final DriveBase driveBase = new DriveBase();
-    public static final Flyboi flyboi = new Flyboi();
-    public static final Helix helix = new Helix();
-    public static final Intake intake = new Intake();
+    /**
+     * Where the subsystems' IO goes.
+     */
+    public enum Backend {REAL, SIM, REPLAY}
+
+    /** REAL on the robot. On a desktop, REPLAY if the REPLAY environment variable names a recording, otherwise SIM. */
+    public static final Backend backend = RobotBase.isReal() ? Backend.REAL
+        : (System.getenv("REPLAY") != null) ? Backend.REPLAY : Backend.SIM;
+    /** The recording being replayed, or null if the backend isn't REPLAY. */
+    public static final ReplaySource replaySource = (backend == Backend.REPLAY) ? ReplaySource.open(System.getenv("REPLAY")) : null;
+
+    public static final DriveBase driveBase = new DriveBase((backend == Backend.REAL) ? new RealDriveIO()
+        : (backend == Backend.SIM) ? new SimDriveIO() : new ReplayDriveIO(replaySource));
+    public static final Flyboi flyboi = new Flyboi((backend == Backend.REAL) ? new RealFlyboiIO()
+        : (backend == Backend.SIM) ? new SimFlyboiIO() : new ReplayFlyboiIO(replaySource));
+    public static final Helix helix = new Helix((backend == Backend.REAL) ? new RealHelixIO()
+        : (backend == Backend.SIM) ? new SimHelixIO() : new ReplayHelixIO());
+    public static final Intake intake = new Intake((backend == Backend.REAL) ? new RealIntakeIO()
+        : (backend == Backend.SIM) ? new SimIntakeIO() : new ReplayIntakeIO(replaySource));
 
-}
\ No newline at end of file
+    /**
+     * Sends every subsystem's outputs to its IO. Call once at the end of every loop.
+     */
+    public static void applyOutputs() {
+        driveBase.applyOutputs();
+        flyboi.applyOutputs();
+        helix.applyOutputs();
+        intake.applyOutputs();
+    }
+}
@@ -0,0 +1,150 @@
+package frc.robot.subsystems;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.subsystems.io.DriveIO;
+import frc.robot.subsystems.io.FlyboiIO;
+import frc.robot.telemetry.Logger;
+import frc.robot.telemetry.StreamFormat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the flywheel and drive base at 200 Hz over UDP, for tuning with <code>./gradlew receiveTelemetry</code>
+ * when NetworkTables is too coarse. Off unless <code>RobotMap.telemetryStreamTarget</code> is set.
+ *
+ * <p>A <code>Notifier</code> samples the hardware and packs each sample straight into a datagram buffer; full
+ * buffers go to a sender thread, so the sampler never waits on the network. The buffers are pooled, and if the
+ * sender falls behind samples are dropped rather than queued. See <code>StreamFormat</code> for the layout.</p>
+ */
+public class TelemetryStream {
+
+    private static final double period = 0.005; //seconds between samples
+    private static final int bufferCount = 8;
+
+    private static final int startedMessage = Logger.register(Logger.Level.INFO,
+        "Streaming telemetry on port {}");
+    private static final int failedMessage = Logger.register(Logger.Level.WARNING,
+        "Telemetry stream couldn't send, {} datagrams lost so far", 1.0);
+
+    private static final DriveIO.FastInputs driveInputs = new DriveIO.FastInputs();
+    private static final FlyboiIO.FastInputs flyboiInputs = new FlyboiIO.FastInputs();
+    private static final BlockingQueue<ByteBuffer> freeBuffers = new ArrayBlockingQueue<>(bufferCount);
+    private static final BlockingQueue<ByteBuffer> fullBuffers = new ArrayBlockingQueue<>(bufferCount);
+    private static final AtomicInteger droppedCount = new AtomicInteger();
+    private static ByteBuffer current;
+    private static int sampleCount = 0;
+    private static int sequence = 0;
+
+    private static Notifier notifier;
+
+    /**
+     * Starts sampling and sending. Does nothing if it's already started.
+     * @param target Where to send the datagrams.
+     */
+    public static synchronized void start(InetSocketAddress target) {
+        if (notifier != null) {
+            return;
+        }
+        DatagramChannel channel;
+        try {
+            channel = DatagramChannel.open();
+            channel.connect(target);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't stream telemetry to " + target, e);
+        }
+        for (int i = 0; i < bufferCount; i++) {
+            freeBuffers.add(ByteBuffer.allocateDirect(StreamFormat.maxDatagramSize).order(ByteOrder.BIG_ENDIAN));
+        }
+
+        Thread sender = new Thread(() -> send(channel), "TelemetryStream");
+        sender.setDaemon(true);
+        sender.start();
+
+        notifier = new Notifier(TelemetryStream::sample);
+        notifier.setName("TelemetrySampler");
+        notifier.startPeriodic(period);
+        Logger.log(startedMessage, target.getPort());
+    }
+
+    /**
+     * @param target Where to stream to, as host:port, or just a port to stream to this computer.
+     * @return The address.
+     */
+    public static InetSocketAddress parseTarget(String target) {
+        int colon = target.lastIndexOf(':');
+        if (colon < 0) {
+            return new InetSocketAddress("localhost", Integer.parseInt(target.trim()));
+        }
+        return new InetSocketAddress(target.substring(0, colon), Integer.parseInt(target.substring(colon + 1).trim()));
+    }
+
+    /**
+     * @return How many samples were thrown away because the sender was behind, or datagrams it couldn't send.
+     */
+    public static int getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static void sample() {
+        if (current == null) {
+            current = freeBuffers.poll();
+            if (current == null) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            current.clear();
+            current.position(StreamFormat.headerSize);
+            sampleCount = 0;
+        }
+
+        Subsystems.driveBase.updateFastInputs(driveInputs);
+        Subsystems.flyboi.updateFastInputs(flyboiInputs);
+        //in the order of StreamFormat.Signal
+        current.putDouble(Timer.getFPGATimestamp());
+        current.putFloat((float) flyboiInputs.leftVelocity);
+        current.putFloat((float) flyboiInputs.rightVelocity);
+        current.putFloat((float) Subsystems.flyboi.getLeftVoltage());
+        current.putFloat((float) Subsystems.flyboi.getRightVoltage());
+        current.putFloat(driveInputs.leftTicks);
+        current.putFloat(driveInputs.rightTicks);
+        current.putFloat((float) driveInputs.gyroAngle);
+        current.putFloat((float) DriveLoop.getAppliedLeft());
+        current.putFloat((float) DriveLoop.getAppliedRight());
+
+        if (++sampleCount == StreamFormat.samplesPerDatagram) {
+            current.putInt(0, StreamFormat.magic);
+            current.putShort(Integer.BYTES, (short) StreamFormat.version);
+            current.putShort(Integer.BYTES + Short.BYTES, (short) sampleCount);
+            current.putInt(Integer.BYTES + 2 * Short.BYTES, sequence++);
+            current.flip();
+            fullBuffers.add(current); //can't be full, there are only as many buffers as it holds
+            current = null;
+        }
+    }
+
+    private static void send(DatagramChannel channel) {
+        while (true) {
+            ByteBuffer buffer;
+            try {
+                buffer = fullBuffers.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                channel.write(buffer);
+            } catch (IOException e) {
+                //e.g. nothing listening yet; the datagram is lost either way
+                Logger.log(failedMessage, droppedCount.incrementAndGet());
+            }
+            freeBuffers.add(buffer);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package frc.robot.subsystems.io;
+
+/**
+ * The drive base's hardware: three motors and an encoder per side, and the gyro.
+ */
+public interface DriveIO {
+
+    /** Fastest each side can drive, in encoder ticks per 100 ms (the Talons' velocity unit). */
+    double maxVelocity = 2200;
+    /** Motion Magic feedforward, in Talon output units (1023 is full) per tick per 100 ms. */
+    double motionMagicF = 1023 / maxVelocity;
+    /** Motion Magic proportional gain, in Talon output units per tick of error. */
+    double motionMagicP = 0.3;
+    /** Motion Magic derivative gain, in Talon output units per tick of error per millisecond. */
+    double motionMagicD = 3.0;
+    /** Velocity loop proportional gain, in Talon output units per tick per 100 ms of error. */
+    double velocityP = 0.4;
+
+    /**
+     * How the outputs are meant.
+     */
+    enum Mode {
+        /** Output from -1 to 1. */
+        PERCENT,
+        /** Encoder position in ticks, followed by the Talons' Motion Magic profile on top of the feedforward. */
+        MOTION_MAGIC,
+        /** Encoder velocity in ticks per 100 ms, held by the Talons' velocity loop on top of the feedforward. */
+        VELOCITY
+    }
+
+    /**
+     * Everything read from the drive base in one loop.
+     */
+    class Inputs {
+        /** Left encoder position in ticks. */
+        public int leftTicks = 0;
+        /** Right encoder position in ticks. */
+        public int rightTicks = 0;
+        /** Gyro angle in degrees, clockwise positive. */
+        public double gyroAngle = 0;
+    }
+
+    /**
+     * What odometry and the telemetry stream sample between loops.
+     */
+    class FastInputs {
+        /** Left encoder position in ticks. */
+        public int leftTicks = 0;
+        /** Right encoder position in ticks. */
+        public int rightTicks = 0;
+        /** Gyro angle in degrees, clockwise positive. */
+        public double gyroAngle = 0;
+    }
+
+    /**
+     * Everything given to the drive base in one loop.
+     */
+    class Outputs {
+        /** Left side motors' output, in the units <code>mode</code> says. */
+        public double left = 0;
+        /** Right side motors' output, in the units <code>mode</code> says. */
+        public double right = 0;
+        /** How the outputs are meant. */
+        public Mode mode = Mode.PERCENT;
+        /** Output (-1 to 1) added to the left side's Motion Magic or velocity loop. */
+        public double leftFeedforward = 0;
+        /** Output (-1 to 1) added to the right side's Motion Magic or velocity loop. */
+        public double rightFeedforward = 0;
+        /** Motion Magic cruise velocity in ticks per 100 ms. */
+        public double cruiseVelocity = 0;
+        /** Motion Magic acceleration in ticks per 100 ms per second. */
+        public double acceleration = 0;
+    }
+
+    /**
+     * Reads all of the drive base's sensors.
+     * @param inputs Where to put the values.
+     */
+    void updateInputs(Inputs inputs);
+
+    /**
+     * Reads the encoders and gyro. Called from the odometry and telemetry stream threads, so must be thread safe.
+     * @param inputs Where to put the values.
+     */
+    void updateFastInputs(FastInputs inputs);
+
+    /**
+     * Sets all of the drive base's motors.
+     * @param outputs The values to set.
+     */
+    void applyOutputs(Outputs outputs);
+}
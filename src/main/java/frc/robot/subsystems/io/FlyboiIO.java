@@ -0,0 +1,76 @@
+package frc.robot.subsystems.io;
+
+/**
+ * The shooter's hardware: two SPARK MAXes driving one flywheel, each with its built in encoder.
+ */
+public interface FlyboiIO {
+
+    /** Proportional gain of the velocity loop, in output (-1 to 1) per RPM of error. */
+    double velocityP = 0.0004;
+
+    /**
+     * How the outputs are meant.
+     */
+    enum Mode {
+        /** Output from -1 to 1. */
+        PERCENT,
+        /** RPM, held by the motor controller's velocity loop on top of the feedforward voltage. */
+        VELOCITY
+    }
+
+    /**
+     * Everything read from the shooter in one loop.
+     */
+    class Inputs {
+        /** Left motor velocity in RPM. */
+        public double leftVelocity = 0;
+        /** Right motor velocity in RPM. */
+        public double rightVelocity = 0;
+    }
+
+    /**
+     * What the shot detector and telemetry stream sample between loops.
+     */
+    class FastInputs {
+        /** Left motor velocity in RPM. */
+        public double leftVelocity = 0;
+        /** Right motor velocity in RPM. */
+        public double rightVelocity = 0;
+        /** Left motor output current in amps, 0 if it isn't known. */
+        public double leftCurrent = 0;
+    }
+
+    /**
+     * Everything given to the shooter in one loop.
+     */
+    class Outputs {
+        /** Left motor output, in the units <code>mode</code> says. */
+        public double left = 0;
+        /** Right motor output, in the units <code>mode</code> says. */
+        public double right = 0;
+        /** How the outputs are meant. */
+        public Mode mode = Mode.PERCENT;
+        /** Volts added to the left motor's velocity loop. */
+        public double leftFeedforward = 0;
+        /** Volts added to the right motor's velocity loop. */
+        public double rightFeedforward = 0;
+    }
+
+    /**
+     * Reads all of the shooter's sensors.
+     * @param inputs Where to put the values.
+     */
+    void updateInputs(Inputs inputs);
+
+    /**
+     * Reads what the shot detector and telemetry stream need. Called from their threads, so must be thread safe.
+     * @param inputs Where to put the values.
+     */
+    void updateFastInputs(FastInputs inputs);
+
+    /**
+     * Sets both of the shooter's motors.
+     * @param outputs The values to set.
+     */
+    void applyOutputs(Outputs outputs);
+}
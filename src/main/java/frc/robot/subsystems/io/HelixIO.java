@@ -0,0 +1,21 @@
+package frc.robot.subsystems.io;
+
+/**
+ * The helix's hardware: the brush motor. It has no sensors, so there's nothing to read.
+ */
+public interface HelixIO {
+
+    /**
+     * Everything given to the helix in one loop.
+     */
+    class Outputs {
+        /** Brush motor output (-1 to 1, positive towards the shooter). */
+        public double power = 0;
+    }
+
+    /**
+     * Sets the helix motor.
+     * @param outputs The values to set.
+     */
+    void applyOutputs(Outputs outputs);
+}
@@ -0,0 +1,51 @@
+package frc.robot.subsystems.io;
+
+/**
+ * The intake's hardware: the roller motor, the extension pistons and the beam break.
+ */
+public interface IntakeIO {
+
+    /**
+     * Which way the extension pistons are pushed.
+     */
+    enum Extension {OFF, EXTENDED, RETRACTED}
+
+    /** Most beam break edges kept between two updates. */
+    int maxEdges = 32;
+
+    /**
+     * Everything read from the intake in one loop.
+     */
+    class Inputs {
+        /** Whether something is breaking the beam. */
+        public boolean cellEntered = false;
+        /** How many times the beam was broken or cleared since the last update. */
+        public int edgeCount = 0;
+        /** When each edge happened in seconds (FPGA time), oldest first. */
+        public final double[] edgeTimes = new double[maxEdges];
+        /** Whether each edge broke the beam (a cell arrived) rather than cleared it (a cell left). */
+        public final boolean[] edgeBroken = new boolean[maxEdges];
+    }
+
+    /**
+     * Everything given to the intake in one loop.
+     */
+    class Outputs {
+        /** Roller motor output (-1 to 1, positive inwards). */
+        public double power = 0;
+        /** Where the pistons should be. */
+        public Extension extension = Extension.OFF;
+    }
+
+    /**
+     * Reads all of the intake's sensors.
+     * @param inputs Where to put the values.
+     */
+    void updateInputs(Inputs inputs);
+
+    /**
+     * Sets the intake's motor and pistons.
+     * @param outputs The values to set.
+     */
+    void applyOutputs(Outputs outputs);
+}
@@ -0,0 +1,142 @@
+package frc.robot.subsystems.io;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.can.BaseMotorController;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import com.ctre.phoenix.motorcontrol.can.WPI_VictorSPX;
+import edu.wpi.first.wpilibj.ADXRS450_Gyro;
+import edu.wpi.first.wpilibj.SPI;
+import edu.wpi.first.wpilibj.SpeedControllerGroup;
+import frc.robot.RobotMap;
+
+/**
+ * The drive base's Talons, Victors (or Talons on the toaster) and ADXRS450 gyro.
+ *
+ * <p>In Motion Magic and velocity modes the middle Talons run the loop themselves (Motion Magic in slot 0, velocity
+ * in slot 1), and the other controllers on each side follow them. Each master's sensor phase comes from
+ * <code>RobotMap</code>, since the loops need the encoder to count the same way as the output.</p>
+ */
+public class RealDriveIO implements DriveIO {
+
+    private static final SPI.Port kGyroPort = SPI.Port.kOnboardCS0;
+    private static final int configTimeout = 10; //ms, only used at startup
+
+    private final WPI_TalonSRX leftMiddleMaster;
+    private final WPI_TalonSRX rightMiddleMaster;
+    private final ADXRS450_Gyro gyro;
+    private SpeedControllerGroup leftSide;
+    private SpeedControllerGroup rightSide;
+    private BaseMotorController[] leftFollowers;
+    private BaseMotorController[] rightFollowers;
+
+    private Mode lastMode = Mode.PERCENT;
+    private double lastCruiseVelocity = -1;
+    private double lastAcceleration = -1;
+
+    public RealDriveIO() {
+        this.leftMiddleMaster = new WPI_TalonSRX(RobotMap.leftMiddleMaster);
+        this.rightMiddleMaster = new WPI_TalonSRX(RobotMap.rightMiddleMaster);
+
+        if (RobotMap.botName == RobotMap.BotNames.COMPETITION || RobotMap.botName == RobotMap.BotNames.PRACTICE) {
+            //Practice/comp bot
+            WPI_VictorSPX leftFrontFollower = new WPI_VictorSPX(RobotMap.leftFrontFollower);
+            WPI_VictorSPX leftRearFollower = new WPI_VictorSPX(RobotMap.leftRearFollower);
+            WPI_VictorSPX rightFrontFollower = new WPI_VictorSPX(RobotMap.rightFrontFollower);
+            WPI_VictorSPX rightRearFollower = new WPI_VictorSPX(RobotMap.rightRearFollower);
+
+            leftFrontFollower.setInverted(true);
+            leftRearFollower.setInverted(true);
+
+            this.leftSide = new SpeedControllerGroup(leftMiddleMaster, leftFrontFollower, leftRearFollower);
+            this.rightSide = new SpeedControllerGroup(rightMiddleMaster, rightFrontFollower, rightRearFollower);
+            this.leftFollowers = new BaseMotorController[] {leftFrontFollower, leftRearFollower};
+            this.rightFollowers = new BaseMotorController[] {rightFrontFollower, rightRearFollower};
+
+        } else if (RobotMap.botName == RobotMap.BotNames.TOASTER) {
+            //Toaster
+            WPI_TalonSRX leftFrontFollower = new WPI_TalonSRX(RobotMap.leftFrontFollower);
+            WPI_TalonSRX leftRearFollower = new WPI_TalonSRX(RobotMap.leftRearFollower);
+            WPI_TalonSRX rightFrontFollower = new WPI_TalonSRX(RobotMap.rightFrontFollower);
+            WPI_TalonSRX rightRearFollower = new WPI_TalonSRX(RobotMap.rightRearFollower);
+
+            leftFrontFollower.setInverted(true);
+            leftRearFollower.setInverted(true);
+
+            this.leftSide = new SpeedControllerGroup(leftMiddleMaster, leftFrontFollower, leftRearFollower);
+            this.rightSide = new SpeedControllerGroup(rightMiddleMaster, rightFrontFollower, rightRearFollower);
+            this.leftFollowers = new BaseMotorController[] {leftFrontFollower, leftRearFollower};
+            this.rightFollowers = new BaseMotorController[] {rightFrontFollower, rightRearFollower};
+        }
+
+        // this.gyro = new ADIS16470_IMU();
+        this.gyro = new ADXRS450_Gyro(kGyroPort);
+
+        leftMiddleMaster.setSensorPhase(RobotMap.leftSensorPhase);
+        rightMiddleMaster.setSensorPhase(RobotMap.rightSensorPhase);
+        for (WPI_TalonSRX master : new WPI_TalonSRX[] {leftMiddleMaster, rightMiddleMaster}) {
+            master.config_kF(0, motionMagicF, configTimeout);
+            master.config_kP(0, motionMagicP, configTimeout);
+            master.config_kI(0, 0, configTimeout);
+            master.config_kD(0, motionMagicD, configTimeout);
+            master.config_kF(1, 0, configTimeout); //the velocity loop's feedforward comes from the robot
+            master.config_kP(1, velocityP, configTimeout);
+            master.config_kI(1, 0, configTimeout);
+            master.config_kD(1, 0, configTimeout);
+            master.selectProfileSlot(0, 0);
+        }
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.leftTicks = leftMiddleMaster.getSelectedSensorPosition(0);
+        inputs.rightTicks = rightMiddleMaster.getSelectedSensorPosition(0);
+        inputs.gyroAngle = gyro.getAngle();
+    }
+
+    @Override
+    public void updateFastInputs(FastInputs inputs) {
+        inputs.leftTicks = leftMiddleMaster.getSelectedSensorPosition(0);
+        inputs.rightTicks = rightMiddleMaster.getSelectedSensorPosition(0);
+        inputs.gyroAngle = gyro.getAngle();
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        if (outputs.mode != Mode.PERCENT && outputs.mode != lastMode) {
+            if (lastMode == Mode.PERCENT) {
+                for (BaseMotorController follower : leftFollowers) {
+                    follower.follow(leftMiddleMaster);
+                }
+                for (BaseMotorController follower : rightFollowers) {
+                    follower.follow(rightMiddleMaster);
+                }
+            }
+            int slot = (outputs.mode == Mode.MOTION_MAGIC) ? 0 : 1;
+            leftMiddleMaster.selectProfileSlot(slot, 0);
+            rightMiddleMaster.selectProfileSlot(slot, 0);
+        }
+
+        if (outputs.mode == Mode.MOTION_MAGIC) {
+            if (outputs.cruiseVelocity != lastCruiseVelocity || outputs.acceleration != lastAcceleration) {
+                //no timeout, so the loop doesn't wait on the CAN bus
+                leftMiddleMaster.configMotionCruiseVelocity((int) outputs.cruiseVelocity, 0);
+                leftMiddleMaster.configMotionAcceleration((int) outputs.acceleration, 0);
+                rightMiddleMaster.configMotionCruiseVelocity((int) outputs.cruiseVelocity, 0);
+                rightMiddleMaster.configMotionAcceleration((int) outputs.acceleration, 0);
+                lastCruiseVelocity = outputs.cruiseVelocity;
+                lastAcceleration = outputs.acceleration;
+            }
+            leftMiddleMaster.set(ControlMode.MotionMagic, outputs.left, DemandType.ArbitraryFeedForward, outputs.leftFeedforward);
+            rightMiddleMaster.set(ControlMode.MotionMagic, outputs.right, DemandType.ArbitraryFeedForward, outputs.rightFeedforward);
+        } else if (outputs.mode == Mode.VELOCITY) {
+            leftMiddleMaster.set(ControlMode.Velocity, outputs.left, DemandType.ArbitraryFeedForward, outputs.leftFeedforward);
+            rightMiddleMaster.set(ControlMode.Velocity, outputs.right, DemandType.ArbitraryFeedForward, outputs.rightFeedforward);
+        } else {
+            //setting the group takes the followers back out of follower mode
+            leftSide.set(outputs.left);
+            rightSide.set(outputs.right);
+        }
+        lastMode = outputs.mode;
+    }
+}
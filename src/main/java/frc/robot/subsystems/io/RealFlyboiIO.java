@@ -0,0 +1,66 @@
+package frc.robot.subsystems.io;
+
+import com.revrobotics.CANEncoder;
+import com.revrobotics.CANPIDController;
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.CANSparkMaxLowLevel.MotorType;
+import com.revrobotics.CANSparkMaxLowLevel.PeriodicFrame;
+import com.revrobotics.ControlType;
+import frc.robot.RobotMap;
+
+/**
+ * The shooter's two SPARK MAXes.
+ */
+public class RealFlyboiIO implements FlyboiIO {
+
+    private final CANSparkMax leftFlywheel;
+    private final CANSparkMax rightFlywheel;
+    private final CANEncoder leftEncoder;
+    private final CANEncoder rightEncoder;
+    private final CANPIDController leftController;
+    private final CANPIDController rightController;
+
+    public RealFlyboiIO() {
+        this.leftFlywheel = new CANSparkMax(RobotMap.leftFlywheel, MotorType.kBrushless);
+        this.rightFlywheel = new CANSparkMax(RobotMap.rightFlywheel, MotorType.kBrushless);
+        this.leftEncoder = leftFlywheel.getEncoder();
+        this.rightEncoder = rightFlywheel.getEncoder();
+        //the shot detector samples faster than the 20ms default, so send velocity and current more often
+        leftFlywheel.setPeriodicFramePeriod(PeriodicFrame.kStatus1, 5);
+        this.leftController = leftFlywheel.getPIDController();
+        this.rightController = rightFlywheel.getPIDController();
+
+        //the feedforward comes from Flyboi as a voltage, so the onboard loop only corrects the error
+        for (CANPIDController controller : new CANPIDController[] {leftController, rightController}) {
+            controller.setP(velocityP);
+            controller.setI(0);
+            controller.setD(0);
+            controller.setFF(0);
+            controller.setOutputRange(-1, 1);
+        }
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.leftVelocity = leftEncoder.getVelocity();
+        inputs.rightVelocity = rightEncoder.getVelocity();
+    }
+
+    @Override
+    public void updateFastInputs(FastInputs inputs) {
+        inputs.leftVelocity = leftEncoder.getVelocity();
+        inputs.rightVelocity = rightEncoder.getVelocity();
+        inputs.leftCurrent = leftFlywheel.getOutputCurrent();
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        if (outputs.mode == Mode.VELOCITY) {
+            leftController.setReference(outputs.left, ControlType.kVelocity, 0, outputs.leftFeedforward);
+            rightController.setReference(outputs.right, ControlType.kVelocity, 0, outputs.rightFeedforward);
+        } else {
+            leftFlywheel.set(outputs.left);
+            rightFlywheel.set(outputs.right);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package frc.robot.subsystems.io;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import frc.robot.RobotMap;
+
+/**
+ * The helix's Talon.
+ */
+public class RealHelixIO implements HelixIO {
+
+    private final WPI_TalonSRX helicase;
+
+    public RealHelixIO() {
+        this.helicase = new WPI_TalonSRX(RobotMap.helicase);
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        helicase.set(ControlMode.PercentOutput, outputs.power); //is -power for practice bot
+    }
+}
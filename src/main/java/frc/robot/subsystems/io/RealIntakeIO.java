@@ -0,0 +1,83 @@
+package frc.robot.subsystems.io;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import edu.wpi.first.wpilibj.DigitalInput;
+import edu.wpi.first.wpilibj.DoubleSolenoid;
+import edu.wpi.first.wpilibj.InterruptHandlerFunction;
+import frc.robot.RobotMap;
+import frc.robot.control.EdgeQueue;
+
+/**
+ * The intake's Talon, double solenoid and beam break.
+ *
+ * <p>The beam break fires an interrupt on both edges, and the handler queues each edge with the FPGA's timestamp
+ * for it. That way two cells close together are still two cells, however long the main loop takes.</p>
+ */
+public class RealIntakeIO implements IntakeIO {
+
+    private final WPI_TalonSRX intakeMotor;
+    private final DoubleSolenoid intakeExtension;
+    private final DigitalInput intakeBeamBreak;
+    private final EdgeQueue edges = new EdgeQueue(maxEdges);
+
+    private Extension lastExtension = Extension.OFF;
+
+    public RealIntakeIO() {
+        this.intakeMotor = new WPI_TalonSRX(RobotMap.intakeMotor);
+        this.intakeBeamBreak = new DigitalInput(RobotMap.intakeBeamBreak);
+        this.intakeExtension = new DoubleSolenoid(RobotMap.intakeExtensionOut, RobotMap.intakeExtensionIn);
+
+        intakeBeamBreak.requestInterrupts(new InterruptHandlerFunction<Object>() {
+            @Override
+            public void interruptFired(int interruptAssertedMask, Object param) {
+                queueEdges(interruptAssertedMask);
+            }
+        });
+        intakeBeamBreak.setUpSourceEdge(true, true);
+        intakeBeamBreak.enableInterrupts();
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.cellEntered = !intakeBeamBreak.get();
+        inputs.edgeCount = edges.drain(inputs.edgeTimes, inputs.edgeBroken);
+    }
+
+    /**
+     * Runs on the interrupt thread. The beam break's output goes low when a cell breaks the beam.
+     * @param mask Which edges fired: bit 0 is rising, bit 8 is falling.
+     */
+    private void queueEdges(int mask) {
+        boolean rising = (mask & 0x1) != 0;
+        boolean falling = (mask & 0x100) != 0;
+        double risingTime = rising ? intakeBeamBreak.readRisingTimestamp() : 0;
+        double fallingTime = falling ? intakeBeamBreak.readFallingTimestamp() : 0;
+        if (rising && falling && risingTime < fallingTime) { //both since the last interrupt, so keep them in order
+            edges.offer(risingTime, false);
+            edges.offer(fallingTime, true);
+            return;
+        }
+        if (falling) {
+            edges.offer(fallingTime, true);
+        }
+        if (rising) {
+            edges.offer(risingTime, false);
+        }
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        intakeMotor.set(ControlMode.PercentOutput, outputs.power);
+        if (outputs.extension != lastExtension) { //only talk to the PCM when the pistons change
+            if (outputs.extension == Extension.EXTENDED) {
+                intakeExtension.set(DoubleSolenoid.Value.kForward);
+            } else if (outputs.extension == Extension.RETRACTED) {
+                intakeExtension.set(DoubleSolenoid.Value.kReverse);
+            } else {
+                intakeExtension.set(DoubleSolenoid.Value.kOff);
+            }
+            lastExtension = outputs.extension;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package frc.robot.subsystems.io;
+
+import frc.robot.replay.ReplaySource;
+
+/**
+ * The drive base's sensors as they were in a match recording. Outputs go nowhere.
+ */
+public class ReplayDriveIO implements DriveIO {
+
+    private final ReplaySource source;
+    private final int leftTicksField;
+    private final int rightTicksField;
+    private final int gyroField;
+
+    /**
+     * @param Source The recording being replayed.
+     */
+    public ReplayDriveIO(ReplaySource Source) {
+        source = Source;
+        leftTicksField = source.field("left_ticks");
+        rightTicksField = source.field("right_ticks");
+        gyroField = source.field("gyro_angle");
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.leftTicks = (int) source.get(leftTicksField);
+        inputs.rightTicks = (int) source.get(rightTicksField);
+        inputs.gyroAngle = source.get(gyroField);
+    }
+
+    @Override
+    public void updateFastInputs(FastInputs inputs) {
+        inputs.leftTicks = (int) source.get(leftTicksField);
+        inputs.rightTicks = (int) source.get(rightTicksField);
+        inputs.gyroAngle = source.get(gyroField);
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {}
+}
@@ -0,0 +1,38 @@
+package frc.robot.subsystems.io;
+
+import frc.robot.replay.ReplaySource;
+
+/**
+ * The shooter's sensors as they were in a match recording. Outputs go nowhere.
+ */
+public class ReplayFlyboiIO implements FlyboiIO {
+
+    private final ReplaySource source;
+    private final int leftVelocityField;
+    private final int rightVelocityField;
+
+    /**
+     * @param Source The recording being replayed.
+     */
+    public ReplayFlyboiIO(ReplaySource Source) {
+        source = Source;
+        leftVelocityField = source.field("left_flywheel_velocity");
+        rightVelocityField = source.field("right_flywheel_velocity");
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.leftVelocity = source.get(leftVelocityField);
+        inputs.rightVelocity = source.get(rightVelocityField);
+    }
+
+    @Override
+    public void updateFastInputs(FastInputs inputs) {
+        inputs.leftVelocity = source.get(leftVelocityField);
+        inputs.rightVelocity = source.get(rightVelocityField);
+        inputs.leftCurrent = 0; //not recorded
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {}
+}
@@ -0,0 +1,10 @@
+package frc.robot.subsystems.io;
+
+/**
+ * The helix when replaying a match recording. It has no sensors, so this does nothing.
+ */
+public class ReplayHelixIO implements HelixIO {
+
+    @Override
+    public void applyOutputs(Outputs outputs) {}
+}
@@ -0,0 +1,43 @@
+package frc.robot.subsystems.io;
+
+import frc.robot.replay.ReplaySource;
+
+/**
+ * The intake's beam break as it was in a match recording. Outputs go nowhere.
+ *
+ * <p>Only how many edges happened each loop is recorded, not when, so they're all given the record's timestamp.
+ * Edges always alternate, so which way each one went follows from the beam's state in the loop before.</p>
+ */
+public class ReplayIntakeIO implements IntakeIO {
+
+    private final ReplaySource source;
+    private final int cellEnteredField;
+    private final int beamEdgesField;
+
+    private boolean lastCellEntered = false;
+
+    /**
+     * @param Source The recording being replayed.
+     */
+    public ReplayIntakeIO(ReplaySource Source) {
+        source = Source;
+        cellEnteredField = source.field("cell_entered");
+        beamEdgesField = source.field("beam_edges");
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.cellEntered = source.get(cellEnteredField) != 0;
+        inputs.edgeCount = Math.min((int) source.get(beamEdgesField), maxEdges);
+        boolean broken = lastCellEntered;
+        for (int i = 0; i < inputs.edgeCount; i++) {
+            broken = !broken;
+            inputs.edgeTimes[i] = source.getTimestamp();
+            inputs.edgeBroken[i] = broken;
+        }
+        lastCellEntered = inputs.cellEntered;
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {}
+}
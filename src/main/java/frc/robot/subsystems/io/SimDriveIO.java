@@ -0,0 +1,40 @@
+package frc.robot.subsystems.io;
+
+import frc.robot.sim.RobotSimulation;
+
+/**
+ * The drive base as modelled by <code>RobotSimulation</code>.
+ */
+public class SimDriveIO implements DriveIO {
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.leftTicks = RobotSimulation.drivetrain.getLeftTicks();
+        inputs.rightTicks = RobotSimulation.drivetrain.getRightTicks();
+        inputs.gyroAngle = RobotSimulation.drivetrain.getGyroAngle();
+    }
+
+    @Override
+    public void updateFastInputs(FastInputs inputs) {
+        inputs.leftTicks = RobotSimulation.drivetrain.getLeftTicks();
+        inputs.rightTicks = RobotSimulation.drivetrain.getRightTicks();
+        inputs.gyroAngle = RobotSimulation.drivetrain.getGyroAngle();
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        if (outputs.mode == Mode.MOTION_MAGIC) {
+            RobotSimulation.setDriveMotionMagic(outputs.left, outputs.right,
+                outputs.leftFeedforward * RobotSimulation.batteryVoltage,
+                outputs.rightFeedforward * RobotSimulation.batteryVoltage,
+                outputs.cruiseVelocity, outputs.acceleration, motionMagicF, motionMagicP, motionMagicD);
+        } else if (outputs.mode == Mode.VELOCITY) {
+            RobotSimulation.setDriveVelocities(outputs.left, outputs.right,
+                outputs.leftFeedforward * RobotSimulation.batteryVoltage,
+                outputs.rightFeedforward * RobotSimulation.batteryVoltage, velocityP);
+        } else {
+            RobotSimulation.setDriveVoltages(outputs.left * RobotSimulation.batteryVoltage,
+                outputs.right * RobotSimulation.batteryVoltage);
+        }
+    }
+}
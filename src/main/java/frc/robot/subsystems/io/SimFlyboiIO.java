@@ -0,0 +1,33 @@
+package frc.robot.subsystems.io;
+
+import frc.robot.sim.RobotSimulation;
+
+/**
+ * The shooter as modelled by <code>RobotSimulation</code>.
+ */
+public class SimFlyboiIO implements FlyboiIO {
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.leftVelocity = RobotSimulation.flywheel.getLeftVelocity();
+        inputs.rightVelocity = RobotSimulation.flywheel.getRightVelocity();
+    }
+
+    @Override
+    public void updateFastInputs(FastInputs inputs) {
+        inputs.leftVelocity = RobotSimulation.flywheel.getLeftVelocity();
+        inputs.rightVelocity = RobotSimulation.flywheel.getRightVelocity();
+        inputs.leftCurrent = 0; //not modelled
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        if (outputs.mode == Mode.VELOCITY) {
+            RobotSimulation.setFlywheelVelocities(outputs.left, outputs.right, outputs.leftFeedforward,
+                outputs.rightFeedforward, velocityP);
+        } else {
+            RobotSimulation.setFlywheelVoltages(outputs.left * RobotSimulation.batteryVoltage,
+                outputs.right * RobotSimulation.batteryVoltage);
+        }
+    }
+}
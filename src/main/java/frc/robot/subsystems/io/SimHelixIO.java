@@ -0,0 +1,14 @@
+package frc.robot.subsystems.io;
+
+import frc.robot.sim.RobotSimulation;
+
+/**
+ * The helix as modelled by <code>RobotSimulation</code>.
+ */
+public class SimHelixIO implements HelixIO {
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        RobotSimulation.setHelixOutput(outputs.power);
+    }
+}
@@ -0,0 +1,20 @@
+package frc.robot.subsystems.io;
+
+import frc.robot.sim.RobotSimulation;
+
+/**
+ * The intake as modelled by <code>RobotSimulation</code>. The pistons aren't modelled.
+ */
+public class SimIntakeIO implements IntakeIO {
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.cellEntered = RobotSimulation.cells.isBeamBroken();
+        inputs.edgeCount = RobotSimulation.beamEdges.drain(inputs.edgeTimes, inputs.edgeBroken);
+    }
+
+    @Override
+    public void applyOutputs(Outputs outputs) {
+        RobotSimulation.setIntakeOutput(outputs.power);
+    }
+}
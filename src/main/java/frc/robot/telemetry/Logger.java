@@ -0,0 +1,236 @@
+package frc.robot.telemetry;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Console logging that never blocks the control loop. Messages are registered once as templates with
+ * <code>{}</code> placeholders; logging a message only copies its level, timestamp, template id and number arguments
+ * into a preallocated ring buffer. A background thread formats and prints them.
+ *
+ * <p>Each template is its own call site and can be rate limited, so a message logged every loop prints at most
+ * once per interval along with how many were skipped.</p>
+ */
+public class Logger {
+
+    public enum Level {
+        DEBUG, INFO, WARNING, ERROR
+    }
+
+    private static final int capacity = 1024; //must be a power of 2
+    private static final int maxArgs = 3;
+    private static final int maxTemplates = 128;
+    private static final long drainPeriodMillis = 20;
+    private static final String logDirectory = "/home/lvuser/logs";
+
+    // Ring buffer, one record per slot
+    private static final double[] timestamps = new double[capacity];
+    private static final int[] templateIds = new int[capacity];
+    private static final int[] argCounts = new int[capacity];
+    private static final double[] args = new double[capacity * maxArgs];
+    private static final int[] skippedCounts = new int[capacity];
+    private static final AtomicLongArray published = new AtomicLongArray(capacity); //sequence + 1 of the record in each slot
+    private static final AtomicLong nextSequence = new AtomicLong(0);
+    private static volatile long drainedSequence = 0;
+    private static final AtomicLong droppedCount = new AtomicLong(0);
+
+    // Templates, one per call site
+    private static final String[] templates = new String[maxTemplates];
+    private static final Level[] templateLevels = new Level[maxTemplates];
+    private static final double[] minIntervals = new double[maxTemplates];
+    private static final double[] lastLoggedTimes = new double[maxTemplates];
+    private static final int[] skippedSinceLogged = new int[maxTemplates];
+    private static int templateCount = 0;
+
+    private static volatile Level minimumLevel = Level.INFO;
+
+    static {
+        Thread drainThread = new Thread(Logger::drainLoop, "Logger");
+        drainThread.setDaemon(true);
+        drainThread.setPriority(Thread.MIN_PRIORITY);
+        drainThread.start();
+    }
+
+    /**
+     * Registers a message. Call this once (e.g. in a static field), not in the loop.
+     * @param level How important the message is.
+     * @param format The message, with <code>{}</code> where each argument goes.
+     * @return The template's id, to be passed to <code>log</code>.
+     */
+    public static int register(Level level, String format) {
+        return register(level, format, 0);
+    }
+
+    /**
+     * Registers a rate limited message. Call this once (e.g. in a static field), not in the loop.
+     * @param level How important the message is.
+     * @param format The message, with <code>{}</code> where each argument goes.
+     * @param minInterval The minimum time between two of these messages being printed, in seconds.
+     * @return The template's id, to be passed to <code>log</code>.
+     */
+    public static synchronized int register(Level level, String format, double minInterval) {
+        if (templateCount == maxTemplates) {
+            throw new IllegalStateException("Too many log templates, can't register \"" + format + "\"");
+        }
+        templates[templateCount] = format;
+        templateLevels[templateCount] = level;
+        minIntervals[templateCount] = minInterval;
+        lastLoggedTimes[templateCount] = Double.NEGATIVE_INFINITY;
+        return templateCount++;
+    }
+
+    /**
+     * Sets the least important level that gets printed.
+     * @param level The minimum level.
+     */
+    public static void setLevel(Level level) {
+        minimumLevel = level;
+    }
+
+    public static void log(int template) {
+        append(template, 0, 0, 0, 0);
+    }
+
+    public static void log(int template, double arg0) {
+        append(template, 1, arg0, 0, 0);
+    }
+
+    public static void log(int template, double arg0, double arg1) {
+        append(template, 2, arg0, arg1, 0);
+    }
+
+    public static void log(int template, double arg0, double arg1, double arg2) {
+        append(template, 3, arg0, arg1, arg2);
+    }
+
+    /**
+     * @return How many messages were thrown away because the buffer was full.
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static void append(int template, int argCount, double arg0, double arg1, double arg2) {
+        if (templateLevels[template].compareTo(minimumLevel) < 0) {
+            return;
+        }
+
+        double now = Timer.getFPGATimestamp();
+        if (now - lastLoggedTimes[template] < minIntervals[template]) {
+            skippedSinceLogged[template]++;
+            return;
+        }
+        lastLoggedTimes[template] = now;
+
+        //claim a slot, giving up rather than waiting if the drain thread is behind
+        long sequence;
+        do {
+            sequence = nextSequence.get();
+            if (sequence - drainedSequence >= capacity) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+        } while (!nextSequence.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & (capacity - 1));
+        timestamps[slot] = now;
+        templateIds[slot] = template;
+        argCounts[slot] = argCount;
+        args[slot * maxArgs] = arg0;
+        args[slot * maxArgs + 1] = arg1;
+        args[slot * maxArgs + 2] = arg2;
+        skippedCounts[slot] = skippedSinceLogged[template];
+        skippedSinceLogged[template] = 0;
+        published.lazySet(slot, sequence + 1);
+    }
+
+    private static void drainLoop() {
+        StringBuilder line = new StringBuilder(256);
+        PrintWriter file = openLogFile();
+        long reportedDrops = 0;
+
+        while (true) {
+            long sequence = drainedSequence;
+            int slot = (int) (sequence & (capacity - 1));
+            while (published.get(slot) == sequence + 1) {
+                format(line, slot);
+                System.out.println(line);
+                if (file != null) {
+                    file.println(line);
+                }
+                sequence++;
+                drainedSequence = sequence;
+                slot = (int) (sequence & (capacity - 1));
+            }
+
+            long drops = droppedCount.get();
+            if (drops != reportedDrops) {
+                System.out.println("Logger dropped " + (drops - reportedDrops) + " message(s), buffer was full");
+                reportedDrops = drops;
+            }
+            if (file != null) {
+                file.flush();
+            }
+
+            try {
+                Thread.sleep(drainPeriodMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void format(StringBuilder line, int slot) {
+        int template = templateIds[slot];
+        String format = templates[template];
+
+        line.setLength(0);
+        line.append('[').append(String.format("%9.3f", timestamps[slot])).append("] ");
+        line.append(templateLevels[template]).append(' ');
+
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while ((placeholder = format.indexOf("{}", start)) >= 0 && argIndex < argCounts[slot]) {
+            line.append(format, start, placeholder);
+            appendNumber(line, args[slot * maxArgs + argIndex]);
+            argIndex++;
+            start = placeholder + 2;
+        }
+        line.append(format, start, format.length());
+
+        if (skippedCounts[slot] > 0) {
+            line.append(" (").append(skippedCounts[slot]).append(" more not shown)");
+        }
+    }
+
+    private static void appendNumber(StringBuilder line, double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            line.append((long) value);
+        } else {
+            line.append(Math.round(value * 1000.0) / 1000.0);
+        }
+    }
+
+    private static PrintWriter openLogFile() {
+        if (!RobotBase.isReal()) {
+            return null;
+        }
+        File directory = new File(logDirectory);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return null;
+        }
+        try {
+            return new PrintWriter(new FileWriter(new File(directory, "console-" + System.currentTimeMillis() + ".log")));
+        } catch (IOException e) {
+            System.out.println("Logger couldn't open a log file: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package frc.robot.telemetry;
+
+import java.util.Arrays;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Times sections of the main loop (robot phases and command calls) and publishes rolling p50/p99/max
+ * summaries to the "Profiler" NetworkTables table. All storage is preallocated, so recording a sample never allocates.
+ * Sections can be registered from any thread (autonomous commands are built in the background), but only record and
+ * publish from the main robot thread.
+ */
+public class LoopProfiler {
+
+    private static final int maxSections = 64;
+    private static final int windowSize = 256; //samples kept per section
+
+    private static final String[] names = new String[maxSections];
+    private static final long[][] samples = new long[maxSections][windowSize];
+    private static final int[] sampleCounts = new int[maxSections];
+    private static final NetworkTableEntry[] entries = new NetworkTableEntry[maxSections];
+    private static volatile int sectionCount = 0; //written after the section's name, so readers see the name too
+    private static final int fullMessage = Logger.register(Logger.Level.WARNING,
+        "All {} profiler sections are used, later sections aren't timed");
+    private static boolean warnedFull = false;
+
+    private static final long[] sorted = new long[windowSize];
+    private static final double[] summary = new double[3];
+    private static NetworkTable table;
+    private static int nextToPublish = 0;
+
+    /**
+     * Registers a section to be timed. Registering the same name twice returns the same section.
+     * Call this at construction, not in the loop. Once all sections are used, warns once and returns an id that
+     * <code>record</code> ignores, so profiling never stops the robot.
+     * @param name The name shown on the dashboard.
+     * @return The section's id, to be passed to <code>record</code>.
+     */
+    public static synchronized int register(String name) {
+        for (int i = 0; i < sectionCount; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        if (sectionCount == maxSections) {
+            if (!warnedFull) {
+                warnedFull = true;
+                Logger.log(fullMessage, maxSections);
+            }
+            return -1;
+        }
+        int section = sectionCount;
+        names[section] = name;
+        sectionCount = section + 1;
+        return section;
+    }
+
+    /**
+     * Records how long a section took.
+     * @param section The section's id from <code>register</code>.
+     * @param nanos The time the section took, in nanoseconds.
+     */
+    public static void record(int section, long nanos) {
+        if (section < 0) {
+            return; //registered after all sections were used
+        }
+        samples[section][sampleCounts[section] % windowSize] = nanos;
+        sampleCounts[section]++;
+    }
+
+    /**
+     * Publishes the summary of one section. Call once per loop; sections are published in turn, so each
+     * is updated every few hundred milliseconds and no single loop pays for all of them.
+     */
+    public static void publish() {
+        int sections = sectionCount;
+        if (sections == 0) {
+            return;
+        }
+        if (table == null) {
+            table = NetworkTableInstance.getDefault().getTable("Profiler");
+        }
+
+        int section = nextToPublish;
+        nextToPublish = (nextToPublish + 1) % sections;
+        int count = Math.min(sampleCounts[section], windowSize);
+        if (count == 0) {
+            return;
+        }
+
+        System.arraycopy(samples[section], 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        summary[0] = sorted[(count - 1) / 2] / 1.0e6;
+        summary[1] = sorted[(int) ((count - 1) * 0.99)] / 1.0e6;
+        summary[2] = sorted[count - 1] / 1.0e6;
+
+        if (entries[section] == null) {
+            entries[section] = table.getEntry(names[section]);
+        }
+        entries[section].setDoubleArray(summary); //[p50, p99, max] in milliseconds
+    }
+}
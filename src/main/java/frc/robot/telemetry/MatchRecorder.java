@@ -0,0 +1,281 @@
+package frc.robot.telemetry;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.RobotState;
+import frc.robot.subsystems.SensorSnapshot;
+import frc.robot.subsystems.ShotDetector;
+import frc.robot.subsystems.Sensors;
+import frc.robot.subsystems.Subsystems;
+import frc.robot.userinterface.UserInterface;
+
+/**
+ * Records every enabled loop into a binary file under /home/lvuser/matchlogs (build/matchlogs in simulation),
+ * one file per match.
+ *
+ * <p>The main thread only copies the loop's values into a preallocated buffer. A writer thread moves them into a
+ * memory-mapped file laid out as described in <code>RecordFormat</code>. Files are a ring, so a very long session
+ * keeps its most recent records. Convert a file with <code>RecordingToCsv</code>.</p>
+ */
+public class MatchRecorder {
+
+    private static final String directory = RobotBase.isReal() ? "/home/lvuser/matchlogs" : "build/matchlogs";
+    private static final int filesKept = 20;
+    private static final int capacity = 32768; //records per file, about 5 minutes at 100 Hz
+    private static final int bufferSize = 512; //records waiting for the writer, must be a power of 2
+    private static final long writePeriodMillis = 20;
+    private static final double newMatchTime = 25; //seconds after auto starts that teleop is still the same match
+
+    private static final int fieldCount = RecordFormat.fieldCount;
+    private static final int recordSize = RecordFormat.recordSize(fieldCount);
+
+    // Records waiting for the writer (main thread writes, writer thread reads)
+    private static final double[] buffer = new double[bufferSize * fieldCount];
+    private static final long[] bufferCommandMasks = new long[bufferSize];
+    private static volatile long recordedCount = 0;
+    private static volatile long writtenCount = 0;
+    private static long droppedCount = 0;
+
+    // Commands
+    private static final String[] commandNames = new String[RecordFormat.maxCommands];
+    private static volatile int commandCount = 0;
+    private static long activeCommands = 0;
+
+    // Files (changed on the writer thread)
+    private static volatile String requestedFile = null;
+    private static volatile boolean fileOpen = false;
+    private static String matchKey = "";
+    private static double fileStartTime = Double.NEGATIVE_INFINITY;
+
+    private static final int openedMessage = Logger.register(Logger.Level.INFO, "Started a new match recording");
+    private static final int droppedMessage = Logger.register(Logger.Level.WARNING, "Match recorder dropped {} records", 5);
+    private static final int errorMessage = Logger.register(Logger.Level.ERROR, "Match recorder couldn't open a file, not recording");
+
+    static {
+        Thread writerThread = new Thread(MatchRecorder::writeLoop, "MatchRecorder");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Registers a command so the loops it runs in are marked in the recording. Call at construction.
+     * @param name The command's name.
+     * @return The command's id, to be passed to <code>markActive</code>, or -1 if too many commands are registered.
+     */
+    public static synchronized int registerCommand(String name) {
+        for (int i = 0; i < commandCount; i++) {
+            if (commandNames[i].equals(name)) {
+                return i;
+            }
+        }
+        if (commandCount == RecordFormat.maxCommands) {
+            return -1;
+        }
+        commandNames[commandCount] = name;
+        return commandCount++;
+    }
+
+    /**
+     * Marks a command as having run this loop.
+     * @param command The command's id from <code>registerCommand</code>.
+     */
+    public static void markActive(int command) {
+        if (command >= 0) {
+            activeCommands |= 1L << command;
+        }
+    }
+
+    /**
+     * Starts a new file if this is a new match. Call whenever the robot is enabled.
+     * With the FMS attached, a new file is started whenever the match changes. Otherwise every autonomous starts one,
+     * and so does teleop unless it follows an autonomous closely enough to be the same practice match.
+     * @param autonomous Whether autonomous is starting.
+     */
+    public static void startMatch(boolean autonomous) {
+        DriverStation ds = DriverStation.getInstance();
+        double now = Timer.getFPGATimestamp();
+        String name;
+        if (ds.isFMSAttached()) {
+            String key = ds.getEventName() + "_" + ds.getMatchType() + "_" + ds.getMatchNumber() + "_" + ds.getReplayNumber();
+            if (key.equals(matchKey)) {
+                return;
+            }
+            matchKey = key;
+            name = key;
+        } else {
+            if (!autonomous && now - fileStartTime < newMatchTime) {
+                return;
+            }
+            matchKey = "";
+            name = "practice";
+        }
+        fileStartTime = now;
+        requestedFile = name + "_" + System.currentTimeMillis() + ".rec";
+    }
+
+    /**
+     * Copies this loop's values into the recording. Call once at the end of every enabled loop.
+     */
+    public static void record() {
+        long commands = activeCommands;
+        activeCommands = 0;
+        if (!fileOpen && requestedFile == null) {
+            return;
+        }
+
+        long index = recordedCount;
+        if (index - writtenCount >= bufferSize) {
+            droppedCount++;
+            Logger.log(droppedMessage, droppedCount);
+            return;
+        }
+
+        int slot = (int) (index & (bufferSize - 1));
+        int base = slot * fieldCount;
+        SensorSnapshot sensors = Sensors.get();
+        buffer[base + RecordFormat.Field.TIMESTAMP.ordinal()] = sensors.timestamp;
+        buffer[base + RecordFormat.Field.AUTONOMOUS.ordinal()] = DriverStation.getInstance().isAutonomous() ? 1 : 0;
+        buffer[base + RecordFormat.Field.LEFT_TICKS.ordinal()] = sensors.leftTicks;
+        buffer[base + RecordFormat.Field.RIGHT_TICKS.ordinal()] = sensors.rightTicks;
+        buffer[base + RecordFormat.Field.GYRO_ANGLE.ordinal()] = sensors.gyroAngle;
+        buffer[base + RecordFormat.Field.LEFT_DRIVE_OUTPUT.ordinal()] = Subsystems.driveBase.getLeftOutput();
+        buffer[base + RecordFormat.Field.RIGHT_DRIVE_OUTPUT.ordinal()] = Subsystems.driveBase.getRightOutput();
+        buffer[base + RecordFormat.Field.DRIVE_COMMAND_TARGET.ordinal()] = Subsystems.driveBase.getCommandTarget();
+        buffer[base + RecordFormat.Field.DRIVE_COMMAND_SPEED.ordinal()] = Subsystems.driveBase.getCommandSpeed();
+        buffer[base + RecordFormat.Field.LEFT_FLYWHEEL_VELOCITY.ordinal()] = sensors.leftFlywheelVelocity;
+        buffer[base + RecordFormat.Field.RIGHT_FLYWHEEL_VELOCITY.ordinal()] = sensors.rightFlywheelVelocity;
+        buffer[base + RecordFormat.Field.LEFT_FLYWHEEL_VOLTAGE.ordinal()] = Subsystems.flyboi.getLeftVoltage();
+        buffer[base + RecordFormat.Field.RIGHT_FLYWHEEL_VOLTAGE.ordinal()] = Subsystems.flyboi.getRightVoltage();
+        buffer[base + RecordFormat.Field.FLYWHEEL_WHEEL_SPEED.ordinal()] = Subsystems.flyboi.wheelSpeed;
+        buffer[base + RecordFormat.Field.FLYWHEEL_SETPOINT.ordinal()] = Subsystems.flyboi.getSetpoint();
+        buffer[base + RecordFormat.Field.HELIX_OUTPUT.ordinal()] = Subsystems.helix.getOutput();
+        buffer[base + RecordFormat.Field.INTAKE_OUTPUT.ordinal()] = Subsystems.intake.getOutput();
+        buffer[base + RecordFormat.Field.CELL_ENTERED.ordinal()] = sensors.cellEntered ? 1 : 0;
+        buffer[base + RecordFormat.Field.BEAM_EDGES.ordinal()] = Subsystems.intake.getEdgeCount();
+        buffer[base + RecordFormat.Field.CELL_COUNT.ordinal()] = Subsystems.helix.getCellCount();
+        buffer[base + RecordFormat.Field.SHOT_COUNT.ordinal()] = ShotDetector.getShotCount();
+        buffer[base + RecordFormat.Field.DRIVER_LEFT_X.ordinal()] = UserInterface.driverController.getLeftJoystickX();
+        buffer[base + RecordFormat.Field.DRIVER_LEFT_Y.ordinal()] = UserInterface.driverController.getLeftJoystickY();
+        buffer[base + RecordFormat.Field.DRIVER_RIGHT_X.ordinal()] = UserInterface.driverController.getRightJoystickX();
+        buffer[base + RecordFormat.Field.DRIVER_RIGHT_Y.ordinal()] = UserInterface.driverController.getRightJoystickY();
+        buffer[base + RecordFormat.Field.OPERATOR_LEFT_X.ordinal()] = UserInterface.operatorController.getLeftJoystickX();
+        buffer[base + RecordFormat.Field.OPERATOR_LEFT_Y.ordinal()] = UserInterface.operatorController.getLeftJoystickY();
+        buffer[base + RecordFormat.Field.OPERATOR_RIGHT_X.ordinal()] = UserInterface.operatorController.getRightJoystickX();
+        buffer[base + RecordFormat.Field.OPERATOR_RIGHT_Y.ordinal()] = UserInterface.operatorController.getRightJoystickY();
+        buffer[base + RecordFormat.Field.OPERATOR_RIGHT_TRIGGER.ordinal()] = UserInterface.operatorController.getRightTrigger();
+        buffer[base + RecordFormat.Field.OPERATOR_POV.ordinal()] = UserInterface.operatorController.getPOVAngle();
+        RobotState state = RobotState.get();
+        buffer[base + RecordFormat.Field.SPEED_CAP.ordinal()] = state.speedCap;
+        buffer[base + RecordFormat.Field.ROTATION_CAP.ordinal()] = state.rotationCap;
+        bufferCommandMasks[slot] = commands;
+        recordedCount = index + 1;
+    }
+
+    private static void writeLoop() {
+        MappedByteBuffer file = null;
+        long fileRecords = 0;
+        int commandsOffset = 0;
+        int namedCommands = 0;
+        long lastForce = System.currentTimeMillis();
+
+        while (true) {
+            String requested = requestedFile;
+            if (requested != null) {
+                requestedFile = null;
+                if (file != null) {
+                    file.force();
+                }
+                file = openFile(requested);
+                fileRecords = 0;
+                namedCommands = 0;
+                fileOpen = (file != null);
+                if (file != null) {
+                    String[] fieldNames = new String[fieldCount];
+                    for (RecordFormat.Field field : RecordFormat.Field.values()) {
+                        fieldNames[field.ordinal()] = field.name().toLowerCase();
+                    }
+                    commandsOffset = RecordFormat.writeNames(file, RecordFormat.namesOffset, fieldNames, fieldCount);
+                    Logger.log(openedMessage);
+                } else {
+                    Logger.log(errorMessage);
+                }
+            }
+
+            long written = writtenCount;
+            long recorded = recordedCount;
+            if (file != null) {
+                int commands = commandCount;
+                if (commands != namedCommands) {
+                    RecordFormat.writeNames(file, commandsOffset, commandNames, commands);
+                    file.putInt(RecordFormat.commandCountOffset, commands);
+                    namedCommands = commands;
+                }
+
+                for (long i = written; i < recorded; i++) {
+                    int slot = (int) (i & (bufferSize - 1));
+                    int position = RecordFormat.headerSize + (int) (fileRecords % capacity) * recordSize;
+                    for (int field = 0; field < fieldCount; field++) {
+                        file.putDouble(position + field * Double.BYTES, buffer[slot * fieldCount + field]);
+                    }
+                    file.putLong(position + fieldCount * Double.BYTES, bufferCommandMasks[slot]);
+                    fileRecords++;
+                }
+                file.putLong(RecordFormat.totalRecordsOffset, fileRecords);
+
+                if (System.currentTimeMillis() - lastForce > 1000) {
+                    file.force();
+                    lastForce = System.currentTimeMillis();
+                }
+            }
+            writtenCount = recorded;
+
+            try {
+                Thread.sleep(writePeriodMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static MappedByteBuffer openFile(String name) {
+        File folder = new File(directory);
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            return null;
+        }
+        deleteOldFiles(folder);
+
+        try (FileChannel channel = FileChannel.open(new File(folder, name).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                RecordFormat.headerSize + (long) capacity * recordSize);
+            file.putInt(0, RecordFormat.magic);
+            file.putInt(RecordFormat.versionOffset, RecordFormat.version);
+            file.putInt(RecordFormat.fieldCountOffset, fieldCount);
+            file.putInt(RecordFormat.recordSizeOffset, recordSize);
+            file.putInt(RecordFormat.capacityOffset, capacity);
+            file.putInt(RecordFormat.commandCountOffset, 0);
+            file.putLong(RecordFormat.totalRecordsOffset, 0);
+            return file;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void deleteOldFiles(File folder) {
+        File[] files = folder.listFiles((dir, fileName) -> fileName.endsWith(".rec"));
+        if (files == null || files.length < filesKept) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (int i = 0; i <= files.length - filesKept; i++) {
+            files[i].delete();
+        }
+    }
+}
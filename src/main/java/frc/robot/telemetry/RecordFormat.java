@@ -0,0 +1,103 @@
+package frc.robot.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The layout of match recording files, shared by the recorder on the robot and the tools that read recordings.
+ *
+ * <p>A file is a fixed size header followed by a ring of fixed width records. The header holds the field names and
+ * the names of the commands, so readers don't depend on this class's field list matching the robot code that wrote it.
+ * Readers look fields up by name, so recordings from any readable version can be read, missing only the fields added
+ * since.
+ * Each record is one double per field followed by a long whose bits mark which commands ran that loop.</p>
+ */
+public final class RecordFormat {
+
+    public static final int magic = 0x46524352; //"FRCR"
+    public static final int version = 2;
+    public static final int oldestReadableVersion = 1;
+    public static final int headerSize = 8192;
+    public static final int maxCommands = 64;
+
+    // Header offsets
+    public static final int versionOffset = 4;
+    public static final int fieldCountOffset = 8;
+    public static final int recordSizeOffset = 12;
+    public static final int capacityOffset = 16;
+    public static final int commandCountOffset = 20;
+    public static final int totalRecordsOffset = 24;
+    public static final int namesOffset = 32;
+
+    /**
+     * Values recorded every loop, in the order they are stored. New fields go at the end, with a new version.
+     */
+    public enum Field {
+        TIMESTAMP, AUTONOMOUS,
+        LEFT_TICKS, RIGHT_TICKS, GYRO_ANGLE,
+        LEFT_DRIVE_OUTPUT, RIGHT_DRIVE_OUTPUT, DRIVE_COMMAND_TARGET, DRIVE_COMMAND_SPEED,
+        LEFT_FLYWHEEL_VELOCITY, RIGHT_FLYWHEEL_VELOCITY,
+        LEFT_FLYWHEEL_VOLTAGE, RIGHT_FLYWHEEL_VOLTAGE, FLYWHEEL_WHEEL_SPEED, FLYWHEEL_SETPOINT,
+        HELIX_OUTPUT, INTAKE_OUTPUT, CELL_ENTERED, CELL_COUNT,
+        DRIVER_LEFT_X, DRIVER_LEFT_Y, DRIVER_RIGHT_X, DRIVER_RIGHT_Y,
+        OPERATOR_LEFT_X, OPERATOR_LEFT_Y, OPERATOR_RIGHT_X, OPERATOR_RIGHT_Y,
+        OPERATOR_RIGHT_TRIGGER, OPERATOR_POV,
+        SPEED_CAP, ROTATION_CAP,
+        SHOT_COUNT, BEAM_EDGES //version 2
+    }
+
+    public static final int fieldCount = Field.values().length;
+
+    private RecordFormat() {}
+
+    /**
+     * @param fieldCount The number of fields in each record.
+     * @return The size of one record in bytes.
+     */
+    public static int recordSize(int fieldCount) {
+        return fieldCount * Double.BYTES + Long.BYTES;
+    }
+
+    /**
+     * Writes a list of names at a position in the header.
+     * @param buffer The header buffer.
+     * @param offset Where to start writing.
+     * @param names The names to write.
+     * @param count How many of the names to write.
+     * @return The offset just after the last name.
+     */
+    public static int writeNames(ByteBuffer buffer, int offset, String[] names, int count) {
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = names[i].getBytes(StandardCharsets.UTF_8);
+            if (offset + Short.BYTES + bytes.length > headerSize) {
+                throw new IllegalStateException("Recording header is full, can't add " + names[i]);
+            }
+            buffer.putShort(offset, (short) bytes.length);
+            for (int j = 0; j < bytes.length; j++) {
+                buffer.put(offset + Short.BYTES + j, bytes[j]);
+            }
+            offset += Short.BYTES + bytes.length;
+        }
+        return offset;
+    }
+
+    /**
+     * Reads a list of names written by <code>writeNames</code>.
+     * @param buffer The header buffer.
+     * @param offset Where the names start.
+     * @param names The array to read the names into; its length is the number of names read.
+     * @return The offset just after the last name.
+     */
+    public static int readNames(ByteBuffer buffer, int offset, String[] names) {
+        for (int i = 0; i < names.length; i++) {
+            int length = buffer.getShort(offset);
+            byte[] bytes = new byte[length];
+            for (int j = 0; j < length; j++) {
+                bytes[j] = buffer.get(offset + Short.BYTES + j);
+            }
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+            offset += Short.BYTES + length;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,108 @@
+package frc.robot.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A match recording read back into memory, oldest record first. Doesn't need WPILib, so it can be used on a desktop.
+ */
+public class Recording {
+
+    public final String[] fieldNames;
+    public final String[] commandNames;
+
+    private final double[] values;
+    private final long[] commandMasks;
+    private final int size;
+
+    private Recording(String[] FieldNames, String[] CommandNames, double[] Values, long[] CommandMasks, int Size) {
+        fieldNames = FieldNames;
+        commandNames = CommandNames;
+        values = Values;
+        commandMasks = CommandMasks;
+        size = Size;
+    }
+
+    /**
+     * Reads a recording file.
+     * @param path The file written by <code>MatchRecorder</code>.
+     * @return The recording.
+     * @throws IOException If the file can't be read or isn't a recording.
+     */
+    public static Recording read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != RecordFormat.magic) {
+                throw new IOException(path + " isn't a match recording");
+            }
+            int version = buffer.getInt(RecordFormat.versionOffset);
+            if (version < RecordFormat.oldestReadableVersion || version > RecordFormat.version) {
+                throw new IOException(path + " is recording version " + version + ", expected "
+                    + RecordFormat.oldestReadableVersion + " to " + RecordFormat.version);
+            }
+
+            int fieldCount = buffer.getInt(RecordFormat.fieldCountOffset);
+            int recordSize = buffer.getInt(RecordFormat.recordSizeOffset);
+            int capacity = buffer.getInt(RecordFormat.capacityOffset);
+            String[] fieldNames = new String[fieldCount];
+            String[] commandNames = new String[buffer.getInt(RecordFormat.commandCountOffset)];
+            int offset = RecordFormat.readNames(buffer, RecordFormat.namesOffset, fieldNames);
+            RecordFormat.readNames(buffer, offset, commandNames);
+
+            long total = buffer.getLong(RecordFormat.totalRecordsOffset);
+            int size = (int) Math.min(total, capacity);
+            long first = total - size; //older records were overwritten by the ring
+            double[] values = new double[size * fieldCount];
+            long[] commandMasks = new long[size];
+            for (int i = 0; i < size; i++) {
+                int position = RecordFormat.headerSize + (int) ((first + i) % capacity) * recordSize;
+                for (int field = 0; field < fieldCount; field++) {
+                    values[i * fieldCount + field] = buffer.getDouble(position + field * Double.BYTES);
+                }
+                commandMasks[i] = buffer.getLong(position + fieldCount * Double.BYTES);
+            }
+            return new Recording(fieldNames, commandNames, values, commandMasks, size);
+        }
+    }
+
+    /**
+     * @return The number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param name The name of a field.
+     * @return The field's index, or -1 if the recording doesn't have it.
+     */
+    public int fieldIndex(String name) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param record The record's index, 0 being the oldest.
+     * @param field The field's index.
+     * @return The field's value in that record.
+     */
+    public double get(int record, int field) {
+        return values[record * fieldNames.length + field];
+    }
+
+    /**
+     * @param record The record's index, 0 being the oldest.
+     * @param command The command's index in <code>commandNames</code>.
+     * @return Whether the command ran during that record's loop.
+     */
+    public boolean wasCommandActive(int record, int command) {
+        return (commandMasks[record] & (1L << command)) != 0;
+    }
+}
@@ -0,0 +1,52 @@
+package frc.robot.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts a match recording into a CSV file for offline analysis. Run with <code>./gradlew convertRecording
+ * -Precording=path/to/match.rec</code>; the CSV is written next to the recording.
+ *
+ * <p>Each command gets a column that is 1 in the loops it ran and 0 otherwise.</p>
+ */
+public class RecordingToCsv {
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RecordingToCsv <recording> [output.csv]");
+            System.exit(1);
+        }
+        Path input = Paths.get(args[0]);
+        Path output = (args.length > 1) ? Paths.get(args[1]) : Paths.get(args[0].replaceAll("\\.rec$", "") + ".csv");
+
+        Recording recording = Recording.read(input);
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write(String.join(",", recording.fieldNames));
+            for (String command : recording.commandNames) {
+                writer.write(',');
+                writer.write(command);
+            }
+            writer.newLine();
+
+            StringBuilder line = new StringBuilder();
+            for (int record = 0; record < recording.size(); record++) {
+                line.setLength(0);
+                for (int field = 0; field < recording.fieldNames.length; field++) {
+                    if (field > 0) {
+                        line.append(',');
+                    }
+                    line.append(recording.get(record, field));
+                }
+                for (int command = 0; command < recording.commandNames.length; command++) {
+                    line.append(',').append(recording.wasCommandActive(record, command) ? 1 : 0);
+                }
+                writer.write(line.toString());
+                writer.newLine();
+            }
+        }
+        System.out.println("Wrote " + recording.size() + " records to " + output);
+    }
+}
@@ -0,0 +1,35 @@
+package frc.robot.telemetry;
+
+/**
+ * The layout of the telemetry stream's datagrams, shared by the sender on the robot and the receiver on a laptop.
+ *
+ * <p>Each datagram is a header followed by a batch of fixed width samples, all big-endian. The header is the magic
+ * number, format version (short), sample count (short) and a sequence number (int) that goes up by one every
+ * datagram, so the receiver can tell when some were lost. Each sample is its FPGA time in seconds (double) and then
+ * one float per signal, in the order of <code>Signal</code>.</p>
+ */
+public final class StreamFormat {
+
+    public static final int magic = 0x54454c53; //"TELS"
+    public static final int version = 1;
+    public static final int headerSize = 2 * Integer.BYTES + 2 * Short.BYTES;
+    public static final int samplesPerDatagram = 10; //20 datagrams a second at 200 Hz
+    /** The port the receiver listens on by default; 5800 to 5810 are open on the field for teams. */
+    public static final int defaultPort = 5801;
+
+    /**
+     * Values sent every sample, in the order they are stored.
+     */
+    public enum Signal {
+        LEFT_FLYWHEEL_VELOCITY, RIGHT_FLYWHEEL_VELOCITY,
+        LEFT_FLYWHEEL_VOLTAGE, RIGHT_FLYWHEEL_VOLTAGE,
+        LEFT_TICKS, RIGHT_TICKS, GYRO_ANGLE,
+        LEFT_DRIVE_OUTPUT, RIGHT_DRIVE_OUTPUT
+    }
+
+    public static final int signalCount = Signal.values().length;
+    public static final int sampleSize = Double.BYTES + signalCount * Float.BYTES;
+    public static final int maxDatagramSize = headerSize + samplesPerDatagram * sampleSize;
+
+    private StreamFormat() {}
+}
@@ -0,0 +1,119 @@
+package frc.robot.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Receives the robot's telemetry stream on a laptop, records it to CSV and prints a summary every second. Run with
+ * <code>./gradlew receiveTelemetry [-Pport=5801] [-Poutput=stream.csv]</code>, then start the robot (or the
+ * simulation) with <code>TELEMETRY_STREAM</code> set to this computer's address and port, e.g.
+ * <code>TELEMETRY_STREAM=5801 ./gradlew simulateJava</code>. Stop it with Ctrl-C.
+ *
+ * <p>The CSV has the time and one column per signal, and opens straight in a spreadsheet or plotting tool.</p>
+ */
+public class StreamReceiver {
+
+    private static final double summaryInterval = 1.0; //seconds between printed summaries, in robot time
+
+    public static void main(String... args) throws IOException {
+        int port = (args.length > 0 && !args[0].isEmpty()) ? Integer.parseInt(args[0]) : StreamFormat.defaultPort;
+        String output = (args.length > 1 && !args[1].isEmpty()) ? args[1] : "stream.csv";
+
+        StreamFormat.Signal[] signals = StreamFormat.Signal.values();
+        double[] minimums = new double[signals.length];
+        double[] maximums = new double[signals.length];
+        double[] latest = new double[signals.length];
+
+        try (DatagramChannel channel = DatagramChannel.open().bind(new InetSocketAddress(port));
+             BufferedWriter writer = Files.newBufferedWriter(Paths.get(output))) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+
+            writer.write("time");
+            for (StreamFormat.Signal signal : signals) {
+                writer.write(',');
+                writer.write(signal.name().toLowerCase());
+            }
+            writer.newLine();
+            System.out.println("Listening on port " + port + ", recording to " + output);
+
+            ByteBuffer buffer = ByteBuffer.allocate(StreamFormat.maxDatagramSize * 2).order(ByteOrder.BIG_ENDIAN);
+            StringBuilder line = new StringBuilder();
+            int expectedSequence = -1;
+            long received = 0;
+            long lost = 0;
+            int samples = 0;
+            double summaryStart = -1;
+            resetRange(minimums, maximums);
+            while (true) {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                if (buffer.remaining() < StreamFormat.headerSize || buffer.getInt() != StreamFormat.magic
+                        || buffer.getShort() != StreamFormat.version) {
+                    continue; //not ours, or from a different version of the robot code
+                }
+                int count = buffer.getShort();
+                int sequence = buffer.getInt();
+                if (buffer.remaining() < count * StreamFormat.sampleSize) {
+                    continue;
+                }
+                if (expectedSequence >= 0 && sequence > expectedSequence) {
+                    lost += sequence - expectedSequence;
+                }
+                expectedSequence = sequence + 1;
+                received++;
+
+                for (int i = 0; i < count; i++) {
+                    double time = buffer.getDouble();
+                    line.setLength(0);
+                    line.append(time);
+                    for (int signal = 0; signal < signals.length; signal++) {
+                        float value = buffer.getFloat();
+                        latest[signal] = value;
+                        minimums[signal] = Math.min(minimums[signal], value);
+                        maximums[signal] = Math.max(maximums[signal], value);
+                        line.append(',').append(value);
+                    }
+                    writer.write(line.toString());
+                    writer.newLine();
+                    samples++;
+
+                    if (summaryStart < 0 || time < summaryStart) {
+                        summaryStart = time; //first sample, or the robot restarted
+                    } else if (time - summaryStart >= summaryInterval) {
+                        System.out.printf("t %.1f s: %.0f Hz, %d datagrams, %d lost%n", time,
+                            samples / (time - summaryStart), received, lost);
+                        for (int signal = 0; signal < signals.length; signal++) {
+                            System.out.printf("  %-24s %12.2f  (%.2f to %.2f)%n", signals[signal].name().toLowerCase(),
+                                latest[signal], minimums[signal], maximums[signal]);
+                        }
+                        writer.flush();
+                        summaryStart = time;
+                        samples = 0;
+                        resetRange(minimums, maximums);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void resetRange(double[] minimums, double[] maximums) {
+        for (int i = 0; i < minimums.length; i++) {
+            minimums[i] = Double.POSITIVE_INFINITY;
+            maximums[i] = Double.NEGATIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package frc.robot.telemetry;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.Timer;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Keeps dashboard entries up to date, each at its own rate, instead of writing every entry every loop.
+ *
+ * <p>Each entry is registered once with where its value comes from and how often it's worth reading. Every loop
+ * <code>publish</code> reads the entries that are due, writes only the ones whose values changed, then flushes
+ * NetworkTables once if anything was written. Due times follow a fixed schedule rather than the last read, and an
+ * entry due within half a loop is read now, so a 50 Hz entry really is read every 20 ms loop. At most <code>maxReadsPerCycle</code> sources are read in a loop; any
+ * others that are due wait for the next, so the dashboard's cost per loop stays the same however many entries
+ * there are. All storage is preallocated. Only call this from the main robot thread.</p>
+ */
+public class TelemetryPublisher {
+
+    private static final int maxSources = 64;
+    private static final int maxReadsPerCycle = 12;
+    private static final double tolerance = 0.01; //half a main loop, so jitter doesn't put a read off to the next loop
+
+    private static final NetworkTableEntry[] entries = new NetworkTableEntry[maxSources];
+    private static final DoubleSupplier[] numberSources = new DoubleSupplier[maxSources];
+    private static final BooleanSupplier[] booleanSources = new BooleanSupplier[maxSources];
+    private static final double[] intervals = new double[maxSources];
+    private static final double[] nextTimes = new double[maxSources];
+    private static final double[] lastValues = new double[maxSources];
+    private static final boolean[] written = new boolean[maxSources];
+    private static int sourceCount = 0;
+    private static int nextToRead = 0;
+
+    /**
+     * Publishes a number to an entry. Call this at setup, not in the loop.
+     * @param entry Where it goes on the dashboard.
+     * @param source Where the value comes from.
+     * @param rate How many times a second it's worth reading, in Hz.
+     */
+    public static void addNumber(NetworkTableEntry entry, DoubleSupplier source, double rate) {
+        numberSources[add(entry, rate)] = source;
+    }
+
+    /**
+     * Publishes a boolean to an entry. Call this at setup, not in the loop.
+     * @param entry Where it goes on the dashboard.
+     * @param source Where the value comes from.
+     * @param rate How many times a second it's worth reading, in Hz.
+     */
+    public static void addBoolean(NetworkTableEntry entry, BooleanSupplier source, double rate) {
+        booleanSources[add(entry, rate)] = source;
+    }
+
+    /**
+     * Reads the sources that are due, writes those that changed and flushes NetworkTables if any were written.
+     * Call once per loop.
+     */
+    public static void publish() {
+        if (sourceCount == 0) {
+            return;
+        }
+        double now = Timer.getFPGATimestamp();
+        int reads = 0;
+        boolean anyWritten = false;
+        for (int checked = 0; checked < sourceCount && reads < maxReadsPerCycle; checked++) {
+            int i = nextToRead;
+            nextToRead = (nextToRead + 1) % sourceCount;
+            if (now < nextTimes[i] - tolerance) {
+                continue;
+            }
+            nextTimes[i] += intervals[i];
+            if (nextTimes[i] < now) {
+                nextTimes[i] = now + intervals[i]; //fell more than an interval behind, so start the schedule again
+            }
+            reads++;
+
+            double value = (numberSources[i] != null) ? numberSources[i].getAsDouble()
+                : (booleanSources[i].getAsBoolean() ? 1 : 0);
+            if (written[i] && Double.doubleToLongBits(value) == Double.doubleToLongBits(lastValues[i])) {
+                continue;
+            }
+            if (numberSources[i] != null) {
+                entries[i].setDouble(value);
+            } else {
+                entries[i].setBoolean(value != 0);
+            }
+            lastValues[i] = value;
+            written[i] = true;
+            anyWritten = true;
+        }
+        if (anyWritten) {
+            NetworkTableInstance.getDefault().flush();
+        }
+    }
+
+    private static int add(NetworkTableEntry entry, double rate) {
+        if (sourceCount == maxSources) {
+            throw new IllegalStateException("Too many telemetry sources, can't add " + entry.getName());
+        }
+        entries[sourceCount] = entry;
+        intervals[sourceCount] = 1 / rate;
+        nextTimes[sourceCount] = 0;
+        return sourceCount++;
+    }
+}
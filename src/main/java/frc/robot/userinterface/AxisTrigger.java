@@ -0,0 +1,38 @@
+package frc.robot.userinterface;
+
+import edu.wpi.first.wpilibj.buttons.Trigger;
+import frc.robot.control.Hysteresis;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Treats a controller axis as a button that's pressed past one threshold and released back past another, so it
+ * doesn't flicker on and off when the axis rests near a single threshold. Bind commands to it like a
+ * <code>JoystickButton</code>, with <code>whenActive</code>, <code>whileActive</code> and <code>whenInactive</code>.
+ *
+ * <p>If the press threshold is below the release threshold, it's pressed by pushing the axis down past it
+ * instead.</p>
+ */
+public class AxisTrigger extends Trigger {
+
+    private final DoubleSupplier axis;
+    private final Hysteresis hysteresis;
+
+    /**
+     * @param Axis Where the axis's value comes from, e.g. <code>controller::getRightTrigger</code>.
+     * @param PressAt How far the axis must go for the trigger to be pressed.
+     * @param ReleaseAt How far back it must come for the trigger to be released.
+     */
+    public AxisTrigger(DoubleSupplier Axis, double PressAt, double ReleaseAt) {
+        axis = Axis;
+        hysteresis = new Hysteresis(PressAt, ReleaseAt);
+    }
+
+    /**
+     * @return Whether the trigger is pressed, as of the controller's last <code>update</code>.
+     */
+    @Override
+    public boolean get() {
+        return hysteresis.update(axis.getAsDouble());
+    }
+}
@@ -0,0 +1,51 @@
+package frc.robot.userinterface;
+
+import edu.wpi.first.wpilibj.buttons.Trigger;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Treats one direction of a controller's POV as a button. It's pressed at exactly that angle and stays pressed on
+ * the diagonals either side, so rolling a thumb slightly off the direction doesn't release it. Bind commands to it
+ * like a <code>JoystickButton</code>.
+ */
+public class POVTrigger extends Trigger {
+
+    private final IntSupplier pov;
+    private final int angle;
+    private boolean pressed = false;
+
+    /**
+     * @param Controller The controller whose POV it is.
+     * @param Angle The direction, in degrees clockwise from up (0, 90, 180 or 270).
+     */
+    public POVTrigger(RumbleXboxController Controller, int Angle) {
+        this(Controller::getPOVAngle, Angle);
+    }
+
+    /**
+     * @param Pov Where the POV angle comes from, in degrees clockwise from up or -1 when released.
+     * @param Angle The direction, in degrees clockwise from up (0, 90, 180 or 270).
+     */
+    public POVTrigger(IntSupplier Pov, int Angle) {
+        pov = Pov;
+        angle = Angle;
+    }
+
+    /**
+     * @return Whether the direction is pressed, as of the controller's last <code>update</code>.
+     */
+    @Override
+    public boolean get() {
+        int value = pov.getAsInt();
+        if (value < 0) {
+            pressed = false;
+        } else if (pressed) {
+            int difference = Math.abs(value - angle) % 360;
+            pressed = Math.min(difference, 360 - difference) <= 45;
+        } else {
+            pressed = value == angle;
+        }
+        return pressed;
+    }
+}
@@ -6,72 +6,141 @@ import edu.wpi.first.wpilibj.buttons.JoystickButton;
 
 /**
  * An Xbox controller with added vibrational capabilities.
+ *
+ * <p>The sticks, triggers, POV and buttons are read once a loop by <code>update</code> and the getters return that
+ * snapshot, so everything on the main thread sees the same values in a loop for the cost of one read each. The
+ * drive thread runs faster than the main loop, so it reads the driving axes straight from the controller with the
+ * <code>...Now</code> methods instead.</p>
  */
 public class RumbleXboxController extends XboxController {
 
+    //button numbers, for getButton
+    public static final int A_BUTTON = 1;
+    public static final int B_BUTTON = 2;
+    public static final int X_BUTTON = 3;
+    public static final int Y_BUTTON = 4;
+    public static final int LB_BUTTON = 5;
+    public static final int RB_BUTTON = 6;
+    public static final int LS_BUTTON = 7;
+    public static final int RS_BUTTON = 8;
+
     private Joystick joystick;
     public final JoystickButton A, B, X, Y, LB, RB, LS, RS; //_B = bumper, _S = small button near center
 
+    private volatile double leftJoystickX = 0;
+    private volatile double leftJoystickY = 0;
+    private volatile double rightJoystickX = 0;
+    private volatile double rightJoystickY = 0;
+    private volatile double leftTrigger = 0;
+    private volatile double rightTrigger = 0;
+    private volatile int povAngle = -1;
+    private volatile int buttons = 0; //bit n - 1 is button n
+
     /**
      * @param port The port the joystick is plugged into (usually 1 or 2)
      */
     public RumbleXboxController(int port) {
         super(port);
         this.joystick = new Joystick(port);
-        this.A = new JoystickButton(joystick, 1);
-        this.B = new JoystickButton(joystick, 2);
-        this.X = new JoystickButton(joystick, 3);
-        this.Y = new JoystickButton(joystick, 4);
-        this.LB = new JoystickButton(joystick, 5);
-        this.RB = new JoystickButton(joystick, 6);
-        this.LS = new JoystickButton(joystick, 7);
-        this.RS = new JoystickButton(joystick, 8);
+        this.A = new JoystickButton(joystick, A_BUTTON);
+        this.B = new JoystickButton(joystick, B_BUTTON);
+        this.X = new JoystickButton(joystick, X_BUTTON);
+        this.Y = new JoystickButton(joystick, Y_BUTTON);
+        this.LB = new JoystickButton(joystick, LB_BUTTON);
+        this.RB = new JoystickButton(joystick, RB_BUTTON);
+        this.LS = new JoystickButton(joystick, LS_BUTTON);
+        this.RS = new JoystickButton(joystick, RS_BUTTON);
+    }
+
+    /**
+     * Reads the sticks, triggers, POV and buttons. Call once a loop, before anything reads them.
+     */
+    public void update() {
+        leftJoystickX = joystick.getRawAxis(0);
+        leftJoystickY = joystick.getRawAxis(1);
+        rightJoystickX = joystick.getRawAxis(4);
+        rightJoystickY = -joystick.getRawAxis(5);
+        leftTrigger = joystick.getRawAxis(2);
+        rightTrigger = joystick.getRawAxis(3);
+        povAngle = joystick.getPOV(0);
+        int pressed = 0;
+        for (int button = 1; button <= 8; button++) {
+            if (joystick.getRawButton(button)) {
+                pressed |= 1 << (button - 1);
+            }
+        }
+        buttons = pressed;
+    }
+
+    /**
+     * @return The X axis of the left joystick (-1 to 1), read now rather than at the start of the loop.
+     */
+    public double getLeftJoystickXNow() {
+        return joystick.getRawAxis(0);
+    }
+
+    /**
+     * @return The Y axis of the right joystick (-1 to 1), read now rather than at the start of the loop.
+     */
+    public double getRightJoystickYNow() {
+        return -joystick.getRawAxis(5);
     }
 
     /**
      * @return The X axis of the left joystick (-1 to 1).
      */
     public double getLeftJoystickX() {
-        return joystick.getRawAxis(0);
+        return leftJoystickX;
     }
 
     /**
      * @return The Y axis of the left joystick (-1 to 1).
      */
     public double getLeftJoystickY() {
-        return joystick.getRawAxis(1);
+        return leftJoystickY;
     }
 
     /**
      * @return The X axis of the right joystick (-1 to 1).
      */
     public double getRightJoystickX() {
-        return joystick.getRawAxis(4);
+        return rightJoystickX;
     }
 
     /**
      * @return The Y axis of the right joystick (-1 to 1).
      */
     public double getRightJoystickY() {
-        return -joystick.getRawAxis(5);
+        return rightJoystickY;
     }
 
     /**
      * @return The degree to which the left trigger has been pushed (0 to 1).
      */
     public double getLeftTrigger() {
-        return joystick.getRawAxis(2);
+        return leftTrigger;
     }
 
     /**
      * @return The degree to which the right trigger has been pushed (0 to 1).
      */
     public double getRightTrigger() {
-        return joystick.getRawAxis(3);
+        return rightTrigger;
     }
 
+    /**
+     * @return The POV's angle in degrees clockwise from up, or -1 if it isn't pressed.
+     */
     public int getPOVAngle() {
-        return joystick.getPOV(0);
+        return povAngle;
+    }
+
+    /**
+     * @param button The button's number, e.g. <code>Y_BUTTON</code>.
+     * @return Whether it was held at the start of the loop.
+     */
+    public boolean getButton(int button) {
+        return (buttons & (1 << (button - 1))) != 0;
     }
 
     /**
@@ -1,5 +1,6 @@
 package frc.robot.userinterface;
 
+import edu.wpi.first.wpilibj.DriverStation;
 import frc.robot.RobotMap;
 
 /**
@@ -18,4 +19,28 @@ public class UserInterface {
      */
     public static final RumbleXboxController operatorController = new RumbleXboxController(RobotMap.operatorXboxController);
 
+    /** Operator's right trigger: shoots while held in teleop, unless vomiting with the left small button. */
+    public static final AxisTrigger shootTrigger = new AxisTrigger(
+        () -> (!DriverStation.getInstance().isOperatorControl()
+            || operatorController.getButton(RumbleXboxController.LS_BUTTON)) ? 0 : operatorController.getRightTrigger(),
+        0.4, 0.3);
+    /** Operator's right stick up: intakes cells. */
+    public static final AxisTrigger intakeInTrigger = new AxisTrigger(operatorController::getRightJoystickY,
+        RobotMap.intakePressAt, RobotMap.intakeReleaseAt);
+    /** Operator's right stick down: spits cells out of the intake. */
+    public static final AxisTrigger intakeOutTrigger = new AxisTrigger(operatorController::getRightJoystickY,
+        -RobotMap.intakePressAt, -RobotMap.intakeReleaseAt);
+    /** Operator's POV up: runs the helix forwards. */
+    public static final POVTrigger helixForwardTrigger = new POVTrigger(operatorController, 0);
+    /** Operator's POV down: runs the helix backwards. */
+    public static final POVTrigger helixBackwardTrigger = new POVTrigger(operatorController, 180);
+
+    /**
+     * Reads both controllers. Call once at the start of every loop.
+     */
+    public static void update() {
+        driverController.update();
+        operatorController.update();
+    }
+
 }
\ No newline at end of file
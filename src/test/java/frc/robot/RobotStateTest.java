@@ -0,0 +1,72 @@
+package frc.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RobotStateTest {
+
+    @Test
+    public void changesOnlyWhatItIsAskedTo() {
+        RobotState.setGear(true, 0.8, 0.7);
+        RobotState.setFirstCamera(true);
+        RobotState.setIntakeDown(false);
+        RobotState.setCellCount(3);
+        RobotState before = RobotState.get();
+
+        RobotState.setIntakeDown(true);
+        RobotState after = RobotState.get();
+        assertTrue(after.isIntakeDown);
+        assertEquals(before.isSpeedMode, after.isSpeedMode);
+        assertEquals(before.speedCap, after.speedCap, 0);
+        assertEquals(before.rotationCap, after.rotationCap, 0);
+        assertEquals(before.isFirstCamera, after.isFirstCamera);
+        assertEquals(before.cellCount, after.cellCount);
+        assertEquals(before.version + 1, after.version);
+        assertFalse(before.isIntakeDown); //old states never change
+    }
+
+    @Test
+    public void capsTheGearAtFullSpeed() {
+        RobotState.setGear(false, 1.5, 2);
+        assertFalse(RobotState.get().isSpeedMode);
+        assertEquals(1, RobotState.get().speedCap, 0);
+        assertEquals(1, RobotState.get().rotationCap, 0);
+    }
+
+    @Test
+    public void addsCellsFromManyThreadsWithoutLosingAny() throws InterruptedException {
+        RobotState.setCellCount(0);
+        long startVersion = RobotState.get().version;
+        int threadCount = 4;
+        int adds = 10000;
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            boolean toggling = i == 0; //one thread also changes other fields, to make the adds retry
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < adds; j++) {
+                    RobotState.addCells(1);
+                    if (toggling) {
+                        RobotState.setFirstCamera(j % 2 == 0);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * adds, RobotState.get().cellCount);
+        assertEquals(startVersion + threadCount * adds + adds, RobotState.get().version);
+    }
+
+    @Test
+    public void addCellsReturnsTheNewCount() {
+        RobotState.setCellCount(2);
+        assertEquals(3, RobotState.addCells(1));
+        assertEquals(1, RobotState.addCells(-2));
+        assertEquals(1, RobotState.get().cellCount);
+    }
+}
@@ -0,0 +1,116 @@
+package frc.robot.commands.autonomous;
+
+import static org.junit.Assert.assertEquals;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.Subsystem;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AutonomousPlanTest {
+
+    private static class Mechanism extends Subsystem {
+        Mechanism(String Name) {
+            super(Name);
+        }
+
+        @Override
+        protected void initDefaultCommand() {}
+    }
+
+    private static class Action extends Command {
+        Action(Subsystem... Requirements) {
+            for (Subsystem requirement : Requirements) {
+                requires(requirement);
+            }
+        }
+
+        @Override
+        protected boolean isFinished() {
+            return true;
+        }
+    }
+
+    private Mechanism driveBase;
+    private Mechanism flyboi;
+    private Mechanism helix;
+    private Mechanism intake;
+    private AutonomousPlan plan;
+
+    @BeforeClass
+    public static void initializeHal() {
+        HAL.initialize(500, 0);
+    }
+
+    @Before
+    public void setUp() {
+        driveBase = new Mechanism("DriveBase");
+        flyboi = new Mechanism("Flyboi");
+        helix = new Mechanism("Helix");
+        intake = new Mechanism("Intake");
+        plan = new AutonomousPlan(driveBase, flyboi, helix, intake);
+    }
+
+    @Test
+    public void runsAnActionAlongsideAStep() {
+        plan.then(new Action(driveBase), 2)
+            .alongside(new Action(flyboi), 1.5);
+        assertEquals(2, plan.getPlannedTime(), 1e-9);
+        assertEquals(3.5, plan.getSequentialTime(), 1e-9);
+        assertEquals(1.5, plan.getTimeSaved(), 1e-9);
+    }
+
+    @Test
+    public void queuesActionsSharingASubsystem() {
+        plan.then(new Action(driveBase), 2)
+            .alongside(new Action(intake), 1) //e.g. extend then run the intake
+            .alongside(new Action(intake), 1.5);
+        assertEquals(2.5, plan.getPlannedTime(), 1e-9);
+        assertEquals(4.5, plan.getSequentialTime(), 1e-9);
+    }
+
+    @Test
+    public void runsSeparateLanesInParallel() {
+        plan.then(new Action(driveBase), 2)
+            .alongside(new Action(flyboi), 1.5)
+            .alongside(new Action(intake), 1)
+            .alongside(new Action(intake), 1.2);
+        assertEquals(2.2, plan.getPlannedTime(), 1e-9);
+    }
+
+    @Test
+    public void runsAnActionNeedingTheStepsSubsystemAfterIt() {
+        plan.then(new Action(driveBase, helix), 2)
+            .alongside(new Action(helix), 1);
+        assertEquals(3, plan.getPlannedTime(), 1e-9);
+        assertEquals(0, plan.getTimeSaved(), 1e-9);
+    }
+
+    @Test
+    public void runsAnActionSpanningTwoLanesAfterTheStep() {
+        plan.then(new Action(driveBase), 2)
+            .alongside(new Action(flyboi), 1)
+            .alongside(new Action(helix), 1)
+            .alongside(new Action(flyboi, helix), 0.5); //like shooting, needs both
+        assertEquals(2.5, plan.getPlannedTime(), 1e-9);
+        assertEquals(4.5, plan.getSequentialTime(), 1e-9);
+    }
+
+    @Test
+    public void runsAnActionWithNoStepAsAStep() {
+        plan.alongside(new Action(flyboi), 1)
+            .then(new Action(driveBase), 2);
+        assertEquals(3, plan.getPlannedTime(), 1e-9);
+    }
+
+    @Test
+    public void countsAnActionAsNoLongerThanItsTimeout() {
+        plan.then(new Action(driveBase), 1)
+            .alongside(new Action(flyboi), 5, 2);
+        assertEquals(2, plan.getPlannedTime(), 1e-9);
+        plan.then(new Action(helix), 3, 1);
+        assertEquals(3, plan.getPlannedTime(), 1e-9);
+    }
+}
@@ -0,0 +1,73 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import frc.robot.control.CellCounter.IntakeDirection;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CellCounterTest {
+
+    private CellCounter counter;
+
+    @Before
+    public void setUp() {
+        counter = new CellCounter();
+    }
+
+    @Test
+    public void countsACellIntakenInTeleop() {
+        assertEquals(1, counter.countEdge(true, 1.0, false, IntakeDirection.IN));
+        assertTrue(counter.isFeeding());
+        assertEquals(0, counter.countEdge(false, 1.2, false, IntakeDirection.IN));
+        assertEquals(0.2, counter.getLastDwellTime(), 1e-9);
+    }
+
+    @Test
+    public void feedsTheHelixUntilTheCellHasHadTimeToGetIn() {
+        counter.countEdge(true, 1.0, false, IntakeDirection.IN);
+        counter.countEdge(false, 1.2, false, IntakeDirection.IN);
+        counter.update(1.5);
+        assertTrue(counter.isFeeding());
+        counter.update(2.0);
+        assertFalse(counter.isFeeding());
+    }
+
+    @Test
+    public void ignoresCellsWhenNotIntaking() {
+        assertEquals(0, counter.countEdge(true, 1.0, false, IntakeDirection.OFF));
+        assertFalse(counter.isFeeding());
+        assertEquals(0, counter.countEdge(false, 1.2, false, IntakeDirection.OFF));
+    }
+
+    @Test
+    public void countsACellOuttaken() {
+        assertEquals(0, counter.countEdge(true, 1.0, false, IntakeDirection.OUT));
+        assertEquals(-1, counter.countEdge(false, 1.2, false, IntakeDirection.OUT));
+    }
+
+    @Test
+    public void countsEveryCellInAutonomous() {
+        assertEquals(1, counter.countEdge(true, 1.0, true, IntakeDirection.OFF));
+        assertEquals(0, counter.countEdge(false, 1.1, true, IntakeDirection.OUT));
+        assertEquals(1, counter.countEdge(true, 1.2, true, IntakeDirection.OFF));
+    }
+
+    @Test
+    public void ignoresARepeatedEdge() {
+        assertEquals(1, counter.countEdge(true, 1.0, false, IntakeDirection.IN));
+        assertEquals(0, counter.countEdge(true, 1.1, false, IntakeDirection.IN)); //the clearing edge in between was missed
+    }
+
+    @Test
+    public void spotsAJam() {
+        counter.countEdge(true, 1.0, false, IntakeDirection.IN);
+        assertFalse(counter.isJammed(1.5));
+        assertTrue(counter.isJammed(2.0));
+        counter.countEdge(false, 2.5, false, IntakeDirection.IN);
+        assertFalse(counter.isJammed(3.0));
+        assertEquals(1.5, counter.getMaxDwellTime(), 1e-9);
+    }
+}
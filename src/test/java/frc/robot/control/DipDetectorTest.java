@@ -0,0 +1,93 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DipDetectorTest {
+
+    private static final double period = 0.004; //the shot detector's sample period
+
+    private DipDetector detector;
+    private double now;
+
+    @Before
+    public void setUp() {
+        detector = new DipDetector();
+        now = 0;
+    }
+
+    /**
+     * Samples a few times with the wheel at its setpoint, which arms the detector.
+     */
+    private void settle(double setpoint) {
+        for (int i = 0; i < 5; i++) {
+            assertFalse(sample(setpoint, setpoint, 20));
+        }
+    }
+
+    private boolean sample(double setpoint, double velocity, double current) {
+        return sample(setpoint, velocity, current, true);
+    }
+
+    private boolean sample(double setpoint, double velocity, double current, boolean feeding) {
+        now += period;
+        return detector.update(setpoint, velocity, current, feeding, now);
+    }
+
+    @Test
+    public void countsADipOnce() {
+        settle(4000);
+        assertTrue(sample(4000, 3850, 20));
+        assertEquals(now, detector.getLastShotTime(), 1e-9);
+        assertFalse(sample(4000, 3800, 20)); //still the same shot
+        assertFalse(sample(4000, 3950, 20)); //recovering, but not within the arm band yet
+        settle(4000);
+        assertTrue(sample(4000, 3850, 20));
+    }
+
+    @Test
+    public void ignoresNoiseWithinTheDipBand() {
+        settle(4000);
+        assertFalse(sample(4000, 3950, 20));
+        assertFalse(sample(4000, 4030, 20));
+    }
+
+    @Test
+    public void countsACurrentJump() {
+        settle(4000);
+        assertTrue(sample(4000, 3990, 40));
+    }
+
+    @Test
+    public void doesNotCountSpinningUpToAHigherSetpoint() {
+        settle(3500); //pre-spun at 70%
+        assertFalse(sample(4000, 3500, 60)); //then asked for 80%, far below it with the motor pulling hard
+        for (double velocity = 3600; velocity < 4000; velocity += 100) {
+            assertFalse(sample(4000, velocity, 40));
+        }
+        settle(4000);
+        assertTrue(sample(4000, 3850, 20)); //armed again once settled at the new setpoint
+    }
+
+    @Test
+    public void doesNotCountADipWhileNotFeeding() {
+        settle(3500); //spun up early, helix stopped
+        assertFalse(sample(3500, 3300, 20, false));
+        assertFalse(sample(3500, 3400, 40, false));
+        assertEquals(-1, detector.getLastShotTime(), 1e-9);
+        settle(3500);
+        assertTrue(sample(3500, 3350, 20, true)); //the volley starting is still counted
+    }
+
+    @Test
+    public void doesNotCountSpinningDown() {
+        settle(4000);
+        assertFalse(sample(0, 3000, 0));
+        assertFalse(sample(0, 2000, 0));
+        assertEquals(-1, detector.getLastShotTime(), 1e-9);
+    }
+}
@@ -0,0 +1,53 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EdgeQueueTest {
+
+    @Test
+    public void drainsEdgesOldestFirst() {
+        EdgeQueue queue = new EdgeQueue(4);
+        queue.offer(1.0, true);
+        queue.offer(1.5, false);
+        double[] times = new double[4];
+        boolean[] states = new boolean[4];
+        assertEquals(2, queue.drain(times, states));
+        assertEquals(1.0, times[0], 1e-9);
+        assertTrue(states[0]);
+        assertEquals(1.5, times[1], 1e-9);
+        assertFalse(states[1]);
+        assertEquals(0, queue.drain(times, states));
+    }
+
+    @Test
+    public void dropsNewEdgesWhenFull() {
+        EdgeQueue queue = new EdgeQueue(3); //rounded up to 4
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i, i % 2 == 0));
+        }
+        assertFalse(queue.offer(4, true));
+        assertEquals(1, queue.getDropped());
+
+        double[] times = new double[8];
+        boolean[] states = new boolean[8];
+        assertEquals(4, queue.drain(times, states));
+        assertEquals(3, times[3], 1e-9); //the dropped edge didn't overwrite anything
+    }
+
+    @Test
+    public void drainsNoMoreThanFits() {
+        EdgeQueue queue = new EdgeQueue(8);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(i, true);
+        }
+        double[] times = new double[4];
+        boolean[] states = new boolean[4];
+        assertEquals(4, queue.drain(times, states));
+        assertEquals(2, queue.drain(times, states));
+        assertEquals(4, times[0], 1e-9);
+    }
+}
@@ -0,0 +1,56 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FlywheelMonitorTest {
+
+    @Test
+    public void timesSpinningUpToANewSetpoint() {
+        FlywheelMonitor monitor = new FlywheelMonitor();
+        assertEquals(FlywheelMonitor.Event.NONE, monitor.update(3000, 0, 1.0));
+        assertEquals(FlywheelMonitor.Event.NONE, monitor.update(3000, 2000, 1.5));
+        assertEquals(FlywheelMonitor.Event.UP_TO_SPEED, monitor.update(3000, 2950, 2.2)); //within 2%
+        assertTrue(monitor.isAtSpeed());
+        assertEquals(1.2, monitor.getSpinUpTime(), 1e-9);
+        assertEquals(FlywheelMonitor.Event.NONE, monitor.update(3000, 3010, 2.3)); //only reported once
+    }
+
+    @Test
+    public void timesRecoveringFromEachShot() {
+        FlywheelMonitor monitor = new FlywheelMonitor();
+        monitor.update(3000, 3000, 0);
+        monitor.update(3000, 2500, 1.0); //shot drags it down
+        assertFalse(monitor.isAtSpeed());
+        assertEquals(FlywheelMonitor.Event.RECOVERED, monitor.update(3000, 2990, 1.3));
+        assertEquals(0.3, monitor.getLastRecoveryTime(), 1e-9);
+        monitor.update(3000, 2400, 2.0);
+        assertEquals(FlywheelMonitor.Event.RECOVERED, monitor.update(3000, 3000, 2.5));
+        assertEquals(0.5, monitor.getLastRecoveryTime(), 1e-9);
+        assertEquals(2, monitor.getRecoveryCount());
+        assertEquals(0.4, monitor.getAverageRecoveryTime(), 1e-9);
+    }
+
+    @Test
+    public void aNewSetpointIsASpinUpNotARecovery() {
+        FlywheelMonitor monitor = new FlywheelMonitor();
+        monitor.update(3000, 3000, 0);
+        monitor.update(3000, 2500, 1.0);
+        monitor.update(4000, 2600, 1.1); //changed before it recovered
+        assertEquals(FlywheelMonitor.Event.UP_TO_SPEED, monitor.update(4000, 4000, 2.1));
+        assertEquals(1.0, monitor.getSpinUpTime(), 1e-9);
+        assertEquals(0, monitor.getRecoveryCount());
+        assertEquals(0, monitor.getAverageRecoveryTime(), 1e-9);
+    }
+
+    @Test
+    public void isNeverAtSpeedWhenOff() {
+        FlywheelMonitor monitor = new FlywheelMonitor();
+        monitor.update(3000, 3000, 0);
+        assertEquals(FlywheelMonitor.Event.NONE, monitor.update(0, 0, 1.0));
+        assertFalse(monitor.isAtSpeed());
+    }
+}
@@ -0,0 +1,39 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HysteresisTest {
+
+    @Test
+    public void turnsOnAtOneThresholdAndOffAtTheOther() {
+        Hysteresis hysteresis = new Hysteresis(0.4, 0.3);
+        assertFalse(hysteresis.update(0.35));
+        assertTrue(hysteresis.update(0.4));
+        assertTrue(hysteresis.update(0.35)); //between the thresholds on the way back, so still on
+        assertTrue(hysteresis.isOn());
+        assertFalse(hysteresis.update(0.3));
+        assertFalse(hysteresis.update(0.35)); //between the thresholds on the way up, so still off
+    }
+
+    @Test
+    public void turnsOnGoingDownwardsWhenTheThresholdsAreNegative() {
+        Hysteresis hysteresis = new Hysteresis(-0.4, -0.3);
+        assertFalse(hysteresis.update(0.5));
+        assertFalse(hysteresis.update(-0.35));
+        assertTrue(hysteresis.update(-0.45));
+        assertTrue(hysteresis.update(-0.32));
+        assertFalse(hysteresis.update(-0.2));
+    }
+
+    @Test
+    public void doesNotFlickerAroundTheOnThreshold() {
+        Hysteresis hysteresis = new Hysteresis(0.4, 0.3);
+        hysteresis.update(0.41);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(hysteresis.update((i % 2 == 0) ? 0.39 : 0.41));
+        }
+    }
+}
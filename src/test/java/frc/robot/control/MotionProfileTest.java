@@ -0,0 +1,62 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MotionProfileTest {
+
+    @Test
+    public void speedsUpCruisesAndSlowsDown() {
+        MotionProfile profile = new MotionProfile(10, 2, 1); //2 s speeding up, 3 s cruising, 2 s slowing down
+        assertEquals(7, profile.getDuration(), 1e-9);
+        assertEquals(0.5, profile.getPosition(1), 1e-9);
+        assertEquals(1, profile.getVelocity(1), 1e-9);
+        assertEquals(1, profile.getAcceleration(1), 1e-9);
+        assertEquals(2, profile.getVelocity(3.5), 1e-9);
+        assertEquals(0, profile.getAcceleration(3.5), 1e-9);
+        assertEquals(5, profile.getPosition(3.5), 1e-9); //halfway at halfway
+        assertEquals(-1, profile.getAcceleration(6), 1e-9);
+        assertEquals(10, profile.getPosition(7), 1e-9);
+        assertEquals(0, profile.getVelocity(7), 1e-9);
+    }
+
+    @Test
+    public void fallsBackToATriangleWhenTooShortToCruise() {
+        MotionProfile profile = new MotionProfile(1, 10, 1); //never gets near 10
+        assertEquals(2, profile.getDuration(), 1e-9);
+        assertEquals(1, profile.getVelocity(1), 1e-9); //peaks halfway
+        assertEquals(0.5, profile.getPosition(1), 1e-9);
+        assertEquals(1, profile.getPosition(2), 1e-9);
+    }
+
+    @Test
+    public void goesBackwardsForANegativeDistance() {
+        MotionProfile profile = new MotionProfile(-10, 2, 1);
+        assertEquals(7, profile.getDuration(), 1e-9);
+        assertEquals(-2, profile.getVelocity(3.5), 1e-9);
+        assertEquals(-1, profile.getAcceleration(1), 1e-9);
+        assertEquals(-10, profile.getPosition(7), 1e-9);
+    }
+
+    @Test
+    public void holdsItsEndsOutsideTheProfile() {
+        MotionProfile profile = new MotionProfile(10, 2, 1);
+        assertEquals(0, profile.getPosition(-1), 1e-9);
+        assertEquals(10, profile.getPosition(100), 1e-9);
+        assertEquals(0, profile.getVelocity(100), 1e-9);
+        assertEquals(0, profile.getAcceleration(-1), 1e-9);
+    }
+
+    @Test
+    public void positionIsTheIntegralOfVelocity() {
+        MotionProfile profile = new MotionProfile(90, 300, 540);
+        double dt = 1e-4;
+        double position = 0;
+        for (double t = 0; t < profile.getDuration(); t += dt) {
+            position += profile.getVelocity(t + dt / 2) * dt;
+            assertTrue(Math.abs(position - profile.getPosition(t + dt)) < 1e-3);
+        }
+    }
+}
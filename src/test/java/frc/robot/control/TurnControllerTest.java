@@ -0,0 +1,72 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TurnControllerTest {
+
+    private static final double loopTime = 0.02;
+
+    /**
+     * Runs a turn against a simple drive base: the wheels scrub away a little output and the turn rate lags behind
+     * what's asked.
+     * @return The angle the robot stopped at.
+     */
+    private static double turn(TurnController controller, double timeLimit) {
+        double angle = 0;
+        double rate = 0;
+        for (double now = 0; now < timeLimit; now += loopTime) {
+            controller.calculate(angle, now);
+            if (controller.isFinished(angle, now)) {
+                return angle;
+            }
+            double output = controller.getRightOutput();
+            double pushed = Math.signum(output) * Math.max(0, Math.abs(output) - 0.06);
+            rate += (pushed * 500 - rate) * loopTime / 0.08;
+            angle += rate * loopTime;
+        }
+        return angle;
+    }
+
+    @Test
+    public void settlesOnTheTargetAfterTheProfile() {
+        TurnController controller = new TurnController(90, 0.6);
+        double angle = turn(controller, 5);
+        assertTrue(controller.getSettleTime() >= controller.getProfileTime());
+        assertTrue(controller.getSettleTime() < controller.getProfileTime() + 1);
+        assertEquals(90, angle, 1.5);
+    }
+
+    @Test
+    public void turnsLeftForNegativeDegrees() {
+        TurnController controller = new TurnController(-45, 0.5);
+        controller.calculate(0, 0);
+        controller.calculate(0, loopTime);
+        assertTrue(controller.getLeftOutput() > 0);
+        assertTrue(controller.getRightOutput() < 0);
+        assertEquals(-45, turn(new TurnController(-45, 0.5), 5), 1.5);
+    }
+
+    @Test
+    public void doesNotFinishBeforeTheProfileEvenIfOnTarget() {
+        TurnController controller = new TurnController(10, 0.5);
+        controller.calculate(10, 0);
+        assertFalse(controller.isFinished(10, 0));
+        controller.calculate(10, 0.05);
+        assertFalse(controller.isFinished(10, 0.05));
+        assertEquals(-1, controller.getSettleTime(), 0);
+    }
+
+    @Test
+    public void startsAgainAfterAReset() {
+        TurnController controller = new TurnController(45, 0.5);
+        turn(controller, 5);
+        assertTrue(controller.getSettleTime() > 0);
+        controller.reset();
+        assertEquals(-1, controller.getSettleTime(), 0);
+        assertEquals(45, turn(controller, 5), 1.5);
+    }
+}
@@ -0,0 +1,60 @@
+package frc.robot.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class VolleyMonitorTest {
+
+    private VolleyMonitor monitor;
+
+    @Before
+    public void setUp() {
+        monitor = new VolleyMonitor();
+        monitor.reset(10.0, 7); //7 shots from earlier volleys
+    }
+
+    @Test
+    public void finishesOnceTheLastCellHasCleared() {
+        monitor.update(8, 10.5);
+        monitor.update(9, 10.75);
+        monitor.update(10, 11.0);
+        assertEquals(3, monitor.getShots());
+        assertFalse(monitor.isFinished(0, 11.05));
+        assertTrue(monitor.isFinished(0, 11.2));
+    }
+
+    @Test
+    public void keepsGoingWhileCellsAreLeft() {
+        monitor.update(8, 10.5);
+        assertFalse(monitor.isFinished(2, 12.0));
+    }
+
+    @Test
+    public void keepsGoingWithNoShotSeen() {
+        //the count says empty, but it may be wrong, so wait for the timeout
+        assertFalse(monitor.isFinished(0, 12.0));
+    }
+
+    @Test
+    public void measuresShotsPerSecond() {
+        monitor.update(8, 10.5);
+        assertEquals(0, monitor.getShotsPerSecond(), 1e-9);
+        monitor.update(9, 10.75);
+        monitor.update(10, 11.0);
+        assertEquals(4, monitor.getShotsPerSecond(), 1e-9);
+        assertEquals(1.5, monitor.getDuration(11.5), 1e-9);
+    }
+
+    @Test
+    public void ignoresRepeatedUpdatesWithoutNewShots() {
+        monitor.update(8, 10.5);
+        monitor.update(8, 10.9); //same count, so the shot time is stale
+        monitor.update(9, 11.0);
+        assertEquals(2, monitor.getShots());
+        assertEquals(2, monitor.getShotsPerSecond(), 1e-9);
+    }
+}
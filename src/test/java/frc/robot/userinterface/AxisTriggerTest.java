@@ -0,0 +1,37 @@
+package frc.robot.userinterface;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AxisTriggerTest {
+
+    private double axis = 0;
+
+    @Test
+    public void pressesPastOneThresholdAndReleasesPastTheOther() {
+        AxisTrigger trigger = new AxisTrigger(() -> axis, 0.4, 0.3);
+        axis = 0.35;
+        assertFalse(trigger.get());
+        axis = 0.5;
+        assertTrue(trigger.get());
+        axis = 0.35;
+        assertTrue(trigger.get());
+        axis = 0.25;
+        assertFalse(trigger.get());
+    }
+
+    @Test
+    public void pressesByPushingDownWhenTheThresholdsAreNegative() {
+        AxisTrigger trigger = new AxisTrigger(() -> axis, -0.4, -0.3);
+        axis = 0.5;
+        assertFalse(trigger.get());
+        axis = -0.5;
+        assertTrue(trigger.get());
+        axis = -0.35;
+        assertTrue(trigger.get());
+        axis = 0;
+        assertFalse(trigger.get());
+    }
+}
@@ -0,0 +1,48 @@
+package frc.robot.userinterface;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class POVTriggerTest {
+
+    private int pov = -1;
+
+    @Test
+    public void pressesOnlyAtItsExactAngle() {
+        POVTrigger trigger = new POVTrigger(() -> pov, 0);
+        pov = 45;
+        assertFalse(trigger.get());
+        pov = 315;
+        assertFalse(trigger.get());
+        pov = 0;
+        assertTrue(trigger.get());
+    }
+
+    @Test
+    public void staysPressedOnTheDiagonalsEitherSide() {
+        POVTrigger trigger = new POVTrigger(() -> pov, 0);
+        pov = 0;
+        assertTrue(trigger.get());
+        pov = 315; //wraps round past 0
+        assertTrue(trigger.get());
+        pov = 45;
+        assertTrue(trigger.get());
+        pov = 90;
+        assertFalse(trigger.get());
+        pov = 45;
+        assertFalse(trigger.get()); //has to come back to 0 to press again
+    }
+
+    @Test
+    public void releasesWhenThePOVIsLetGo() {
+        POVTrigger trigger = new POVTrigger(() -> pov, 180);
+        pov = 180;
+        assertTrue(trigger.get());
+        pov = -1;
+        assertFalse(trigger.get());
+        pov = 135;
+        assertFalse(trigger.get());
+    }
+}